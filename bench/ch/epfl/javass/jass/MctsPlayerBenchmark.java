@@ -0,0 +1,105 @@
+package ch.epfl.javass.jass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the decisions of an MctsPlayer with the default number of iterations, on a fixed corpus
+ * of positions taken from a random turn: the opening lead, the middle of the fifth trick,
+ * and the second card of the eighth trick. The trump is chosen with the hand dealt in that turn.
+ * The sampled benchmarks give the distribution of the latency of a decision, and the others give
+ * the iterations per second of the search. Run with -prof gc to get the allocation rate too.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class MctsPlayerBenchmark {
+    private static final int ITERATIONS = 10_000;
+    private static final long PLAYER_SEED = 2019;
+
+    // all the positions of the corpus by default
+    @Param
+    public Position position;
+
+    private MctsPlayer player;
+    private TurnState state;
+    private CardSet hand;
+    private CardSet dealtHand;
+
+    /**
+     * Positions of the corpus, by index of the card about to be played in the first turn of Positions.
+     */
+    public enum Position {
+        OPENING_LEAD(0),
+        MID_TURN(4 * PlayerId.COUNT + 2),
+        LAST_TRICKS(7 * PlayerId.COUNT + 1);
+
+        private final int index;
+
+        Position(int index) {
+            this.index = index;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Positions positions = new Positions(2019);
+        int index = position.index;
+        state = positions.states[index];
+        hand = CardSet.ofPacked(positions.hands[index]);
+        // the hands of the first trick are the full hands dealt
+        PlayerId ownId = state.nextPlayer();
+        for (int i = 0; i < PlayerId.COUNT; i++) {
+            if (positions.states[i].nextPlayer() == ownId) {
+                dealtHand = CardSet.ofPacked(positions.hands[i]);
+            }
+        }
+        player = new MctsPlayer(ownId, PLAYER_SEED, ITERATIONS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public Card cardToPlayLatency() {
+        return player.cardToPlay(state, hand);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(ITERATIONS)
+    public Card cardToPlayIterations() {
+        return player.cardToPlay(state, hand);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public Card.Color chooseTrumpLatency() {
+        return player.chooseTrump(dealtHand, true);
+    }
+
+    // a search of every color
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(ITERATIONS * Card.Color.COUNT)
+    public Card.Color chooseTrumpIterations() {
+        return player.chooseTrump(dealtHand, true);
+    }
+}
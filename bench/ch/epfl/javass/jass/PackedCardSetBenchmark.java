@@ -0,0 +1,56 @@
+package ch.epfl.javass.jass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations of PackedCardSet on the hands and unplayed cards of random turns.
+ * Every call takes the next position, so that the branches are not all predicted.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedCardSetBenchmark {
+    private Positions positions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        positions = new Positions(2019);
+        next = 0;
+    }
+
+    @Benchmark
+    public int get() {
+        int i = next++ & Positions.MASK;
+        long hand = positions.hands[i];
+        return PackedCardSet.get(hand, i % PackedCardSet.size(hand));
+    }
+
+    @Benchmark
+    public int size() {
+        return PackedCardSet.size(positions.unplayedCards[next++ & Positions.MASK]);
+    }
+
+    @Benchmark
+    public long subsetOfColor() {
+        int i = next++ & Positions.MASK;
+        return PackedCardSet.subsetOfColor(positions.unplayedCards[i], Card.Color.ALL.get(i % Card.Color.COUNT));
+    }
+}
@@ -0,0 +1,53 @@
+package ch.epfl.javass.jass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures PackedScore.withAdditionalTrick on the scores and full tricks of random turns,
+ * the winning team and the points of every trick being computed beforehand.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedScoreBenchmark {
+    private long[] scores;
+    private TeamId[] winningTeams;
+    private int[] trickPoints;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Positions positions = new Positions(2019);
+        scores = positions.fullScores;
+        winningTeams = new TeamId[Positions.COUNT];
+        trickPoints = new int[Positions.COUNT];
+        for (int i = 0; i < Positions.COUNT; i++) {
+            winningTeams[i] = PackedTrick.winningPlayer(positions.fullTricks[i]).team();
+            trickPoints[i] = PackedTrick.points(positions.fullTricks[i]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public long withAdditionalTrick() {
+        int i = next++ & Positions.MASK;
+        return PackedScore.withAdditionalTrick(scores[i], winningTeams[i], trickPoints[i]);
+    }
+}
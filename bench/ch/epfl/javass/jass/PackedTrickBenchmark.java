@@ -0,0 +1,60 @@
+package ch.epfl.javass.jass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the operations of PackedTrick on the tricks of random turns: the tricks in which
+ * a card is about to be played, and the full tricks about to be collected.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedTrickBenchmark {
+    private Positions positions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        positions = new Positions(2019);
+        next = 0;
+    }
+
+    @Benchmark
+    public long playableCards() {
+        int i = next++ & Positions.MASK;
+        return PackedTrick.playableCards(positions.tricks[i], positions.hands[i]);
+    }
+
+    @Benchmark
+    public PlayerId winningPlayer() {
+        return PackedTrick.winningPlayer(positions.fullTricks[next++ & Positions.MASK]);
+    }
+
+    @Benchmark
+    public int points() {
+        return PackedTrick.points(positions.fullTricks[next++ & Positions.MASK]);
+    }
+
+    @Benchmark
+    public int withAddedCard() {
+        int i = next++ & Positions.MASK;
+        return PackedTrick.withAddedCard(positions.tricks[i], positions.cards[i]);
+    }
+}
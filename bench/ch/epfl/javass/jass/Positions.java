@@ -0,0 +1,99 @@
+package ch.epfl.javass.jass;
+
+import java.util.SplittableRandom;
+
+/**
+ * Positions of random turns, as the benchmarks of the packed representations take them as inputs:
+ * the state before every card is played, with the hand of the player and the card played,
+ * and the state before every trick is collected. The positions are the same for a given seed.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+final class Positions {
+    /**
+     * The number of positions of each kind, a power of two so that the benchmarks can cycle through them with a mask.
+     */
+    static final int COUNT = 1024;
+    /**
+     * The mask giving the index of a position from a counter.
+     */
+    static final int MASK = COUNT - 1;
+
+    // before a card is played
+    final TurnState[] states = new TurnState[COUNT];
+    final long[] scores = new long[COUNT];
+    final long[] unplayedCards = new long[COUNT];
+    final int[] tricks = new int[COUNT];
+    final long[] hands = new long[COUNT];
+    final int[] cards = new int[COUNT];
+    final Card[] cardObjects = new Card[COUNT];
+
+    // before a full trick is collected
+    final TurnState[] fullStates = new TurnState[COUNT];
+    final long[] fullScores = new long[COUNT];
+    final int[] fullTricks = new int[COUNT];
+
+    /**
+     * Plays random turns until there are enough positions of each kind.
+     *
+     * @param seed the seed of the random turns
+     */
+    Positions(long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        int count = 0;
+        int fullCount = 0;
+        while (count < COUNT || fullCount < COUNT) {
+            long[] playerHands = deal(rng);
+            Card.Color trump = Card.Color.ALL.get(rng.nextInt(Card.Color.COUNT));
+            PlayerId firstPlayer = PlayerId.ALL.get(rng.nextInt(PlayerId.COUNT));
+            TurnState state = TurnState.initial(trump, Score.INITIAL, firstPlayer);
+            while (!state.isTerminal()) {
+                int player = state.nextPlayer().ordinal();
+                long hand = playerHands[player];
+                long playable = PackedTrick.playableCards(state.packedTrick(), hand);
+                int card = PackedCardSet.get(playable, rng.nextInt(PackedCardSet.size(playable)));
+                if (count < COUNT) {
+                    states[count] = state;
+                    scores[count] = state.packedScore();
+                    unplayedCards[count] = state.packedUnplayedCards();
+                    tricks[count] = state.packedTrick();
+                    hands[count] = hand;
+                    cards[count] = card;
+                    cardObjects[count] = Card.ofPacked(card);
+                    count++;
+                }
+                playerHands[player] = PackedCardSet.remove(hand, card);
+                state = state.withNewCardPlayed(Card.ofPacked(card));
+                if (PackedTrick.isFull(state.packedTrick())) {
+                    if (fullCount < COUNT) {
+                        fullStates[fullCount] = state;
+                        fullScores[fullCount] = state.packedScore();
+                        fullTricks[fullCount] = state.packedTrick();
+                        fullCount++;
+                    }
+                    state = state.withTrickCollected();
+                }
+            }
+        }
+    }
+
+    // shuffles the deck and gives the hands of the players
+    private static long[] deal(SplittableRandom rng) {
+        int[] deck = new int[PackedCardSet.size(PackedCardSet.ALL_CARDS)];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = PackedCardSet.get(PackedCardSet.ALL_CARDS, i);
+        }
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+        long[] hands = new long[PlayerId.COUNT];
+        for (int i = 0; i < deck.length; i++) {
+            hands[i / Jass.HAND_SIZE] = PackedCardSet.add(hands[i / Jass.HAND_SIZE], deck[i]);
+        }
+        return hands;
+    }
+}
@@ -0,0 +1,61 @@
+package ch.epfl.javass.jass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the transitions of TurnState on the positions of random turns.
+ * Run with -prof gc to see the allocation of the new states.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnStateBenchmark {
+    private Positions positions;
+    private int next;
+
+    @Setup
+    public void setup() {
+        positions = new Positions(2019);
+        next = 0;
+    }
+
+    @Benchmark
+    public TurnState withNewCardPlayed() {
+        int i = next++ & Positions.MASK;
+        return positions.states[i].withNewCardPlayed(positions.cardObjects[i]);
+    }
+
+    @Benchmark
+    public TurnState withTrickCollected() {
+        return positions.fullStates[next++ & Positions.MASK].withTrickCollected();
+    }
+
+    @Benchmark
+    public TurnState withNewCardPlayedAndTrickCollected() {
+        int i = next++ & Positions.MASK;
+        return positions.states[i].withNewCardPlayedAndTrickCollected(positions.cardObjects[i]);
+    }
+
+    @Benchmark
+    public TurnState ofPackedComponents() {
+        int i = next++ & Positions.MASK;
+        return TurnState.ofPackedComponents(positions.scores[i], positions.unplayedCards[i], positions.tricks[i]);
+    }
+}
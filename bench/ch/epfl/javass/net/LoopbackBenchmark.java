@@ -0,0 +1,207 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.Trick;
+import ch.epfl.javass.jass.TurnState;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Plays games between RemotePlayerClients and a RemoteSeatServer over the loopback interface,
+ * with bots which answer instantly, so that only the cost of the protocol is measured.
+ * For every encoding, with notifications flushed one by one or coalesced, and with or without delta
+ * CARD requests, it prints the messages and games per second, and the median and 99th percentile
+ * of the round trips of the CARD and CHTR requests.
+ * Every notification or request of a client counts as a message.
+ * Usage: java ch.epfl.javass.net.LoopbackBenchmark [games] [warmup games]
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+public final class LoopbackBenchmark {
+    private static final int DEFAULT_GAMES = 200;
+    private static final int DEFAULT_WARMUP_GAMES = 50;
+
+    private LoopbackBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int warmupGames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WARMUP_GAMES;
+        try (RemoteSeatServer server = new RemoteSeatServer(0, PlayerId.COUNT, LoopbackBenchmark::bot)) {
+            server.start();
+            System.out.printf("%-22s %12s %9s %12s %12s %12s %12s%n",
+                    "encoding", "messages/s", "games/s", "CARD p50 us", "CARD p99 us", "CHTR p50 us", "CHTR p99 us");
+            for (boolean binary : new boolean[] { false, true }) {
+                for (boolean coalescing : new boolean[] { false, true }) {
+                    for (boolean delta : new boolean[] { false, true }) {
+                        run(server.port(), binary, coalescing, delta, warmupGames);
+                        Measures measures = run(server.port(), binary, coalescing, delta, games);
+                        String encoding = (binary ? "binary" : "text")
+                                + (coalescing ? "+coalescing" : "")
+                                + (delta ? "+delta" : "");
+                        double seconds = measures.elapsedNanos / 1e9;
+                        System.out.printf("%-22s %12.0f %9.1f %12.1f %12.1f %12.1f %12.1f%n",
+                                encoding,
+                                measures.messages / seconds,
+                                games / seconds,
+                                percentile(measures.cardNanos, measures.cards, 0.5) / 1e3,
+                                percentile(measures.cardNanos, measures.cards, 0.99) / 1e3,
+                                percentile(measures.trumpNanos, measures.trumps, 0.5) / 1e3,
+                                percentile(measures.trumpNanos, measures.trumps, 0.99) / 1e3);
+                    }
+                }
+            }
+        }
+    }
+
+    // plays the games one after the other, each with new connections
+    private static Measures run(int port, boolean binary, boolean coalescing, boolean delta, int games) throws Exception {
+        Measures measures = new Measures();
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            names.put(playerId, playerId.name());
+        }
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+            RemotePlayerClient[] clients = new RemotePlayerClient[PlayerId.COUNT];
+            for (PlayerId playerId : PlayerId.ALL) {
+                RemotePlayerClient client = new RemotePlayerClient("localhost", port, binary);
+                client.setCoalescing(coalescing);
+                client.setDeltaCards(delta);
+                clients[playerId.ordinal()] = client;
+                players.put(playerId, new MeasuringPlayer(client, measures));
+            }
+            JassGame jassGame = new JassGame(game, players, names);
+            while (!jassGame.isGameOver()) {
+                jassGame.advanceToEndOfNextTrick();
+            }
+            for (RemotePlayerClient client : clients) {
+                client.close();
+            }
+        }
+        measures.elapsedNanos = System.nanoTime() - start;
+        return measures;
+    }
+
+    // plays the first playable card, and chooses its own color as trump
+    private static Player bot(PlayerId ownId) {
+        return new Player() {
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                return state.trick().playableCards(hand).get(0);
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass) {
+                return Color.ALL.get(ownId.ordinal());
+            }
+        };
+    }
+
+    private static long percentile(long[] values, int count, double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(count - 1, Math.floor(p * count))];
+    }
+
+    private static final class Measures {
+        private long messages = 0;
+        private long[] cardNanos = new long[1024];
+        private int cards = 0;
+        private long[] trumpNanos = new long[64];
+        private int trumps = 0;
+        private long elapsedNanos;
+
+        private void addCard(long nanos) {
+            if (cards == cardNanos.length) {
+                cardNanos = Arrays.copyOf(cardNanos, cards * 2);
+            }
+            cardNanos[cards++] = nanos;
+        }
+
+        private void addTrump(long nanos) {
+            if (trumps == trumpNanos.length) {
+                trumpNanos = Arrays.copyOf(trumpNanos, trumps * 2);
+            }
+            trumpNanos[trumps++] = nanos;
+        }
+    }
+
+    // counts the messages of a client, and the round trips of its requests
+    private static final class MeasuringPlayer implements Player {
+        private final Player client;
+        private final Measures measures;
+
+        private MeasuringPlayer(Player client, Measures measures) {
+            this.client = client;
+            this.measures = measures;
+        }
+
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            long start = System.nanoTime();
+            Card card = client.cardToPlay(state, hand);
+            measures.addCard(System.nanoTime() - start);
+            measures.messages++;
+            return card;
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            long start = System.nanoTime();
+            Color trump = client.chooseTrump(hand, canPass);
+            measures.addTrump(System.nanoTime() - start);
+            measures.messages++;
+            return trump;
+        }
+
+        @Override
+        public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+            client.setPlayers(ownId, playerNames);
+            measures.messages++;
+        }
+
+        @Override
+        public void updateHand(CardSet newHand) {
+            client.updateHand(newHand);
+            measures.messages++;
+        }
+
+        @Override
+        public void setTrump(Color trump) {
+            client.setTrump(trump);
+            measures.messages++;
+        }
+
+        @Override
+        public void updateTrick(Trick newTrick) {
+            client.updateTrick(newTrick);
+            measures.messages++;
+        }
+
+        @Override
+        public void updateScore(Score score) {
+            client.updateScore(score);
+            measures.messages++;
+        }
+
+        @Override
+        public void setWinningTeam(TeamId winningTeam) {
+            client.setWinningTeam(winningTeam);
+            measures.messages++;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ch.epfl.javass.net;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Compares the messages per second encoded and decoded by the text encoding, with strings built
+ * by StringSerializer as it used to be, and in place with TextLine.
+ * The messages are CARD requests, the most frequent ones with the largest fields.
+ * Run with -prof gc to compare the allocation rates too.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextCodecBenchmark {
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {}
+
+        @Override
+        public void write(byte[] b, int off, int len) {}
+    };
+
+    private long score;
+    private long unplayedCards;
+    private int trick;
+    private long hand;
+    private String line;
+    private ByteArrayInputStream input;
+    private TextLine textLine;
+
+    @Setup
+    public void setup() {
+        score = 0x0000_3a1f_0000_4c21L;
+        unplayedCards = 0x01c6_01ff_00f3_01beL;
+        trick = 0x1a4f_ffff;
+        hand = 0x0000_0082_0011_0104L;
+        line = StringSerializer.join(" ", "CARD",
+                StringSerializer.join(",",
+                        StringSerializer.serializeLong(score),
+                        StringSerializer.serializeLong(unplayedCards),
+                        StringSerializer.serializeInt(trick)),
+                StringSerializer.serializeLong(hand)) + "\n";
+        input = new ByteArrayInputStream(line.getBytes(US_ASCII));
+        textLine = new TextLine();
+    }
+
+    @Benchmark
+    public String encodeWithStringSerializer() {
+        return StringSerializer.join(" ", "CARD",
+                StringSerializer.join(",",
+                        StringSerializer.serializeLong(score),
+                        StringSerializer.serializeLong(unplayedCards),
+                        StringSerializer.serializeInt(trick)),
+                StringSerializer.serializeLong(hand));
+    }
+
+    @Benchmark
+    public void encodeWithTextLine() throws IOException {
+        TextLine l = textLine;
+        l.clear();
+        l.appendCommand(JassCommand.CARD);
+        l.appendSeparator(' ');
+        l.appendLong(score);
+        l.appendSeparator(',');
+        l.appendLong(unplayedCards);
+        l.appendSeparator(',');
+        l.appendInt(trick);
+        l.appendSeparator(' ');
+        l.appendLong(hand);
+        l.writeTo(NULL_OUTPUT);
+    }
+
+    @Benchmark
+    public void decodeWithStringSerializer(Blackhole bh) {
+        String[] args = StringSerializer.split(" ", line.substring(0, line.length() - 1));
+        bh.consume(JassCommand.valueOf(args[0]));
+        String[] stateArgs = StringSerializer.split(",", args[1]);
+        bh.consume(StringSerializer.deserializeLong(stateArgs[0]));
+        bh.consume(StringSerializer.deserializeLong(stateArgs[1]));
+        bh.consume(StringSerializer.deserializeInt(stateArgs[2]));
+        bh.consume(StringSerializer.deserializeLong(args[2]));
+    }
+
+    @Benchmark
+    public void decodeWithTextLine(Blackhole bh) throws IOException {
+        input.reset();
+        TextLine l = textLine;
+        l.readFrom(input);
+        bh.consume(l.parseCommand());
+        bh.consume(l.parseLong());
+        bh.consume(l.parseLong());
+        bh.consume(l.parseInt());
+        bh.consume(l.parseLong());
+    }
+}
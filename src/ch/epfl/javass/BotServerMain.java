@@ -0,0 +1,31 @@
+package ch.epfl.javass;
+
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.net.RemoteSeatServer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Main class to host many simulated remote players, without graphical interface.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class BotServerMain {
+    private BotServerMain() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 4) {
+            System.err.println("Utilisation: java ch.epfl.javass.BotServerMain <port> <places> <iterations> <graine>");
+            System.exit(1);
+        }
+        int iterations = Integer.parseInt(args[2]);
+        AtomicLong seeds = new AtomicLong(Long.parseLong(args[3]));
+        RemoteSeatServer server = new RemoteSeatServer(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                ownId -> new MctsPlayer(ownId, seeds.getAndIncrement(), iterations));
+        server.start();
+        System.out.println("En attente de connexions sur le port " + server.port() + "...");
+        Thread.currentThread().join();
+    }
+}
@@ -1,6 +1,7 @@
 package ch.epfl.javass;
 
 import ch.epfl.javass.gui.GraphicalPlayerAdapter;
+import ch.epfl.javass.jass.AsyncPlayer;
 import ch.epfl.javass.jass.JassGame;
 import ch.epfl.javass.jass.MctsPlayer;
 import ch.epfl.javass.jass.PacedPlayer;
@@ -11,6 +12,7 @@ import javafx.application.Application;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
@@ -36,6 +38,7 @@ public class LocalMain extends Application {
         List<String> params = getParameters().getRaw();
         Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
         Map<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
+        List<AsyncPlayer> asyncPlayers = new ArrayList<>();
 
         // setting random seeds
         Random rnd = new Random();
@@ -87,7 +90,7 @@ public class LocalMain extends Application {
                 try {
                     MctsPlayer mctsPlayer = new MctsPlayer(PlayerId.ALL.get(i), playerSeeds[i],
                                                            iterations);
-                    players.put(PlayerId.ALL.get(i), new PacedPlayer(mctsPlayer, 2));
+                    players.put(PlayerId.ALL.get(i), new PacedPlayer(mctsPlayer, 2, true));
                 } catch (IllegalArgumentException e) {
                     errorIterations(params.get(i));
                 }
@@ -109,7 +112,9 @@ public class LocalMain extends Application {
                     IPAddress = params.get(i).substring(params.get(i).lastIndexOf(':') + 1);
                 }
                 try {
-                    players.put(PlayerId.ALL.get(i), new RemotePlayerClient(IPAddress));
+                    AsyncPlayer remotePlayer = new AsyncPlayer(new RemotePlayerClient(IPAddress));
+                    asyncPlayers.add(remotePlayer);
+                    players.put(PlayerId.ALL.get(i), remotePlayer);
                 } catch(IOException e) {
                     errorConnection(params.get(i));
                 }
@@ -126,6 +131,10 @@ public class LocalMain extends Application {
                 game.advanceToEndOfNextTrick();
                 try { Thread.sleep(1000); } catch (Exception e) {}
             }
+            // the threads of the remote players stop once the end of the game is delivered
+            for (AsyncPlayer asyncPlayer : asyncPlayers) {
+                asyncPlayer.close();
+            }
         });
         gameThread.setDaemon(true);
         gameThread.start();
@@ -146,10 +155,11 @@ public class LocalMain extends Application {
         System.err.println("  r:<nom> un joueur distant nommé <nom> en local");
         System.err.println("  r::<adresseIP> un joueur distant ayant comme adresse IP <adresseIP>");
         System.err.println("  r un joueur distant en local");
-        System.err.println("  s:<nom>:<iterations> un joueur simulé nommé <nom> et jouant <iterations> parties aléatoires par coup");
-        System.err.println("  s:<nom> un joueur simulé nommé <nom> et jouant 10 000 parties aléatoires par coup");
-        System.err.println("  s::<iterations> un joueur simulé jouant <iterations> parties aléatoires par coup");
-        System.err.println("  s un joueur simulé jouant 10 000 parties aléatoires par coup");
+        System.err.println("  s:<nom>:<iterations> un joueur simulé nommé <nom> et jouant au moins <iterations> parties aléatoires par coup");
+        System.err.println("  s:<nom> un joueur simulé nommé <nom> et jouant au moins 10 000 parties aléatoires par coup");
+        System.err.println("  s::<iterations> un joueur simulé jouant au moins <iterations> parties aléatoires par coup");
+        System.err.println("  s un joueur simulé jouant au moins 10 000 parties aléatoires par coup");
+        System.err.println("Un joueur simulé continue de jouer des parties aléatoires tant que dure son temps de réflexion de 2 s.");
         System.exit(1);
     }
 
@@ -0,0 +1,26 @@
+package ch.epfl.javass;
+
+import ch.epfl.javass.net.MctsWorkerServer;
+
+import java.io.IOException;
+
+/**
+ * Main class to run the searches of distributed simulated players, without graphical interface.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class WorkerMain {
+    private WorkerMain() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 1) {
+            System.err.println("Utilisation: java ch.epfl.javass.WorkerMain <port>");
+            System.exit(1);
+        }
+        MctsWorkerServer worker = new MctsWorkerServer(Integer.parseInt(args[0]));
+        worker.start();
+        System.out.println("En attente de coordinateurs sur le port " + worker.port() + "...");
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,74 @@
+package ch.epfl.javass.gui;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import javafx.scene.image.Image;
+
+/**
+ * Images of the cards and trump colors, shared by all the graphical players of the process.
+ * Every image is only created the first time it is displayed, and decoded in the background,
+ * so that a window shows up without waiting for the whole deck.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class CardImages {
+    /**
+     * The resolution of the images of the cards in the hand.
+     */
+    static final int HAND_RESOLUTION = 160;
+    /**
+     * The resolution of the images of the cards in the trick.
+     */
+    static final int TRICK_RESOLUTION = 240;
+
+    private static final int CARD_COUNT = Color.COUNT * Rank.COUNT;
+
+    private static final Image[] handCards = new Image[CARD_COUNT];
+    private static final Image[] trickCards = new Image[CARD_COUNT];
+    private static final Image[] trumps = new Image[Color.COUNT];
+
+    private CardImages() {}
+
+    /**
+     * Gives the image of a card.
+     *
+     * @param card the card, or null
+     * @param resolution the resolution of the image, HAND_RESOLUTION or TRICK_RESOLUTION
+     * @return the image of the card, or null if the card is null
+     * @throws IllegalArgumentException if the resolution is not one of the available ones
+     */
+    static synchronized Image card(Card card, int resolution) {
+        Preconditions.checkArgument(resolution == HAND_RESOLUTION || resolution == TRICK_RESOLUTION);
+        if (card == null) {
+            return null;
+        }
+        Image[] images = resolution == HAND_RESOLUTION ? handCards : trickCards;
+        int color = card.color().ordinal();
+        int rank = card.rank().ordinal();
+        int index = color * Rank.COUNT + rank;
+        if (images[index] == null) {
+            images[index] = new Image("/card_" + color + "_" + rank + "_" + resolution + ".png", true);
+        }
+        return images[index];
+    }
+
+    /**
+     * Gives the image of a trump color.
+     *
+     * @param color the color, or null
+     * @return the image of the color, or null if the color is null
+     */
+    static synchronized Image trump(Color color) {
+        if (color == null) {
+            return null;
+        }
+        int index = color.ordinal();
+        if (trumps[index] == null) {
+            trumps[index] = new Image("/trump_" + index + ".png", true);
+        }
+        return trumps[index];
+    }
+}
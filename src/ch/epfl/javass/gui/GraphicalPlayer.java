@@ -2,19 +2,15 @@ package ch.epfl.javass.gui;
 
 import ch.epfl.javass.jass.Card;
 import ch.epfl.javass.jass.Card.Color;
-import ch.epfl.javass.jass.Card.Rank;
 import ch.epfl.javass.jass.PlayerId;
 import ch.epfl.javass.jass.TeamId;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableMap;
 import javafx.geometry.HPos;
 import javafx.scene.Scene;
 import javafx.scene.effect.GaussianBlur;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
@@ -40,7 +36,6 @@ public final class GraphicalPlayer {
     private Scene scene;
     private ArrayBlockingQueue<Card> cardQueue;
     private ArrayBlockingQueue<Integer> trumpQueue;
-    private ObservableMap<Color, Image> colorMap;
 
     /**
      * Constructor for this graphical player.
@@ -65,11 +60,6 @@ public final class GraphicalPlayer {
         this.trumpQueue = trumpQueue;
         this.cardQueue = cardQueue;
 
-        colorMap = FXCollections.observableHashMap();
-        for (Color color : Color.ALL) {
-            colorMap.put(color, new Image("/trump_" + color.ordinal() + ".png"));
-        }
-
         // creating score, trick, trump selection and hand panes
         GridPane scorePane = createScorePane(playerNames, scoreBean);
         GridPane trickPane = createTrickPane(player, playerNames, trickBean);
@@ -133,7 +123,6 @@ public final class GraphicalPlayer {
     // create a box for one of the cards in the middle (current trick)
     private VBox createCardVBox(Map<PlayerId, String> playerNames,
                                 TrickBean trickBean,
-                                ObservableMap<Card, Image> map,
                                 int playerIndex,
                                 boolean textOnTop) {
 
@@ -155,7 +144,9 @@ public final class GraphicalPlayer {
             + "-fx-opacity: 0.5;");
         // create the image itself of the card
         ImageView image = new ImageView();
-        image.imageProperty().bind(Bindings.valueAt(map, Bindings.valueAt(trickBean.trick(), playerId)));
+        image.imageProperty().bind(Bindings.createObjectBinding(
+                () -> CardImages.card(trickBean.trick().get(playerId), CardImages.TRICK_RESOLUTION),
+                trickBean.trick()));
         image.setFitWidth(120);
         image.setFitHeight(180);
         // stack the image on top of the rectangle
@@ -177,40 +168,29 @@ public final class GraphicalPlayer {
     private GridPane createTrickPane(PlayerId player,
                                      Map<PlayerId, String> playerNames,
                                      TrickBean trickBean) {
-        // maps of all the images for cards and trump colors
-        ObservableMap<Card, Image> cardMap = FXCollections.observableHashMap();
-        // initialise these maps
-        for (Color color : Color.ALL) {
-            for (Rank rank : Rank.ALL) {
-                cardMap.put(Card.of(color, rank),
-                            new Image("/card_" + color.ordinal() + "_" + rank.ordinal() + "_240.png"));
-            }
-        }
         // setting the trump color in the middle
         ImageView trump = new ImageView();
-        trump.imageProperty().bind(Bindings.valueAt(colorMap, trickBean.trumpProperty()));
+        trump.imageProperty().bind(Bindings.createObjectBinding(
+                () -> CardImages.trump(trickBean.trumpProperty().get()),
+                trickBean.trumpProperty()));
         trump.setFitWidth(101);
         trump.setFitHeight(101);
         // setting all of the cards one by one
         GridPane trickPane = new GridPane();
         VBox leftCard = createCardVBox(playerNames,
                 trickBean,
-                cardMap,
                 (player.ordinal() + 3) % 4,
                 true);
         VBox topCard = createCardVBox(playerNames,
                 trickBean,
-                cardMap,
                 (player.ordinal() + 2) % 4,
                 true);
         VBox bottomCard = createCardVBox(playerNames,
                 trickBean,
-                cardMap,
                 player.ordinal(),
                 false);
         VBox rightCard = createCardVBox(playerNames,
                 trickBean,
-                cardMap,
                 (player.ordinal() + 1) % 4,
                 true);
         // adding all of the above together and setting style
@@ -235,7 +215,7 @@ public final class GraphicalPlayer {
         GridPane trumpPane = new GridPane();
         trumpPane.visibleProperty().bind(trumpBean.mustChooseTrump());
         for (Color color : Color.ALL) {
-            ImageView image = new ImageView(colorMap.get(color));
+            ImageView image = new ImageView(CardImages.trump(color));
             image.setFitWidth(101);
             image.setFitHeight(101);
             image.setOnMouseClicked(event -> {
@@ -266,19 +246,13 @@ public final class GraphicalPlayer {
             + "-fx-spacing: 5px;"
             + "-fx-padding: 5px;"
             + "-fx-alignment: center;");
-        // setting the map with every card's image
-        ObservableMap<Card, Image> cardImageMap = FXCollections.observableHashMap();
-        for (Color color : Color.ALL) {
-            for (Rank rank : Rank.ALL) {
-                Image image = new Image("/card_" + color.ordinal() + "_" + rank.ordinal() + "_160.png");
-                cardImageMap.put(Card.of(color, rank), image);
-            }
-        }
         // setting every one of the cards in the horizontal box
         for (int i = 0; i<9; ++i) {
             final int finalInt = i;
             ImageView image = new ImageView();
-            image.imageProperty().bind(Bindings.valueAt(cardImageMap, Bindings.valueAt(handBean.hand(), finalInt)));
+            image.imageProperty().bind(Bindings.createObjectBinding(
+                    () -> CardImages.card(handBean.hand().get(finalInt), CardImages.HAND_RESOLUTION),
+                    handBean.hand()));
             image.setFitWidth(80);
             image.setFitHeight(120);
             // making them clickable to choose the card to play
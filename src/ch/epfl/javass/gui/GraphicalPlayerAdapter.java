@@ -25,6 +25,7 @@ public final class GraphicalPlayerAdapter implements Player {
     ScoreBean scoreBean;
     TrickBean trickBean;
     HandBean handBean;
+    UpdateCoalescer updates;
     GraphicalPlayer graphicalPlayer;
     ArrayBlockingQueue<Card> cardQueue = new ArrayBlockingQueue<Card>(1);
     ArrayBlockingQueue<Integer> trumpQueue = new ArrayBlockingQueue<Integer>(1);
@@ -37,15 +38,16 @@ public final class GraphicalPlayerAdapter implements Player {
         this.scoreBean = new ScoreBean();
         this.trickBean = new TrickBean();
         this.handBean = new HandBean();
+        this.updates = new UpdateCoalescer(handBean, trickBean, scoreBean);
     }
 
     @Override
     public Card cardToPlay(TurnState state, CardSet hand) {
-        Platform.runLater(() -> handBean.setPlayableCards(state.trick().playableCards(hand)));
+        updates.post(() -> handBean.setPlayableCards(state.trick().playableCards(hand)));
         // takes the card that was placed in the queue when clicked
         try {
             Card card = cardQueue.take();
-            Platform.runLater(() -> handBean.setPlayableCards(CardSet.EMPTY));
+            updates.post(() -> handBean.setPlayableCards(CardSet.EMPTY));
             return card;
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
@@ -80,32 +82,26 @@ public final class GraphicalPlayerAdapter implements Player {
 
     @Override
     public void updateHand(CardSet newHand) {
-        Platform.runLater(() -> handBean.setHand(newHand));
+        updates.updateHand(newHand);
     }
 
     @Override
     public void setTrump(Color trump) {
-        Platform.runLater(() -> trickBean.setTrump(trump));
+        updates.setTrump(trump);
     }
 
     @Override
     public void updateTrick(Trick newTrick) {
-        Platform.runLater(() -> trickBean.setTrick(newTrick));
+        updates.updateTrick(newTrick);
     }
 
     @Override
     public void updateScore(Score score) {
-        Platform.runLater(() -> { 
-            for (TeamId teamId : TeamId.ALL) {
-                scoreBean.setTurnPoints(teamId, score.turnPoints(teamId));
-                scoreBean.setGamePoints(teamId, score.gamePoints(teamId));
-                scoreBean.setTotalPoints(teamId, score.totalPoints(teamId));
-            }
-        });
+        updates.updateScore(score);
     }
 
     @Override
     public void setWinningTeam(TeamId winningTeam) {
-        Platform.runLater(() -> scoreBean.setWinningTeam(winningTeam));
+        updates.post(() -> scoreBean.setWinningTeam(winningTeam));
     }
 }
@@ -3,6 +3,7 @@ package ch.epfl.javass.gui;
 import ch.epfl.javass.jass.Card;
 import ch.epfl.javass.jass.CardSet;
 import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.PackedCardSet;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableSet;
@@ -19,6 +20,9 @@ import static javafx.collections.FXCollections.unmodifiableObservableSet;
 public final class HandBean {
     private ObservableList<Card> hand;
     private ObservableSet<Card> playableCards;
+    // the packed versions of the cards displayed in the hand, and of the playable cards
+    private long packedHand;
+    private long packedPlayableCards;
 
     /**
      * Constructor for the bean, taking no parameters.
@@ -26,6 +30,8 @@ public final class HandBean {
     public HandBean() {
         hand = FXCollections.observableArrayList(new Card[Jass.HAND_SIZE]);
         playableCards = FXCollections.observableSet();
+        packedHand = PackedCardSet.EMPTY;
+        packedPlayableCards = PackedCardSet.EMPTY;
     }
 
     /**
@@ -43,17 +49,27 @@ public final class HandBean {
      * @param newHand the new hand of the player
      */
     public void setHand(CardSet newHand) {
+        long pkHand = newHand.packed();
         if (newHand.size() == Jass.HAND_SIZE) {
+            // only the positions whose card changed are set
             for (int i = 0; i < Jass.HAND_SIZE; i++) {
-                hand.set(i, newHand.get(0));
-                newHand = newHand.remove(newHand.get(0));
+                Card card = Card.ofPacked(PackedCardSet.get(pkHand, i));
+                if (!card.equals(hand.get(i))) {
+                    hand.set(i, card);
+                }
             }
+            packedHand = pkHand;
         } else {
-            for (int i = 0; i < Jass.HAND_SIZE; i++) {
-                if (hand.get(i) != null && !newHand.contains(hand.get(i))) {
+            // only the positions of the cards no longer in the hand are emptied
+            long removed = PackedCardSet.difference(packedHand, pkHand);
+            for (int i = 0; i < Jass.HAND_SIZE && removed != PackedCardSet.EMPTY; i++) {
+                Card card = hand.get(i);
+                if (card != null && PackedCardSet.contains(removed, card.packed())) {
                     hand.set(i, null);
+                    removed = PackedCardSet.remove(removed, card.packed());
                 }
             }
+            packedHand = PackedCardSet.intersection(packedHand, pkHand);
         }
     }
 
@@ -72,11 +88,18 @@ public final class HandBean {
      * @param newPlayableCards the new card set of playable cards
      */
     public void setPlayableCards(CardSet newPlayableCards) {
-        playableCards.clear();
-        int size = newPlayableCards.size();
-        for(int i = 0; i < size; i++) {
-            playableCards.add(newPlayableCards.get(0));
-            newPlayableCards = newPlayableCards.remove(newPlayableCards.get(0));
+        long pkPlayableCards = newPlayableCards.packed();
+        // only the cards that became playable or stopped being so are added or removed
+        long changed = packedPlayableCards ^ pkPlayableCards;
+        while (changed != PackedCardSet.EMPTY) {
+            int pkCard = Long.numberOfTrailingZeros(changed);
+            if (PackedCardSet.contains(pkPlayableCards, pkCard)) {
+                playableCards.add(Card.ofPacked(pkCard));
+            } else {
+                playableCards.remove(Card.ofPacked(pkCard));
+            }
+            changed &= changed - 1;
         }
+        packedPlayableCards = pkPlayableCards;
     }
 }
@@ -2,6 +2,8 @@ package ch.epfl.javass.gui;
 
 import ch.epfl.javass.jass.Card;
 import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.PackedCard;
+import ch.epfl.javass.jass.PackedTrick;
 import ch.epfl.javass.jass.PlayerId;
 import ch.epfl.javass.jass.Trick;
 import javafx.beans.property.ReadOnlyObjectProperty;
@@ -19,6 +21,8 @@ public final class TrickBean {
     private SimpleObjectProperty<Color> trump;
     private ObservableMap<PlayerId, Card> trick;
     private SimpleObjectProperty<PlayerId> winningPlayer;
+    // the packed version of the displayed trick, INVALID when no trick was displayed yet
+    private int packedTrick;
 
     /**
      * Constructor for the bean, taking no parameters.
@@ -27,6 +31,7 @@ public final class TrickBean {
         trump = new SimpleObjectProperty<Color>();
         trick = FXCollections.observableHashMap();
         winningPlayer = new SimpleObjectProperty<PlayerId>();
+        packedTrick = PackedTrick.INVALID;
     }
 
     /**
@@ -62,13 +67,18 @@ public final class TrickBean {
      * @param newTrick the trick to be set to this property
      */
     public void setTrick(Trick newTrick) {
-        int size = newTrick.size();
-        for (int i = 0; i < size; i++) {
-            trick.put(newTrick.player(i), newTrick.card(i));
-        }
-        for (int i = size; i < 4; i++) {
-            trick.put(newTrick.player(i), null);
+        int pkTrick = newTrick.packed();
+        // only the cards that changed are put, all of them if the players moved or nothing was displayed yet
+        int changed = packedTrick ^ pkTrick;
+        boolean playersChanged = packedTrick == PackedTrick.INVALID
+                || PackedTrick.player(packedTrick, 0) != PackedTrick.player(pkTrick, 0);
+        for (int i = 0; i < PlayerId.COUNT; i++) {
+            if (playersChanged || PackedTrick.card(changed, i) != 0) {
+                int pkCard = PackedTrick.card(pkTrick, i);
+                trick.put(PackedTrick.player(pkTrick, i), pkCard == PackedCard.INVALID ? null : Card.ofPacked(pkCard));
+            }
         }
+        packedTrick = pkTrick;
         if (newTrick.size() == 0) {
             winningPlayer.set(null);
         } else {
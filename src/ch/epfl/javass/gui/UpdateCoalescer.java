@@ -0,0 +1,178 @@
+package ch.epfl.javass.gui;
+
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.Trick;
+import javafx.application.Platform;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Applies the updates of the game to the beans on the JavaFX thread, keeping only the latest
+ * pending state of every bean, so that fast players do not flood the JavaFX thread with updates
+ * that would be overwritten before being displayed. At most one task applying the pending states
+ * is waiting on the JavaFX thread at any time; this bounds the tasks queued, not the updates
+ * applied between two frames, as a new task can be posted as soon as the previous one started.
+ * Other updates of the beans can be posted through the coalescer, to be applied after the pending states.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+final class UpdateCoalescer {
+    private final HandBean handBean;
+    private final TrickBean trickBean;
+    private final ScoreBean scoreBean;
+    private final Executor fxThread;
+
+    private final AtomicReference<PendingHand> pendingHand;
+    private final AtomicReference<Color> pendingTrump;
+    private final AtomicReference<Trick> pendingTrick;
+    private final AtomicReference<Score> pendingScore;
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Constructor of the coalescer of the updates of some beans, applied on the JavaFX thread.
+     *
+     * @param handBean the bean of the hand
+     * @param trickBean the bean of the trick, and of the trump
+     * @param scoreBean the bean of the score
+     */
+    UpdateCoalescer(HandBean handBean, TrickBean trickBean, ScoreBean scoreBean) {
+        this(handBean, trickBean, scoreBean, Platform::runLater);
+    }
+
+    /**
+     * Constructor of the coalescer of the updates of some beans, applied by the given executor.
+     *
+     * @param handBean the bean of the hand
+     * @param trickBean the bean of the trick, and of the trump
+     * @param scoreBean the bean of the score
+     * @param fxThread runs the tasks in order on the thread owning the beans
+     */
+    UpdateCoalescer(HandBean handBean, TrickBean trickBean, ScoreBean scoreBean, Executor fxThread) {
+        this.handBean = handBean;
+        this.trickBean = trickBean;
+        this.scoreBean = scoreBean;
+        this.fxThread = fxThread;
+        this.pendingHand = new AtomicReference<>();
+        this.pendingTrump = new AtomicReference<>();
+        this.pendingTrick = new AtomicReference<>();
+        this.pendingScore = new AtomicReference<>();
+        this.scheduled = new AtomicBoolean(false);
+    }
+
+    /**
+     * Records a new hand, to be applied to the hand bean.
+     *
+     * @param hand the new hand
+     */
+    void updateHand(CardSet hand) {
+        pendingHand.getAndUpdate(pending -> {
+            CardSet deal = hand.size() == Jass.HAND_SIZE ? hand : pending == null ? null : pending.deal;
+            return new PendingHand(deal, hand);
+        });
+        schedule();
+    }
+
+    /**
+     * Records a new trump, to be applied to the trick bean.
+     *
+     * @param trump the new trump
+     */
+    void setTrump(Color trump) {
+        pendingTrump.set(trump);
+        schedule();
+    }
+
+    /**
+     * Records a new trick, to be applied to the trick bean.
+     *
+     * @param trick the new trick
+     */
+    void updateTrick(Trick trick) {
+        pendingTrick.set(trick);
+        schedule();
+    }
+
+    /**
+     * Records a new score, to be applied to the score bean.
+     *
+     * @param score the new score
+     */
+    void updateScore(Score score) {
+        pendingScore.set(score);
+        schedule();
+    }
+
+    /**
+     * Posts an update of the beans, such as the playable cards, which is not coalesced:
+     * it is applied after the pending states recorded before it.
+     *
+     * @param update the update, run on the thread owning the beans
+     */
+    void post(Runnable update) {
+        fxThread.execute(() -> {
+            applyPending();
+            update.run();
+        });
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            fxThread.execute(this::apply);
+        }
+    }
+
+    // the flag is cleared first, so that a state recorded while applying is applied by the next task
+    private void apply() {
+        scheduled.set(false);
+        applyPending();
+    }
+
+    private void applyPending() {
+        PendingHand hand = pendingHand.getAndSet(null);
+        if (hand != null) {
+            if (hand.deal != null) {
+                handBean.setHand(hand.deal);
+            }
+            if (hand.hand != hand.deal) {
+                handBean.setHand(hand.hand);
+            }
+        }
+
+        Color trump = pendingTrump.getAndSet(null);
+        if (trump != null) {
+            trickBean.setTrump(trump);
+        }
+
+        Trick trick = pendingTrick.getAndSet(null);
+        if (trick != null) {
+            trickBean.setTrick(trick);
+        }
+
+        Score score = pendingScore.getAndSet(null);
+        if (score != null) {
+            for (TeamId teamId : TeamId.ALL) {
+                scoreBean.setTurnPoints(teamId, score.turnPoints(teamId));
+                scoreBean.setGamePoints(teamId, score.gamePoints(teamId));
+                scoreBean.setTotalPoints(teamId, score.totalPoints(teamId));
+            }
+        }
+    }
+
+    // the latest hand, with the latest full one, which HandBean needs to place the cards before removing any
+    private static final class PendingHand {
+        private final CardSet deal;
+        private final CardSet hand;
+
+        private PendingHand(CardSet deal, CardSet hand) {
+            this.deal = deal;
+            this.hand = hand;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ch.epfl.javass.jass;
+
+import ch.epfl.javass.jass.Card.Color;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Delivers the notifications to a player without waiting for it, so that a slow player does not
+ * stall the game for the others.
+ * All the calls are queued in order on a thread dedicated to the player; only the card to play
+ * and the choice of trump wait for the player, after all the notifications queued before them.
+ * A failure of a notification is thrown by the next call waiting for the player.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class AsyncPlayer implements Player, AutoCloseable {
+    private final Player underlyingPlayer;
+    private final ExecutorService executor;
+    private volatile RuntimeException failure;
+
+    /**
+     * Constructor of AsyncPlayer.
+     *
+     * @param underlyingPlayer the actual player
+     */
+    public AsyncPlayer(Player underlyingPlayer) {
+        this.underlyingPlayer = underlyingPlayer;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "async-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Card cardToPlay(TurnState state, CardSet hand) {
+        return await(() -> underlyingPlayer.cardToPlay(state, hand));
+    }
+
+    @Override
+    public Color chooseTrump(CardSet hand, boolean canPass) {
+        return await(() -> underlyingPlayer.chooseTrump(hand, canPass));
+    }
+
+    @Override
+    public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+        notify(() -> underlyingPlayer.setPlayers(ownId, playerNames));
+    }
+
+    @Override
+    public void updateHand(CardSet newHand) {
+        notify(() -> underlyingPlayer.updateHand(newHand));
+    }
+
+    @Override
+    public void setTrump(Color trump) {
+        notify(() -> underlyingPlayer.setTrump(trump));
+    }
+
+    @Override
+    public void updateTrick(Trick newTrick) {
+        notify(() -> underlyingPlayer.updateTrick(newTrick));
+    }
+
+    @Override
+    public void updateScore(Score score) {
+        notify(() -> underlyingPlayer.updateScore(score));
+    }
+
+    @Override
+    public void setWinningTeam(TeamId winningTeam) {
+        notify(() -> underlyingPlayer.setWinningTeam(winningTeam));
+    }
+
+    /**
+     * Stops the thread of the player once the calls already queued are delivered.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void notify(Runnable notification) {
+        executor.execute(() -> {
+            if (failure != null) {
+                return;
+            }
+            try {
+                notification.run();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        });
+    }
+
+    private <T> T await(Callable<T> call) {
+        try {
+            T result = executor.submit(call).get();
+            throwFailure();
+            return result;
+        } catch (ExecutionException e) {
+            throwFailure();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void throwFailure() {
+        RuntimeException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ch.epfl.javass.jass;
+
+import ch.epfl.javass.jass.Card.Color;
+
+/**
+ * Interface with methods observing the progress of a JassGame, independently of the players.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public interface GameListener {
+    /**
+     * Listener ignoring every event.
+     */
+    public static final GameListener NONE = new GameListener() {};
+
+    /**
+     * Informs the listener that a game starts, before the cards are dealt.
+     *
+     * @param rngSeed the seed from which the game derives its shuffles
+     */
+    default void gameStarted(long rngSeed) {}
+
+    /**
+     * Informs the listener of the time a player took to choose the trump, or to pass.
+     *
+     * @param chooser the player asked to choose the trump
+     * @param decisionNanos the duration of the call to chooseTrump, in nanoseconds
+     */
+    default void trumpDecided(PlayerId chooser, long decisionNanos) {}
+
+    /**
+     * Informs the listener of the trump chosen at the start of a turn.
+     *
+     * @param chooser the player who chose the trump
+     * @param trump the chosen trump color
+     * @param passed whether the first player asked passed, leaving the choice to his teammate
+     */
+    default void trumpChosen(PlayerId chooser, Color trump, boolean passed) {}
+
+    /**
+     * Informs the listener of the time a player took to choose a card, before it is played.
+     *
+     * @param player the player asked to play a card
+     * @param decisionNanos the duration of the call to cardToPlay, in nanoseconds
+     */
+    default void cardDecided(PlayerId player, long decisionNanos) {}
+
+    /**
+     * Informs the listener of a card played.
+     *
+     * @param player the player who played the card
+     * @param card the card played
+     */
+    default void cardPlayed(PlayerId player, Card card) {}
+
+    /**
+     * Informs the listener that the game is over.
+     *
+     * @param score the final score
+     * @param winningTeam the team who won
+     */
+    default void gameOver(Score score, TeamId winningTeam) {}
+}
@@ -18,9 +18,12 @@ import java.util.Random;
  */
 public final class JassGame {
     private Random shuffleRng;
+    private Random fallbackRng;
+    private GameListener listener;
     private Map<PlayerId, Player> players;
     private Map<PlayerId, String> playerNames;
     private boolean isGameOver;
+    private TeamId winningTeam;
     private List<Card> deck;
     private Map<PlayerId, CardSet> hands;
     private PlayerId trumpChooser;
@@ -35,8 +38,24 @@ public final class JassGame {
      * @param playerNames the played IDs associated to their names
      */
     public JassGame(long rngSeed, Map<PlayerId, Player> players, Map<PlayerId, String> playerNames) {
+        this(rngSeed, players, playerNames, GameListener.NONE);
+    }
+
+    /**
+     * Constructor for a JassGame observed by a listener.
+     *
+     * @param rngSeed the seed of the PRNG
+     * @param players the played IDs associated to the Player objects
+     * @param playerNames the played IDs associated to their names
+     * @param listener the listener informed of the progress of the game
+     */
+    public JassGame(long rngSeed, Map<PlayerId, Player> players, Map<PlayerId, String> playerNames, GameListener listener) {
         Random rng = new Random(rngSeed);
         shuffleRng = new Random(rng.nextLong());
+        // separate from the shuffles, so that the deals only depend on the seed
+        fallbackRng = new Random(rng.nextLong());
+        this.listener = listener;
+        listener.gameStarted(rngSeed);
         this.players = new EnumMap<PlayerId, Player>(players);
         this.playerNames = new EnumMap<PlayerId, String>(playerNames);
         for (Map.Entry<PlayerId, Player> entry : this.players.entrySet()) {
@@ -75,6 +94,15 @@ public final class JassGame {
         return isGameOver;
     }
 
+    /**
+     * Gives the team that won the game.
+     *
+     * @return the winning team, or null if the game is not over yet
+     */
+    public TeamId winningTeam() {
+        return winningTeam;
+    }
+
     /**
      * Advances the game state until the end of the next trick.
      */
@@ -93,6 +121,8 @@ public final class JassGame {
                         player.setWinningTeam(teamId);
                     }
                     isGameOver = true;
+                    winningTeam = teamId;
+                    listener.gameOver(turnState.score(), teamId);
                     return;
                 }
             }
@@ -110,11 +140,14 @@ public final class JassGame {
             PlayerId playerId = turnState.nextPlayer();
             Player currentPlayer = players.get(playerId);
             CardSet hand = hands.get(playerId);
+            long decisionStart = System.nanoTime();
             Card card = currentPlayer.cardToPlay(turnState, hand);
+            listener.cardDecided(playerId, System.nanoTime() - decisionStart);
             CardSet playableCards = turnState.trick().playableCards(hand);
             if (!playableCards.contains(card)) {
-                card = playableCards.get(shuffleRng.nextInt(playableCards.size()));
+                card = playableCards.get(fallbackRng.nextInt(playableCards.size()));
             }
+            listener.cardPlayed(playerId, card);
             CardSet newHand = hand.remove(card);
             hands.replace(playerId, newHand);
             currentPlayer.updateHand(newHand);
@@ -142,13 +175,19 @@ public final class JassGame {
         PlayerId cPlayerId = trumpChooser;
         Player cPlayer = players.get(cPlayerId);
         CardSet hand = hands.get(cPlayerId);
+        long decisionStart = System.nanoTime();
         Color trump = cPlayer.chooseTrump(hand, true);
-        if (trump == null) {
+        listener.trumpDecided(cPlayerId, System.nanoTime() - decisionStart);
+        boolean passed = trump == null;
+        if (passed) {
             cPlayerId = PlayerId.ALL.get((cPlayerId.ordinal() + 2) & 0x3);
             cPlayer = players.get(cPlayerId);
             hand = hands.get(cPlayerId);
+            decisionStart = System.nanoTime();
             trump = cPlayer.chooseTrump(hand, false);
+            listener.trumpDecided(cPlayerId, System.nanoTime() - decisionStart);
         }
+        listener.trumpChosen(cPlayerId, trump, passed);
         trumpChooser = PlayerId.ALL.get((trumpChooser.ordinal() + 1) & 0x3);
         turnState = TurnState.initial(trump, score, firstPlayer);
         for (Player player : players.values()) {
@@ -0,0 +1,22 @@
+package ch.epfl.javass.jass;
+
+/**
+ * Interface with a method estimating the outcome of turns, used by a MctsPlayer
+ * instead of finishing them randomly.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public interface LeafEvaluator {
+    /**
+     * Estimates the points the team of a player will have won at the end of the turn, for several states at once.
+     * Implementations may be used by several players at the same time, from different threads.
+     *
+     * @param states the states of the turns, none of which is terminal or has a full trick
+     * @param pkHands the packed hand of the player in each state
+     * @param ownId the player
+     * @param count the number of states to estimate, at the start of the arrays
+     * @param points the array in which the estimated turn points of the team of the player are written
+     */
+    void evaluate(TurnState[] states, long[] pkHands, PlayerId ownId, int count, double[] points);
+}
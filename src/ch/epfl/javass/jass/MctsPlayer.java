@@ -7,16 +7,38 @@ import java.util.SplittableRandom;
 
 /**
  * Player equipped with Monte Carlo Tree Search for better moves.
+ * Given a deadline, the search stops when it is reached, or after the usual number of iterations
+ * if it comes first, but never before having tried every card once. With cardToPlayUntil, the usual
+ * number of iterations is a minimum rather than a maximum: the search goes on until the deadline.
+ * Every search can be reported to a SearchListener, and as an MctsSearchEvent to Flight Recorder;
+ * the phases of the search are only timed when one of them is interested.
  * @author Marc Lundwall (297665)
  * @author Pablo Stebler (302328)
  */
-public class MctsPlayer implements Player {
+public class MctsPlayer implements TimeAwarePlayer {
     private PlayerId ownId;
     private long rngSeed;
     private int iterations;
+    private double explorationConstant;
+    private LeafEvaluator evaluator;
+    private SearchListener searchListener;
     public boolean winning;
 
-    private static final double PASS_THRESHOLD = 108.0;
+    private static final int EVALUATION_BATCH_SIZE = 16;
+    // the points of a turn, apart from the bonus of a match
+    private static final int TURN_POINTS = 157;
+    // passed as deadline to searches which only stop after all their iterations
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    /**
+     * The average points under which a player who can pass does so, whatever the trump.
+     */
+    public static final double PASS_THRESHOLD = 108.0;
+
+    /**
+     * The exploration constant used when none is given to the constructor.
+     */
+    public static final double DEFAULT_EXPLORATION_CONSTANT = 40.0;
 
     /**
      * Constructor for MctsPlayer.
@@ -25,20 +47,78 @@ public class MctsPlayer implements Player {
      * @param iterations the number of random matches to be carried out (same as the number of terminal leaves)
      */
     public MctsPlayer(PlayerId ownId, long rngSeed, int iterations) {
+        this(ownId, rngSeed, iterations, DEFAULT_EXPLORATION_CONSTANT);
+    }
+
+    /**
+     * Constructor for MctsPlayer with a custom exploration constant.
+     * @param ownId               the PlayerID of the player
+     * @param rngSeed             the seed for all random events
+     * @param iterations          the number of random matches to be carried out (same as the number of terminal leaves)
+     * @param explorationConstant the weight given to rarely visited nodes when choosing the path to explore
+     * @throws IllegalArgumentException if there are fewer iterations than cards in a hand,
+     *                                  or if the exploration constant is negative
+     */
+    public MctsPlayer(PlayerId ownId, long rngSeed, int iterations, double explorationConstant) {
+        this(ownId, rngSeed, iterations, explorationConstant, null);
+    }
+
+    /**
+     * Constructor for MctsPlayer estimating the leaves of its search with an evaluator,
+     * instead of finishing the turn randomly.
+     * @param ownId               the PlayerID of the player
+     * @param rngSeed             the seed for all random events
+     * @param iterations          the number of leaves to be estimated
+     * @param explorationConstant the weight given to rarely visited nodes when choosing the path to explore
+     * @param evaluator           the evaluator of the leaves, or null to finish the turn randomly
+     * @throws IllegalArgumentException if there are fewer iterations than cards in a hand,
+     *                                  or if the exploration constant is negative
+     */
+    public MctsPlayer(PlayerId ownId, long rngSeed, int iterations, double explorationConstant, LeafEvaluator evaluator) {
         Preconditions.checkArgument(iterations >= Jass.HAND_SIZE);
+        Preconditions.checkArgument(explorationConstant >= 0);
         this.ownId = ownId;
         this.rngSeed = rngSeed;
         this.iterations = iterations;
+        this.explorationConstant = explorationConstant;
+        this.evaluator = evaluator;
+        this.searchListener = SearchListener.NONE;
         this.winning = false;
     }
 
+    /**
+     * Sets the listener to which every search is reported, the card searches as well as the searches
+     * of each trump color.
+     *
+     * @param searchListener the listener, SearchListener.NONE to report nothing
+     */
+    public void setSearchListener(SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
     @Override
     public Color chooseTrump(CardSet hand, boolean canPass) {
+        return chooseTrumpUntil(hand, canPass, NO_DEADLINE);
+    }
+
+    @Override
+    public Color chooseTrump(CardSet hand, boolean canPass, long deadlineNanos) {
+        return chooseTrumpUntil(hand, canPass, actualDeadline(deadlineNanos));
+    }
+
+    // the time left is shared equally between the colors which remain to be searched
+    private Color chooseTrumpUntil(CardSet hand, boolean canPass, long deadlineNanos) {
         double maxScore = 0.0;
         Color bestTrump = null;
         for (Color trump : Color.ALL) {
+            long trumpDeadline = deadlineNanos;
+            if (deadlineNanos != NO_DEADLINE) {
+                long now = System.nanoTime();
+                trumpDeadline = actualDeadline(now + (deadlineNanos - now) / (Color.COUNT - trump.ordinal()));
+            }
             TurnState state = TurnState.initial(trump, Score.INITIAL, ownId);
-            double score = cardToPlayImpl(state, hand.packed()).totalPointsOverTurns;
+            Node rootNode = search(state, hand.packed(), Jass.HAND_SIZE, iterations, trumpDeadline);
+            double score = rootNode.children[rootNode.bestChild(0.0)].totalPointsOverTurns;
             if (score > maxScore) {
                 maxScore = score;
                 bestTrump = trump;
@@ -53,35 +133,221 @@ public class MctsPlayer implements Player {
     @Override
     public Card cardToPlay(TurnState state, CardSet hand) {
         Node bestChild = cardToPlayImpl(state, hand.packed());
-        int futureTrick = bestChild.turnState.packedTrick();
-        return Card.ofPacked(PackedTrick.card(futureTrick, PackedTrick.size(futureTrick) - 1));
+        return Card.ofPacked(lastCard(bestChild));
+    }
+
+    @Override
+    public Card cardToPlay(TurnState state, CardSet hand, long deadlineNanos) {
+        Node rootNode = search(state, hand.packed(), Jass.HAND_SIZE, iterations, actualDeadline(deadlineNanos));
+        return Card.ofPacked(lastCard(rootNode.children[rootNode.bestChild(0.0)]));
+    }
+
+    @Override
+    public Card cardToPlayUntil(TurnState state, CardSet hand, long deadlineNanos) {
+        Node rootNode = search(state, hand.packed(), Math.max(iterations, Jass.HAND_SIZE), Integer.MAX_VALUE,
+                actualDeadline(deadlineNanos));
+        return Card.ofPacked(lastCard(rootNode.children[rootNode.bestChild(0.0)]));
+    }
+
+    /**
+     * Searches the card to play, and gives the statistics gathered about every playable card.
+     *
+     * @param state the current TurnState
+     * @param hand the current CardSet of the player
+     * @return the number of random turns and the average points of each card at the root of the search
+     */
+    public SearchStatistics statistics(TurnState state, CardSet hand) {
+        return statisticsUntil(state, hand, NO_DEADLINE);
+    }
+
+    /**
+     * Searches the card to play before a deadline, and gives the statistics gathered about every playable card.
+     *
+     * @param state the current TurnState
+     * @param hand the current CardSet of the player
+     * @param deadlineNanos the value of System.nanoTime() at which the search stops
+     * @return the number of random turns and the average points of each card at the root of the search
+     */
+    public SearchStatistics statistics(TurnState state, CardSet hand, long deadlineNanos) {
+        return statisticsUntil(state, hand, actualDeadline(deadlineNanos));
+    }
+
+    private SearchStatistics statisticsUntil(TurnState state, CardSet hand, long deadlineNanos) {
+        return statisticsOf(search(state, hand.packed(), Jass.HAND_SIZE, iterations, deadlineNanos));
+    }
+
+    // the statistics of the children of the root of a search
+    private static SearchStatistics statisticsOf(Node rootNode) {
+        long cards = PackedCardSet.EMPTY;
+        int[] turns = new int[SearchStatistics.CARD_SLOTS];
+        double[] points = new double[SearchStatistics.CARD_SLOTS];
+        for (int i = 0; i < rootNode.numChildren; i++) {
+            Node child = rootNode.children[i];
+            int pkCard = lastCard(child);
+            cards = PackedCardSet.add(cards, pkCard);
+            turns[pkCard] = child.turns;
+            points[pkCard] = child.totalPoints;
+        }
+        return new SearchStatistics(cards, turns, points);
     }
 
     // gives the node of the best child, from which the card can be extracted for cardToPlay,
     // and the score can be extracted for chooseTrump
     public Node cardToPlayImpl(TurnState state, long hand) {
+        Node rootNode = search(state, hand, Jass.HAND_SIZE, iterations, NO_DEADLINE);
+        return rootNode.children[rootNode.bestChild(0.0)];
+    }
+
+    // gives the card played to reach a node
+    private static int lastCard(Node node) {
+        int trick = node.turnState.packedTrick();
+        return PackedTrick.card(trick, PackedTrick.size(trick) - 1);
+    }
+
+    // builds the tree of the search until the deadline, or until the root was given the maximal number of turns,
+    // and gives its root; the probe is null when nobody observes the search
+    private Node search(TurnState state, long hand, int minTurns, int maxTurns, long deadlineNanos) {
+        SearchProbe probe = SearchProbe.start(searchListener);
         SplittableRandom rng = new SplittableRandom(rngSeed);
         Node rootNode = new Node(state, hand, ownId.team(), ownId);
-        while (rootNode.turns < iterations) { // runs <iteration> times the simulation
+        if (evaluator != null) {
+            evaluatedSearch(rootNode, hand, minTurns, maxTurns, deadlineNanos, probe);
+        } else {
             Node[] path = new Node[36]; // path is as array (for performance reasons) of all nodes traveled to reach a terminal leaf
-            path[0] = rootNode;
-            int i;
-            int ret = 0; // the value returned by addNode of a node
-            for (i = 0; ret == 0; i++) { // when ret is 0, the path has not yet reached a terminal node
-                ret = path[i].addNode(i + 1, path, hand, ownId); // repeat until a new node actually needs to be created
+            while (continues(rootNode, minTurns, maxTurns, deadlineNanos)) { // runs <iteration> times the simulation, or until the deadline
+                int length = selectPath(rootNode, path);
+                if (probe != null) {
+                    probe.selected();
+                }
+                if (length < 0) {
+                    length = expand(path, -length, hand);
+                    if (probe != null) {
+                        probe.expanded();
+                    }
+                }
+                Node lastNode = path[length - 1]; // this is the node after which a random game is carried out
+                TurnState lastTurnState = lastNode.turnState;
+                long gameScore = finalRandomGameScore(lastTurnState, hand, rng); // score of a random game, carried out after the last node's turnState
+                if (probe != null) {
+                    probe.rolledOut();
+                }
+                for (int j = 0; j < length; j++) { // adds the score to all nodes leading to the random game's initial node
+                    Node node = path[j];
+                    node.addToTotalPoints(PackedScore.turnPoints(gameScore, node.team));
+                }
+                if (probe != null) {
+                    probe.backpropagated(length - 1);
+                }
             }
-            if (ret == -1) { // when a new node is created
-                i++; // adjust the index of the last node (not incremented when created)
+        }
+        if (probe != null) {
+            probe.finish(ownId, state, rootNode.turns, statisticsOf(rootNode));
+        }
+        return rootNode;
+    }
+
+    // same as the loop of search, but the leaves are estimated by the evaluator, several at a time,
+    // the batches being made of the leaves of this search only:
+    // the nodes of a path are given a turn without points until the leaf is evaluated,
+    // which steers the following paths of the batch elsewhere; the evaluation is timed as the rollout
+    private void evaluatedSearch(Node rootNode, long hand, int minTurns, int maxTurns, long deadlineNanos,
+            SearchProbe probe) {
+        Node[][] paths = new Node[EVALUATION_BATCH_SIZE][36];
+        int[] lengths = new int[EVALUATION_BATCH_SIZE];
+        long[] leafScores = new long[EVALUATION_BATCH_SIZE]; // exact packed score of each terminal leaf
+        int[] evaluationIndices = new int[EVALUATION_BATCH_SIZE]; // -1 when the leaf is terminal
+        TurnState[] states = new TurnState[EVALUATION_BATCH_SIZE];
+        long[] hands = new long[EVALUATION_BATCH_SIZE];
+        double[] estimates = new double[EVALUATION_BATCH_SIZE];
+        TeamId ownTeam = ownId.team();
+        while (continues(rootNode, minTurns, maxTurns, deadlineNanos)) {
+            int batchSize = Math.min(EVALUATION_BATCH_SIZE, maxTurns - rootNode.turns);
+            int count = 0;
+            for (int b = 0; b < batchSize; b++) {
+                Node[] path = paths[b];
+                lengths[b] = selectPath(rootNode, path);
+                if (probe != null) {
+                    probe.selected();
+                }
+                if (lengths[b] < 0) {
+                    lengths[b] = expand(path, -lengths[b], hand);
+                    if (probe != null) {
+                        probe.expanded();
+                    }
+                }
+                for (int j = 0; j < lengths[b]; j++) {
+                    path[j].addVirtualTurn();
+                }
+                TurnState leaf = path[lengths[b] - 1].turnState;
+                if (PackedTrick.isFull(leaf.packedTrick())) {
+                    leaf = leaf.withTrickCollected();
+                }
+                if (leaf.isTerminal()) {
+                    leafScores[b] = leaf.packedScore();
+                    evaluationIndices[b] = -1;
+                } else {
+                    states[count] = leaf;
+                    hands[count] = PackedCardSet.intersection(hand, leaf.packedUnplayedCards());
+                    evaluationIndices[b] = count++;
+                }
             }
-            Node lastNode = path[i - 1]; // this is the node after which a random game is carried out
-            TurnState lastTurnState = lastNode.turnState;
-            long gameScore = finalRandomGameScore(lastTurnState, hand, rng); // score of a random game, carried out after the last node's turnState
-            for (int j = 0; j < i; j++) { // adds the score to all nodes leading to the random game's initial node
-                Node node = path[j];
-                node.addToTotalPoints(PackedScore.turnPoints(gameScore, node.team));
+            if (count > 0) {
+                evaluator.evaluate(states, hands, ownId, count, estimates);
+            }
+            if (probe != null) {
+                probe.rolledOut();
+            }
+            for (int b = 0; b < batchSize; b++) {
+                int index = evaluationIndices[b];
+                for (int j = 0; j < lengths[b]; j++) {
+                    Node node = paths[b][j];
+                    // the points of a terminal leaf may include the match bonus, which only its winners get
+                    double points;
+                    if (index < 0) {
+                        points = PackedScore.turnPoints(leafScores[b], node.team);
+                    } else {
+                        points = node.team == ownTeam ? estimates[index] : TURN_POINTS - estimates[index];
+                    }
+                    node.addPointsOfVirtualTurn(points);
+                }
+                if (probe != null) {
+                    probe.backpropagated(lengths[b] - 1);
+                }
             }
         }
-        return rootNode.children[rootNode.bestChild(0.0)];
+    }
+
+    // a deadline equal to the sentinel is moved by a nanosecond rather than ignored
+    private static long actualDeadline(long deadlineNanos) {
+        return deadlineNanos == NO_DEADLINE ? deadlineNanos + 1 : deadlineNanos;
+    }
+
+    // whether the search must go on: the minimal number of turns, at least one per card, must have been given,
+    // and the turns must not be exhausted nor the deadline reached
+    private boolean continues(Node rootNode, int minTurns, int maxTurns, long deadlineNanos) {
+        if (rootNode.turns >= maxTurns) {
+            return false;
+        }
+        return rootNode.turns < minTurns || deadlineNanos == NO_DEADLINE
+                || System.nanoTime() - deadlineNanos < 0;
+    }
+
+    // fills the path from the root to the leaf to explore, and gives its length,
+    // negated if a new node must be created after the last node of the path
+    private int selectPath(Node rootNode, Node[] path) {
+        path[0] = rootNode;
+        int i;
+        int ret = 0; // the value returned by selectChild of a node
+        for (i = 0; ret == 0; i++) { // when ret is 0, the path has not yet reached a terminal node
+            ret = path[i].selectChild(i + 1, path, explorationConstant); // repeat until a new node actually needs to be created
+        }
+        return ret == -1 ? -i : i;
+    }
+
+    // creates the new node after the last node of a path, and gives the new length of the path
+    private int expand(Node[] path, int length, long hand) {
+        path[length] = path[length - 1].addNode(hand, ownId);
+        return length + 1;
     }
 
     @Override
@@ -124,7 +390,7 @@ public class MctsPlayer implements Player {
         private int numChildren; // number of current existing children of the node
         private Node[] children; // an array of those children
         private long cardsWithoutNodes; // the playable cards not yet represented in a node
-        private int totalPoints; // of the team leading to this node
+        private double totalPoints; // of the team leading to this node
         private int turns; // the number of turns randomly finished (= the number of nodes after this node)
         private double totalPointsOverTurns; // the average score of the team leading to this node,
         // stored directly to avoid computing it every time it is used
@@ -153,49 +419,64 @@ public class MctsPlayer implements Player {
             oneOverSqrtTurns = 0;
         }
 
-        // Tries to add a new node, returns an int representing the situation:
-        // 0 when there is no
-        private int addNode(int i, Node[] path, long hand, PlayerId ownId) {
-            if (turnState.isTerminal()) {
+        // Puts the most promising child at index i of the path, returns an int representing the situation:
+        // 0 when the child exists, -1 when it must be created, -2 when no card can be played after this node
+        private int selectChild(int i, Node[] path, double explorationConstant) {
+            if (turnState.isTerminal() || children.length == 0) { // no card can be played after the last one of the turn
                 return -2;
             }
-            Node child = children[bestChild(40.0)];
+            Node child = children[bestChild(explorationConstant)];
             if (child == null) {
-                int cardToBePlayed = PackedCardSet.get(cardsWithoutNodes, 0);
-                TurnState newTurnState;
-                TeamId team;
-                if (PackedTrick.isFull(turnState.packedTrick())) {
-                    // creation of a new turnState for the new node, after a full trick
-                    newTurnState = TurnState.ofPackedComponents(turnState.withTrickCollected().packedScore(), // pkScore
-                            PackedCardSet.remove(turnState.withTrickCollected().packedUnplayedCards(), cardToBePlayed), // pkUnplayedCards
-                            PackedTrick.withAddedCard(turnState.withTrickCollected().packedTrick(), cardToBePlayed)); // pkTricks
-                    team = turnState.withTrickCollected().nextPlayer().team();
-                } else {
-                    // creation of a new turnState for the new node, with an added card
-                    newTurnState = TurnState.ofPackedComponents(turnState.packedScore(), // pkScore
-                            PackedCardSet.remove(turnState.packedUnplayedCards(), cardToBePlayed), // pkUnplayedCards
-                            PackedTrick.withAddedCard(turnState.packedTrick(), cardToBePlayed)); // pkTricks
-                    team = turnState.nextPlayer().team(); // the team of the new node
-                }
-                Node newNode = new Node(newTurnState, hand, team, ownId);
-                children[numChildren] = newNode;
-                numChildren++;
-                cardsWithoutNodes = PackedCardSet.remove(cardsWithoutNodes, PackedCardSet.get(cardsWithoutNodes, 0));
-                path[i] = newNode;
                 return -1;
             }
             path[i] = child;
             return 0;
         }
 
+        // Creates the child of the first card without node, and returns it
+        private Node addNode(long hand, PlayerId ownId) {
+            int cardToBePlayed = PackedCardSet.get(cardsWithoutNodes, 0);
+            TurnState newTurnState;
+            TeamId team;
+            if (PackedTrick.isFull(turnState.packedTrick())) {
+                // creation of a new turnState for the new node, after a full trick
+                newTurnState = TurnState.ofPackedComponents(turnState.withTrickCollected().packedScore(), // pkScore
+                        PackedCardSet.remove(turnState.withTrickCollected().packedUnplayedCards(), cardToBePlayed), // pkUnplayedCards
+                        PackedTrick.withAddedCard(turnState.withTrickCollected().packedTrick(), cardToBePlayed)); // pkTricks
+                team = turnState.withTrickCollected().nextPlayer().team();
+            } else {
+                // creation of a new turnState for the new node, with an added card
+                newTurnState = TurnState.ofPackedComponents(turnState.packedScore(), // pkScore
+                        PackedCardSet.remove(turnState.packedUnplayedCards(), cardToBePlayed), // pkUnplayedCards
+                        PackedTrick.withAddedCard(turnState.packedTrick(), cardToBePlayed)); // pkTricks
+                team = turnState.nextPlayer().team(); // the team of the new node
+            }
+            Node newNode = new Node(newTurnState, hand, team, ownId);
+            children[numChildren] = newNode;
+            numChildren++;
+            cardsWithoutNodes = PackedCardSet.remove(cardsWithoutNodes, PackedCardSet.get(cardsWithoutNodes, 0));
+            return newNode;
+        }
+
         // Method called to add a number of points to this node.
-        private void addToTotalPoints(int points) {
+        private void addToTotalPoints(double points) {
             totalPoints += points;
             turns++;
-            totalPointsOverTurns = (double)totalPoints / turns; // recomputing these values only once to improve performance
+            totalPointsOverTurns = totalPoints / turns; // recomputing these values only once to improve performance
             oneOverSqrtTurns = 1.0 / Math.sqrt((double) turns);
         }
 
+        // Method called to count a turn whose points are not known yet, as if it gave no point.
+        private void addVirtualTurn() {
+            addToTotalPoints(0);
+        }
+
+        // Method called to add the points of a turn already counted by addVirtualTurn.
+        private void addPointsOfVirtualTurn(double points) {
+            totalPoints += points;
+            totalPointsOverTurns = totalPoints / turns;
+        }
+
         // Returns the index of the most "promising" child.
         private int bestChild(double constant) {
             if (numChildren < children.length) { // if a child is not yet created, return its index
@@ -0,0 +1,58 @@
+package ch.epfl.javass.jass;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a search of an MctsPlayer, with the content of its SearchReport.
+ * The event is disabled by default, and enabled by a recording for ch.epfl.javass.MctsSearch.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+@Name("ch.epfl.javass.MctsSearch")
+@Label("MCTS Search")
+@Category({ "Javass", "MCTS" })
+@Description("A search of a simulated player")
+@Enabled(false)
+final class MctsSearchEvent extends Event {
+    @Label("Player")
+    String player;
+
+    @Label("Iterations")
+    int iterations;
+
+    @Label("Nodes")
+    int nodes;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Rollouts per Second")
+    double rolloutsPerSecond;
+
+    @Label("Selection")
+    @Timespan(Timespan.NANOSECONDS)
+    long selection;
+
+    @Label("Expansion")
+    @Timespan(Timespan.NANOSECONDS)
+    long expansion;
+
+    @Label("Rollout")
+    @Timespan(Timespan.NANOSECONDS)
+    long rollout;
+
+    @Label("Backpropagation")
+    @Timespan(Timespan.NANOSECONDS)
+    long backpropagation;
+
+    @Label("Root Visits")
+    @Description("The visits of every card playable from the root")
+    String rootVisits;
+}
@@ -3,9 +3,17 @@ package ch.epfl.javass.jass;
 import ch.epfl.javass.jass.Card.Color;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Makes sure that a player takes a minimum amount of time before playing.
+ * A time-aware player can be given the time it would otherwise wait, to search its card until then.
+ * The card can also be asked asynchronously, in which case no thread waits until the minimum time
+ * elapsed: a single thread, shared by all the paced players, completes the decisions when they are due.
+ * The idle time is then not given to the actual player, whose search would block the caller.
  *
  * @author Marc Lundwall (297665)
  * @author Pablo Stebler (302328)
@@ -13,6 +21,7 @@ import java.util.Map;
 public final class PacedPlayer implements Player {
     private Player underlyingPlayer;
     private long minTime;
+    private boolean usesIdleTime;
 
     /**
      * Constructor of PacedPlayer.
@@ -21,8 +30,21 @@ public final class PacedPlayer implements Player {
      * @param minTime the minimum time before the player can play
      */
     public PacedPlayer(Player underlyingPlayer, double minTime) {
+        this(underlyingPlayer, minTime, false);
+    }
+
+    /**
+     * Constructor of PacedPlayer, which can give the whole minimum time to the actual player.
+     *
+     * @param underlyingPlayer the actual player
+     * @param minTime the minimum time before the player can play
+     * @param usesIdleTime whether the actual player, if it is a TimeAwarePlayer, searches its card
+     *                     until the minimum time elapsed, rather than waiting once it chose it
+     */
+    public PacedPlayer(Player underlyingPlayer, double minTime, boolean usesIdleTime) {
         this.underlyingPlayer = underlyingPlayer;
         this.minTime = (long) (minTime * 1000.0);
+        this.usesIdleTime = usesIdleTime;
     }
 
     @Override
@@ -34,7 +56,7 @@ public final class PacedPlayer implements Player {
     public Card cardToPlay(TurnState state, CardSet hand) {
         // Same as method from interface, BUT with a time constraint.
         long startTime = System.currentTimeMillis();
-        Card card = underlyingPlayer.cardToPlay(state, hand);
+        Card card = chooseCard(state, hand);
         long endTime = System.currentTimeMillis();
         long elapsed = endTime - startTime;
         if (elapsed < minTime) {
@@ -47,6 +69,45 @@ public final class PacedPlayer implements Player {
         return card;
     }
     
+    /**
+     * Chooses the card to play like cardToPlay, but without waiting for the minimum time:
+     * the card is chosen by the calling thread, and the future is only completed once the minimum time
+     * elapsed since the call, by a thread shared by all the paced players.
+     * The actual player is never given the idle time here, even if it uses it in cardToPlay,
+     * so that the calling thread only waits for its usual decision.
+     *
+     * @param state the current state of the turn
+     * @param hand the hand of the player
+     * @return the future card to play, completed exceptionally if the underlying player failed
+     */
+    public CompletableFuture<Card> cardToPlayAsync(TurnState state, CardSet hand) {
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<Card> future = new CompletableFuture<>();
+        Card card;
+        try {
+            card = underlyingPlayer.cardToPlay(state, hand);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        long remaining = minTime - (System.currentTimeMillis() - startTime);
+        if (remaining <= 0) {
+            future.complete(card);
+        } else {
+            Scheduler.INSTANCE.schedule(() -> future.complete(card), remaining, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    // the deadline of the underlying player is the end of the minimum time
+    private Card chooseCard(TurnState state, CardSet hand) {
+        if (usesIdleTime && underlyingPlayer instanceof TimeAwarePlayer) {
+            long deadlineNanos = System.nanoTime() + minTime * 1_000_000L;
+            return ((TimeAwarePlayer) underlyingPlayer).cardToPlayUntil(state, hand, deadlineNanos);
+        }
+        return underlyingPlayer.cardToPlay(state, hand);
+    }
+
     @Override
     public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
         underlyingPlayer.setPlayers(ownId, playerNames);
@@ -76,4 +137,13 @@ public final class PacedPlayer implements Player {
     public void setWinningTeam(TeamId winningTeam) {
         underlyingPlayer.setWinningTeam(winningTeam);
     }
+
+    // the thread is only created once a card is asked asynchronously
+    private static final class Scheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "paced-player-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
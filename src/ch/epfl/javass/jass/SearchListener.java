@@ -0,0 +1,21 @@
+package ch.epfl.javass.jass;
+
+/**
+ * Interface observing the searches of an MctsPlayer, to which a report is given after every search.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public interface SearchListener {
+    /**
+     * Listener ignoring every search.
+     */
+    public static final SearchListener NONE = new SearchListener() {};
+
+    /**
+     * Informs the listener that a search is over, on the thread of the search.
+     *
+     * @param report the report of the search
+     */
+    default void searchCompleted(SearchReport report) {}
+}
@@ -0,0 +1,128 @@
+package ch.epfl.javass.jass;
+
+import jdk.jfr.EventType;
+
+/**
+ * Measures a search of an MctsPlayer, by timing the phases of its iterations as they are
+ * reported, and reports it to a SearchListener and to Flight Recorder once it is over.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+final class SearchProbe {
+    private static final EventType EVENT_TYPE = EventType.getEventType(MctsSearchEvent.class);
+
+    private final SearchListener listener;
+    private final MctsSearchEvent event;
+    private final long startNanos;
+    // the end of the last phase timed
+    private long lapNanos;
+    private long selectionNanos = 0;
+    private long expansionNanos = 0;
+    private long rolloutNanos = 0;
+    private long backpropagationNanos = 0;
+    private int nodes = 1;
+    private int maxDepth = 0;
+
+    private SearchProbe(SearchListener listener, MctsSearchEvent event) {
+        this.listener = listener;
+        this.event = event;
+        this.startNanos = System.nanoTime();
+        this.lapNanos = startNanos;
+        event.begin();
+    }
+
+    /**
+     * Starts measuring a search, if the listener or Flight Recorder is interested in it.
+     *
+     * @param listener the listener of the searches
+     * @return the probe of the search, or null if nobody is interested
+     */
+    static SearchProbe start(SearchListener listener) {
+        if (listener == SearchListener.NONE && !EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        return new SearchProbe(listener, new MctsSearchEvent());
+    }
+
+    /**
+     * Ends the selection of a path.
+     */
+    void selected() {
+        selectionNanos += lap();
+    }
+
+    /**
+     * Ends the creation of a node.
+     */
+    void expanded() {
+        expansionNanos += lap();
+        nodes++;
+    }
+
+    /**
+     * Ends the random end of a turn, or the evaluation of leaves.
+     */
+    void rolledOut() {
+        rolloutNanos += lap();
+    }
+
+    /**
+     * Ends the addition of the points of a leaf to its path.
+     *
+     * @param depth the depth of the leaf
+     */
+    void backpropagated(int depth) {
+        backpropagationNanos += lap();
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    /**
+     * Reports the search, once it is over.
+     *
+     * @param player the player who searched
+     * @param state the state at the root of the search
+     * @param iterations the number of iterations
+     * @param statistics the statistics of the children of the root
+     */
+    void finish(PlayerId player, TurnState state, int iterations, SearchStatistics statistics) {
+        long durationNanos = System.nanoTime() - startNanos;
+        SearchReport report = new SearchReport(player, state, iterations, nodes, maxDepth, durationNanos,
+                selectionNanos, expansionNanos, rolloutNanos, backpropagationNanos, statistics);
+        listener.searchCompleted(report);
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = player.name();
+            event.iterations = iterations;
+            event.nodes = nodes;
+            event.maxDepth = maxDepth;
+            event.rolloutsPerSecond = report.rolloutsPerSecond();
+            event.selection = selectionNanos;
+            event.expansion = expansionNanos;
+            event.rollout = rolloutNanos;
+            event.backpropagation = backpropagationNanos;
+            event.rootVisits = rootVisits(statistics);
+            event.commit();
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - lapNanos;
+        lapNanos = now;
+        return elapsed;
+    }
+
+    // the cards with their visits, separated by spaces, as "♠6:120 ♥A:300"
+    private static String rootVisits(SearchStatistics statistics) {
+        StringBuilder sb = new StringBuilder();
+        CardSet cards = statistics.cards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(cards.get(i)).append(':').append(statistics.turns(cards.get(i)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package ch.epfl.javass.jass;
+
+/**
+ * Report of a search of an MctsPlayer: its size, its duration, and the time spent in each phase
+ * of its iterations. With a LeafEvaluator, the evaluation of the leaves counts as the rollout.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class SearchReport {
+    private final PlayerId player;
+    private final TurnState state;
+    private final int iterations;
+    private final int nodes;
+    private final int maxDepth;
+    private final long durationNanos;
+    private final long selectionNanos;
+    private final long expansionNanos;
+    private final long rolloutNanos;
+    private final long backpropagationNanos;
+    private final SearchStatistics statistics;
+
+    // constructed by the SearchProbe of the search
+    SearchReport(PlayerId player, TurnState state, int iterations, int nodes, int maxDepth, long durationNanos,
+                 long selectionNanos, long expansionNanos, long rolloutNanos, long backpropagationNanos,
+                 SearchStatistics statistics) {
+        this.player = player;
+        this.state = state;
+        this.iterations = iterations;
+        this.nodes = nodes;
+        this.maxDepth = maxDepth;
+        this.durationNanos = durationNanos;
+        this.selectionNanos = selectionNanos;
+        this.expansionNanos = expansionNanos;
+        this.rolloutNanos = rolloutNanos;
+        this.backpropagationNanos = backpropagationNanos;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Gives the player who searched.
+     *
+     * @return the player
+     */
+    public PlayerId player() {
+        return player;
+    }
+
+    /**
+     * Gives the state from which the search started, whose trick gives the trump searched
+     * when the search was one of those choosing the trump.
+     *
+     * @return the state at the root of the search
+     */
+    public TurnState state() {
+        return state;
+    }
+
+    /**
+     * Gives the number of iterations, each one playing a turn to its end or evaluating a leaf.
+     *
+     * @return the number of iterations
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Gives the number of nodes of the tree, its root included.
+     *
+     * @return the number of nodes
+     */
+    public int nodes() {
+        return nodes;
+    }
+
+    /**
+     * Gives the depth of the deepest leaf explored, in cards played after the root.
+     *
+     * @return the maximal depth
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Gives the duration of the whole search.
+     *
+     * @return the duration, in nanoseconds
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Gives the number of iterations per second of the search.
+     *
+     * @return the iterations per second, 0 if the search took no measurable time
+     */
+    public double rolloutsPerSecond() {
+        return durationNanos == 0 ? 0 : iterations * 1e9 / durationNanos;
+    }
+
+    /**
+     * Gives the time spent choosing the paths from the root to the leaves.
+     *
+     * @return the time, in nanoseconds
+     */
+    public long selectionNanos() {
+        return selectionNanos;
+    }
+
+    /**
+     * Gives the time spent creating new nodes.
+     *
+     * @return the time, in nanoseconds
+     */
+    public long expansionNanos() {
+        return expansionNanos;
+    }
+
+    /**
+     * Gives the time spent finishing turns randomly, or evaluating the leaves.
+     *
+     * @return the time, in nanoseconds
+     */
+    public long rolloutNanos() {
+        return rolloutNanos;
+    }
+
+    /**
+     * Gives the time spent adding the points of the leaves to the nodes of their paths.
+     *
+     * @return the time, in nanoseconds
+     */
+    public long backpropagationNanos() {
+        return backpropagationNanos;
+    }
+
+    /**
+     * Gives the statistics of the children of the root, whose turns are the distribution of the visits.
+     *
+     * @return the statistics of the cards which can be played from the root
+     */
+    public SearchStatistics statistics() {
+        return statistics;
+    }
+}
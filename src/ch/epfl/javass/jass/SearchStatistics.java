@@ -0,0 +1,146 @@
+package ch.epfl.javass.jass;
+
+import ch.epfl.javass.Preconditions;
+
+/**
+ * Statistics gathered by a MctsPlayer about the cards it can play, at the root of its search.
+ * The statistics of independent searches from the same state can be merged, as if they were
+ * gathered by a single search.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class SearchStatistics {
+    // the arrays are indexed by packed card
+    static final int CARD_SLOTS = PackedCard.INVALID + 1;
+
+    /**
+     * The statistics of a search which explored no card.
+     */
+    public static final SearchStatistics EMPTY = new SearchStatistics(PackedCardSet.EMPTY, new int[CARD_SLOTS],
+            new double[CARD_SLOTS]);
+
+    private final long cards;
+    private final int[] turns;
+    private final double[] points;
+
+    // constructed by the MctsPlayer, the arrays being indexed by packed card
+    SearchStatistics(long cards, int[] turns, double[] points) {
+        this.cards = cards;
+        this.turns = turns;
+        this.points = points;
+    }
+
+    /**
+     * Gives the statistics of a single card.
+     *
+     * @param card the card
+     * @param turns the number of random turns played after the card
+     * @param totalPoints the sum of the points won by the team of the player at the end of these turns
+     * @return the statistics
+     * @throws IllegalArgumentException if the number of turns is negative
+     */
+    public static SearchStatistics ofCard(Card card, int turns, double totalPoints) {
+        Preconditions.checkArgument(turns >= 0);
+        int[] cardTurns = new int[CARD_SLOTS];
+        double[] cardPoints = new double[CARD_SLOTS];
+        cardTurns[card.packed()] = turns;
+        cardPoints[card.packed()] = totalPoints;
+        return new SearchStatistics(PackedCardSet.singleton(card.packed()), cardTurns, cardPoints);
+    }
+
+    /**
+     * Gives the statistics of both searches: the explored cards are united,
+     * and the turns and points of every card are added.
+     *
+     * @param that the other statistics
+     * @return the merged statistics
+     */
+    public SearchStatistics merge(SearchStatistics that) {
+        int[] mergedTurns = new int[CARD_SLOTS];
+        double[] mergedPoints = new double[CARD_SLOTS];
+        for (int i = 0; i < CARD_SLOTS; i++) {
+            mergedTurns[i] = turns[i] + that.turns[i];
+            mergedPoints[i] = points[i] + that.points[i];
+        }
+        return new SearchStatistics(PackedCardSet.union(cards, that.cards), mergedTurns, mergedPoints);
+    }
+
+    /**
+     * Gives the cards explored by the search.
+     *
+     * @return the set of explored cards
+     */
+    public CardSet cards() {
+        return CardSet.ofPacked(cards);
+    }
+
+    /**
+     * Gives the number of random turns played after a card.
+     *
+     * @param card the card
+     * @return the number of turns, 0 if the card was not explored
+     */
+    public int turns(Card card) {
+        return turns[card.packed()];
+    }
+
+    /**
+     * Gives the total number of random turns played during the search.
+     *
+     * @return the number of turns
+     */
+    public int totalTurns() {
+        int total = 0;
+        for (int i = 0; i < PackedCardSet.size(cards); i++) {
+            total += turns[PackedCardSet.get(cards, i)];
+        }
+        return total;
+    }
+
+    /**
+     * Gives the average points won by the team of the player at the end of the turn, after a card.
+     *
+     * @param card the card, which must have been explored
+     * @return the average points
+     * @throws IllegalArgumentException if the card was not explored
+     */
+    public double averagePoints(Card card) {
+        Preconditions.checkArgument(PackedCardSet.contains(cards, card.packed()));
+        int pkCard = card.packed();
+        return turns[pkCard] == 0 ? 0 : points[pkCard] / turns[pkCard];
+    }
+
+    /**
+     * Gives the sum of the points won by the team of the player at the end of the turn, after a card.
+     *
+     * @param card the card
+     * @return the sum of the points, 0 if the card was not explored
+     */
+    public double totalPoints(Card card) {
+        return points[card.packed()];
+    }
+
+    /**
+     * Gives the card with the highest average points, the one the MctsPlayer plays.
+     *
+     * @return the best card
+     * @throws IllegalStateException if no card was explored
+     */
+    public Card bestCard() {
+        if (PackedCardSet.isEmpty(cards)) {
+            throw new IllegalStateException();
+        }
+        int bestCard = PackedCardSet.get(cards, 0);
+        double bestPoints = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < PackedCardSet.size(cards); i++) {
+            int pkCard = PackedCardSet.get(cards, i);
+            double average = turns[pkCard] == 0 ? 0 : points[pkCard] / turns[pkCard];
+            if (average > bestPoints) {
+                bestPoints = average;
+                bestCard = pkCard;
+            }
+        }
+        return Card.ofPacked(bestCard);
+    }
+}
@@ -0,0 +1,45 @@
+package ch.epfl.javass.jass;
+
+import ch.epfl.javass.jass.Card.Color;
+
+/**
+ * Player able to choose its card and its trump within a time limit, giving its best choice found
+ * so far when the time is up.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public interface TimeAwarePlayer extends Player {
+    /**
+     * Gives the card that the player wants to play, before a deadline.
+     *
+     * @param state the current TurnState
+     * @param hand the current CardSet of the player
+     * @param deadlineNanos the value of System.nanoTime() at which the card must be chosen
+     * @return the Card object representing the card to be played
+     */
+    Card cardToPlay(TurnState state, CardSet hand, long deadlineNanos);
+
+    /**
+     * Gives the card that the player wants to play, using all the time until a deadline to improve it,
+     * rather than stopping once its usual effort is spent. By default, the same as cardToPlay with the deadline.
+     *
+     * @param state the current TurnState
+     * @param hand the current CardSet of the player
+     * @param deadlineNanos the value of System.nanoTime() at which the card must be chosen
+     * @return the Card object representing the card to be played
+     */
+    default Card cardToPlayUntil(TurnState state, CardSet hand, long deadlineNanos) {
+        return cardToPlay(state, hand, deadlineNanos);
+    }
+
+    /**
+     * Chooses the trump color, before a deadline.
+     *
+     * @param hand the hand of the player
+     * @param canPass whether it is possible for the player to pass
+     * @param deadlineNanos the value of System.nanoTime() at which the trump must be chosen
+     * @return the color of trump
+     */
+    Color chooseTrump(CardSet hand, boolean canPass, long deadlineNanos);
+}
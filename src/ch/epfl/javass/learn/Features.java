@@ -0,0 +1,94 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.PackedCard;
+import ch.epfl.javass.jass.PackedCardSet;
+import ch.epfl.javass.jass.PackedScore;
+import ch.epfl.javass.jass.PackedTrick;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.TurnState;
+
+import java.util.Arrays;
+
+/**
+ * Encodes the information a player has about a turn as a vector of numbers, for learned models.
+ * Only what the player can know is encoded: his hand, not the hands of the other players.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Features {
+    /**
+     * The number of different cards, and of entries of the vectors indexed by card.
+     */
+    public static final int CARDS = Color.COUNT * Rank.COUNT;
+
+    // offsets of the different groups of features
+    private static final int HAND = 0;
+    private static final int UNSEEN = HAND + CARDS;
+    private static final int TRICK = UNSEEN + CARDS;
+    private static final int TRUMP = TRICK + CARDS;
+    private static final int POSITION = TRUMP + Color.COUNT;
+    private static final int SCORE = POSITION + PlayerId.COUNT;
+
+    /**
+     * The number of features.
+     */
+    public static final int SIZE = SCORE + 3;
+
+    private static final float MAX_TURN_POINTS = 157f;
+
+    // private constructor to never initialize the class
+    private Features() {}
+
+    /**
+     * Gives the index of a card in the vectors indexed by card.
+     *
+     * @param pkCard the packed card
+     * @return the index, between 0 (included) and CARDS (excluded)
+     */
+    public static int cardIndex(int pkCard) {
+        return PackedCard.color(pkCard).ordinal() * Rank.COUNT + PackedCard.rank(pkCard).ordinal();
+    }
+
+    /**
+     * Encodes the information a player has about a turn.
+     *
+     * @param state the state of the turn, whose trick must not be full
+     * @param pkHand the packed hand of the player
+     * @param ownId the player
+     * @param features the array in which the features are written, of length at least SIZE
+     * @throws IllegalArgumentException if the array is too short
+     */
+    public static void encode(TurnState state, long pkHand, PlayerId ownId, float[] features) {
+        Preconditions.checkArgument(features.length >= SIZE);
+        Arrays.fill(features, 0, SIZE, 0f);
+        int pkTrick = state.packedTrick();
+        long unseen = PackedCardSet.difference(state.packedUnplayedCards(), pkHand);
+        setCards(features, HAND, pkHand);
+        setCards(features, UNSEEN, unseen);
+        for (int i = 0; i < PackedTrick.size(pkTrick); i++) {
+            // the cards of the trick are weighted by the order in which they were played
+            features[TRICK + cardIndex(PackedTrick.card(pkTrick, i))] = (i + 1) / (float) PlayerId.COUNT;
+        }
+        features[TRUMP + PackedTrick.trump(pkTrick).ordinal()] = 1f;
+        features[POSITION + PackedTrick.size(pkTrick) % PlayerId.COUNT] = 1f;
+        long pkScore = state.packedScore();
+        TeamId ownTeam = ownId.team();
+        features[SCORE] = PackedScore.turnPoints(pkScore, ownTeam) / MAX_TURN_POINTS;
+        features[SCORE + 1] = PackedScore.turnPoints(pkScore, ownTeam.other()) / MAX_TURN_POINTS;
+        features[SCORE + 2] = PackedTrick.index(pkTrick) / (float) Jass.TRICKS_PER_TURN;
+    }
+
+    private static void setCards(float[] features, int offset, long pkCardSet) {
+        while (pkCardSet != PackedCardSet.EMPTY) {
+            int pkCard = Long.numberOfTrailingZeros(pkCardSet);
+            features[offset + cardIndex(pkCard)] = 1f;
+            pkCardSet &= pkCardSet - 1;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ch.epfl.javass.learn;
+
+/**
+ * A training sample: the features of a decision, how the search distributed its visits between the cards,
+ * and the points the team of the player finally won during the turn.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Sample {
+    private final float[] features;
+    private final float[] visits;
+    private float points;
+
+    /**
+     * Constructor of a sample whose final points are not known yet.
+     *
+     * @param features the features of the decision, see Features
+     * @param visits the fraction of the visits of the search given to each card, indexed by Features.cardIndex
+     */
+    public Sample(float[] features, float[] visits) {
+        this.features = features;
+        this.visits = visits;
+        this.points = Float.NaN;
+    }
+
+    /**
+     * Getter for the features.
+     *
+     * @return the features, which must not be modified
+     */
+    public float[] features() {
+        return features;
+    }
+
+    /**
+     * Getter for the visit distribution.
+     *
+     * @return the fraction of the visits given to each card, which must not be modified
+     */
+    public float[] visits() {
+        return visits;
+    }
+
+    /**
+     * Getter for the final points.
+     *
+     * @return the points won by the team of the player during the turn
+     */
+    public float points() {
+        return points;
+    }
+
+    /**
+     * Setter for the final points, once the turn is over.
+     *
+     * @param points the points won by the team of the player during the turn
+     */
+    void setPoints(float points) {
+        this.points = points;
+    }
+}
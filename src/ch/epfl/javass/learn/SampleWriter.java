@@ -0,0 +1,155 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.Preconditions;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streams training samples to chunk files, written by background threads.
+ * At most a fixed number of samples wait in memory: adding a sample blocks while the writers are behind.
+ *
+ * <p>Every chunk file starts with the int number of features, followed by its samples,
+ * each being that many floats of features, Features.CARDS floats of visit distribution,
+ * and a float of final points, all big-endian.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class SampleWriter implements AutoCloseable {
+    // sample telling a writer thread to stop
+    private static final Sample END = new Sample(new float[0], new float[0]);
+
+    private final Path directory;
+    private final int samplesPerChunk;
+    private final BlockingQueue<Sample> queue;
+    private final List<Thread> writers;
+    private volatile IOException failure;
+
+    /**
+     * Constructor of the writer, starting its background threads.
+     *
+     * @param directory the directory in which the chunk files are created
+     * @param samplesPerChunk the maximal number of samples in a chunk file
+     * @param capacity the maximal number of samples waiting in memory
+     * @param threads the number of background writer threads
+     * @throws IllegalArgumentException if one of the numbers is not positive
+     */
+    public SampleWriter(Path directory, int samplesPerChunk, int capacity, int threads) {
+        Preconditions.checkArgument(samplesPerChunk > 0 && capacity > 0 && threads > 0);
+        this.directory = directory;
+        this.samplesPerChunk = samplesPerChunk;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int writerIndex = i;
+            Thread writer = new Thread(() -> writeChunks(writerIndex));
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Adds a sample whose final points are known, waiting if too many samples are already in memory.
+     *
+     * @param sample the sample to write
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws UncheckedIOException if a writer thread failed
+     */
+    public void add(Sample sample) throws InterruptedException {
+        Preconditions.checkArgument(sample.features().length == Features.SIZE);
+        checkFailure();
+        queue.put(sample);
+    }
+
+    /**
+     * Writes the remaining samples and stops the writer threads.
+     *
+     * @throws IOException if a writer thread failed, or if the calling thread is interrupted while waiting for them
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (int i = 0; i < writers.size(); i++) {
+                queue.put(END);
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    // loop of a writer thread, which starts a new chunk file every samplesPerChunk samples
+    private void writeChunks(int writerIndex) {
+        int chunk = 0;
+        int samplesInChunk = 0;
+        DataOutputStream out = null;
+        try {
+            try {
+                while (true) {
+                    Sample sample = queue.take();
+                    if (sample == END) {
+                        return;
+                    }
+                    if (out == null) {
+                        Path path = directory.resolve(String.format("samples-%02d-%05d.bin", writerIndex, chunk++));
+                        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+                        out.writeInt(Features.SIZE);
+                    }
+                    for (float f : sample.features()) {
+                        out.writeFloat(f);
+                    }
+                    for (float v : sample.visits()) {
+                        out.writeFloat(v);
+                    }
+                    out.writeFloat(sample.points());
+                    if (++samplesInChunk == samplesPerChunk) {
+                        out.close();
+                        out = null;
+                        samplesInChunk = 0;
+                    }
+                }
+            } finally {
+                if (out != null) {
+                    out.close();
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            // keeps emptying the queue so that the producers never block forever
+            while (true) {
+                try {
+                    if (queue.take() == END) {
+                        return;
+                    }
+                } catch (InterruptedException e2) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
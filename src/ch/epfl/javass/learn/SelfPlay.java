@@ -0,0 +1,85 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays games between MctsPlayers in bulk, streaming a training sample for every decision to a SampleWriter.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class SelfPlay {
+    private final int iterations;
+    private final long rngSeed;
+
+    /**
+     * Constructor of the self-play pipeline.
+     *
+     * @param iterations the number of iterations of the MctsPlayers
+     * @param rngSeed the seed from which the seeds of all games and players are derived
+     * @throws IllegalArgumentException if the MctsPlayers would not accept this number of iterations
+     */
+    public SelfPlay(int iterations, long rngSeed) {
+        Preconditions.checkArgument(iterations >= Jass.HAND_SIZE);
+        this.iterations = iterations;
+        this.rngSeed = rngSeed;
+    }
+
+    /**
+     * Plays games, several at a time, until all their samples are given to the writer.
+     *
+     * @param games the number of games to play
+     * @param threads the number of games played simultaneously
+     * @param writer the writer to which the samples are given
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the games
+     */
+    public void run(int games, int threads, SampleWriter writer) throws InterruptedException {
+        Preconditions.checkArgument(games >= 0 && threads > 0);
+        SplittableRandom rng = new SplittableRandom(rngSeed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int g = 0; g < games; g++) {
+                long gameSeed = rng.nextLong();
+                results.add(executor.submit(() -> playGame(gameSeed, writer)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void playGame(long gameSeed, SampleWriter writer) {
+        Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+        Map<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
+        SplittableRandom rng = new SplittableRandom(gameSeed);
+        for (PlayerId playerId : PlayerId.ALL) {
+            MctsPlayer player = new MctsPlayer(playerId, rng.nextLong(), iterations);
+            players.put(playerId, new SelfPlayPlayer(player, writer));
+            playerNames.put(playerId, playerId.name());
+        }
+        JassGame game = new JassGame(gameSeed, players, playerNames);
+        while (!game.isGameOver()) {
+            game.advanceToEndOfNextTrick();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ch.epfl.javass.learn;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Main class to generate training samples by self-play, without graphical interface.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class SelfPlayMain {
+    private static final int SAMPLES_PER_CHUNK = 100_000;
+    private static final int CAPACITY = 10_000;
+    private static final int WRITERS = 2;
+
+    private SelfPlayMain() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 4) {
+            System.err.println("Utilisation: java ch.epfl.javass.learn.SelfPlayMain <dossier> <parties> <iterations> <graine>");
+            System.exit(1);
+        }
+        Path directory = Files.createDirectories(Paths.get(args[0]));
+        SelfPlay selfPlay = new SelfPlay(Integer.parseInt(args[2]), Long.parseLong(args[3]));
+        try (SampleWriter writer = new SampleWriter(directory, SAMPLES_PER_CHUNK, CAPACITY, WRITERS)) {
+            selfPlay.run(Integer.parseInt(args[1]), Runtime.getRuntime().availableProcessors(), writer);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.PackedCardSet;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.SearchStatistics;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.TurnState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MctsPlayer producing a training sample for each of its decisions.
+ * The samples of a turn are given to the writer once the turn is over and its points are known,
+ * those of a turn interrupted by the end of the game being dropped.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+final class SelfPlayPlayer implements Player {
+    private final MctsPlayer underlyingPlayer;
+    private final SampleWriter writer;
+    private final List<Sample> pendingSamples;
+    private PlayerId ownId;
+
+    /**
+     * Constructor of the self-play player.
+     *
+     * @param underlyingPlayer the player searching the cards to play, with the same identity
+     * @param writer the writer to which the samples are given
+     */
+    SelfPlayPlayer(MctsPlayer underlyingPlayer, SampleWriter writer) {
+        this.underlyingPlayer = underlyingPlayer;
+        this.writer = writer;
+        this.pendingSamples = new ArrayList<>(Jass.HAND_SIZE);
+    }
+
+    @Override
+    public Card cardToPlay(TurnState state, CardSet hand) {
+        SearchStatistics statistics = underlyingPlayer.statistics(state, hand);
+        float[] features = new float[Features.SIZE];
+        Features.encode(state, hand.packed(), ownId, features);
+        float[] visits = new float[Features.CARDS];
+        long cards = statistics.cards().packed();
+        float totalTurns = statistics.totalTurns();
+        for (int i = 0; i < PackedCardSet.size(cards); i++) {
+            int pkCard = PackedCardSet.get(cards, i);
+            visits[Features.cardIndex(pkCard)] = statistics.turns(Card.ofPacked(pkCard)) / totalTurns;
+        }
+        pendingSamples.add(new Sample(features, visits));
+        return statistics.bestCard();
+    }
+
+    @Override
+    public Color chooseTrump(CardSet hand, boolean canPass) {
+        return underlyingPlayer.chooseTrump(hand, canPass);
+    }
+
+    @Override
+    public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+        this.ownId = ownId;
+        underlyingPlayer.setPlayers(ownId, playerNames);
+    }
+
+    @Override
+    public void updateScore(Score score) {
+        // the score of the last trick of a turn is communicated before the score of the next turn
+        if (score.turnTricks(TeamId.TEAM_1) + score.turnTricks(TeamId.TEAM_2) == Jass.TRICKS_PER_TURN) {
+            float points = score.turnPoints(ownId.team());
+            try {
+                for (Sample sample : pendingSamples) {
+                    sample.setPoints(points);
+                    writer.add(sample);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                pendingSamples.clear();
+            }
+        }
+    }
+
+    @Override
+    public void setWinningTeam(TeamId winningTeam) {
+        pendingSamples.clear();
+    }
+}
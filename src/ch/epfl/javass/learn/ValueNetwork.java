@@ -0,0 +1,156 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.LeafEvaluator;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TurnState;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Small feedforward neural network estimating the turn points of the team of a player from the Features of a state.
+ * The hidden layers use rectified linear units, and the single output is the estimated number of points.
+ * The network is immutable, and can be shared between threads.
+ *
+ * <p>The weight file starts with the int number of layers, followed for each layer by
+ * its int number of inputs n, its int number of outputs m, its m * n float weights, row by row,
+ * and its m float biases, all big-endian.
+ * The first layer must have Features.SIZE inputs, and the last one a single output.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class ValueNetwork implements LeafEvaluator {
+    private final int[] sizes; // sizes[0] inputs, sizes[l + 1] outputs of layer l
+    private final float[][] weights;
+    private final float[][] biases;
+    private final int maxSize;
+    // activations of the layers, then the features of a state, kept per thread to avoid
+    // allocating them at every batch
+    private final ThreadLocal<float[][]> buffers;
+
+    /**
+     * Constructor of the network.
+     *
+     * @param sizes the number of units of each layer, starting with the inputs
+     * @param weights the weights of each layer, row by row, one row per output
+     * @param biases the biases of each layer
+     * @throws IllegalArgumentException if the dimensions are inconsistent
+     */
+    public ValueNetwork(int[] sizes, float[][] weights, float[][] biases) {
+        int layers = sizes.length - 1;
+        Preconditions.checkArgument(layers >= 1 && weights.length == layers && biases.length == layers);
+        Preconditions.checkArgument(sizes[0] == Features.SIZE && sizes[layers] == 1);
+        int maxSize = 0;
+        for (int l = 0; l < layers; l++) {
+            Preconditions.checkArgument(sizes[l] > 0);
+            Preconditions.checkArgument(weights[l].length == sizes[l] * sizes[l + 1]);
+            Preconditions.checkArgument(biases[l].length == sizes[l + 1]);
+            maxSize = Math.max(maxSize, sizes[l + 1]);
+        }
+        this.sizes = sizes.clone();
+        this.weights = new float[layers][];
+        this.biases = new float[layers][];
+        for (int l = 0; l < layers; l++) {
+            this.weights[l] = weights[l].clone();
+            this.biases[l] = biases[l].clone();
+        }
+        this.maxSize = Math.max(maxSize, Features.SIZE);
+        this.buffers = ThreadLocal.withInitial(() -> new float[][] { new float[0], new float[0], new float[Features.SIZE] });
+    }
+
+    /**
+     * Loads a network from a weight file.
+     *
+     * @param path the weight file
+     * @return the network
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the dimensions in the file are inconsistent
+     */
+    public static ValueNetwork load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int layers = in.readInt();
+            Preconditions.checkArgument(layers >= 1);
+            int[] sizes = new int[layers + 1];
+            float[][] weights = new float[layers][];
+            float[][] biases = new float[layers][];
+            for (int l = 0; l < layers; l++) {
+                int inputs = in.readInt();
+                int outputs = in.readInt();
+                Preconditions.checkArgument(inputs > 0 && outputs > 0 && (l == 0 || inputs == sizes[l]));
+                sizes[l] = inputs;
+                sizes[l + 1] = outputs;
+                weights[l] = readFloats(in, inputs * outputs);
+                biases[l] = readFloats(in, outputs);
+            }
+            return new ValueNetwork(sizes, weights, biases);
+        }
+    }
+
+    @Override
+    public void evaluate(TurnState[] states, long[] pkHands, PlayerId ownId, int count, double[] points) {
+        float[][] buffers = buffers(count);
+        float[] input = buffers[0];
+        float[] features = buffers[2];
+        for (int b = 0; b < count; b++) {
+            Features.encode(states[b], pkHands[b], ownId, features);
+            System.arraycopy(features, 0, input, b * Features.SIZE, Features.SIZE);
+        }
+        float[] output = forward(buffers, count);
+        for (int b = 0; b < count; b++) {
+            points[b] = output[b];
+        }
+    }
+
+    // propagates the inputs in buffers[0] through all the layers, alternating between the two buffers,
+    // and gives the buffer containing the outputs;
+    // the outer loop is on the units so that each row of weights is reused for the whole batch
+    private float[] forward(float[][] buffers, int count) {
+        float[] in = buffers[0];
+        float[] out = buffers[1];
+        int layers = weights.length;
+        for (int l = 0; l < layers; l++) {
+            int inputs = sizes[l];
+            int outputs = sizes[l + 1];
+            float[] w = weights[l];
+            float[] bias = biases[l];
+            boolean hidden = l < layers - 1;
+            for (int j = 0; j < outputs; j++) {
+                int row = j * inputs;
+                for (int b = 0; b < count; b++) {
+                    int offset = b * inputs;
+                    float sum = bias[j];
+                    for (int i = 0; i < inputs; i++) {
+                        sum += w[row + i] * in[offset + i];
+                    }
+                    out[b * outputs + j] = hidden && sum < 0 ? 0 : sum;
+                }
+            }
+            float[] tmp = in;
+            in = out;
+            out = tmp;
+        }
+        return in;
+    }
+
+    private float[][] buffers(int count) {
+        float[][] buffers = this.buffers.get();
+        if (buffers[0].length < count * maxSize) {
+            buffers[0] = new float[count * maxSize];
+            buffers[1] = new float[count * maxSize];
+        }
+        return buffers;
+    }
+
+    private static float[] readFloats(DataInputStream in, int count) throws IOException {
+        float[] floats = new float[count];
+        for (int i = 0; i < count; i++) {
+            floats[i] = in.readFloat();
+        }
+        return floats;
+    }
+}
@@ -0,0 +1,188 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.Preconditions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Binary encoding of the protocol: every message is a frame made of the ordinal of its command on one byte,
+ * followed by its fields in big-endian binary form, in the same order as in the text encoding.
+ * Ordinals of players, trumps and teams take one byte, packed tricks four, packed card sets and scores eight,
+ * booleans one, and names are written in modified UTF-8. CHTR and CARD end with their
+ * time budget on four bytes, and CDLT is made of its sequence number and time budget.
+ * Replies take one byte.
+ *
+ * <p>A client asks for this encoding by sending the MAGIC bytes before its first message.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class BinaryCodec implements MessageCodec {
+    /**
+     * Bytes starting a binary connection. The first one cannot start a line of the text encoding.
+     */
+    static final byte[] MAGIC = { (byte) 0xBA, 'J', 'S', 1 };
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private DataInputStream in;
+    private DataOutputStream out;
+
+    /**
+     * Constructor of the codec, once the MAGIC bytes have been exchanged.
+     *
+     * @param in the input stream of the connection
+     * @param out the output stream of the connection
+     */
+    BinaryCodec(InputStream in, OutputStream out) {
+        this.in = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+    }
+
+    @Override
+    public void write(Message m) throws IOException {
+        writeMessage(out, m);
+    }
+
+    @Override
+    public boolean read(Message m) throws IOException {
+        int opcode = in.read();
+        if (opcode < 0) {
+            return false;
+        }
+        readMessage(in, opcode, m);
+        return true;
+    }
+
+    @Override
+    public void writeReply(int value) throws IOException {
+        out.writeByte(value);
+        out.flush();
+    }
+
+    @Override
+    public int readReply() throws IOException {
+        int value = in.read();
+        if (value < 0) {
+            throw new EOFException();
+        }
+        return value;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        in.close();
+    }
+
+    /**
+     * Writes the frame of a message.
+     *
+     * @param out the output to which the frame is written
+     * @param m the message
+     * @throws IOException in case of I/O error
+     */
+    static void writeMessage(DataOutput out, Message m) throws IOException {
+        out.writeByte(m.command.ordinal());
+        switch (m.command) {
+        case CHTR:
+            out.writeLong(m.hand);
+            out.writeBoolean(m.canPass);
+            out.writeInt(m.budget);
+            break;
+        case CARD:
+            out.writeLong(m.score);
+            out.writeLong(m.unplayedCards);
+            out.writeInt(m.trick);
+            out.writeLong(m.hand);
+            out.writeInt(m.budget);
+            break;
+        case CDLT:
+            out.writeInt(m.sequence);
+            out.writeInt(m.budget);
+            break;
+        case PLRS:
+            out.writeByte(m.ordinal);
+            for (String name : m.names) {
+                out.writeUTF(name);
+            }
+            break;
+        case HAND:
+            out.writeLong(m.hand);
+            break;
+        case TRCK:
+            out.writeInt(m.trick);
+            break;
+        case SCOR:
+            out.writeLong(m.score);
+            break;
+        default: // TRMP, WINR
+            out.writeByte(m.ordinal);
+            break;
+        }
+    }
+
+    /**
+     * Reads the rest of the frame of a message, once its opcode is read.
+     *
+     * @param in the input from which the frame is read
+     * @param opcode the opcode of the frame
+     * @param m the message whose fields are overwritten
+     * @throws IOException in case of I/O error
+     * @throws IllegalArgumentException if the opcode is not the one of a command
+     */
+    static void readMessage(DataInput in, int opcode, Message m) throws IOException {
+        Preconditions.checkArgument(opcode < JassCommand.values().length);
+        m.command = JassCommand.values()[opcode];
+        switch (m.command) {
+        case CHTR:
+            m.hand = in.readLong();
+            m.canPass = in.readBoolean();
+            m.budget = in.readInt();
+            break;
+        case CARD:
+            m.score = in.readLong();
+            m.unplayedCards = in.readLong();
+            m.trick = in.readInt();
+            m.hand = in.readLong();
+            m.budget = in.readInt();
+            break;
+        case CDLT:
+            m.sequence = in.readInt();
+            m.budget = in.readInt();
+            break;
+        case PLRS:
+            m.ordinal = in.readUnsignedByte();
+            for (int i = 0; i < m.names.length; i++) {
+                m.names[i] = in.readUTF();
+            }
+            break;
+        case HAND:
+            m.hand = in.readLong();
+            break;
+        case TRCK:
+            m.trick = in.readInt();
+            break;
+        case SCOR:
+            m.score = in.readLong();
+            break;
+        default: // TRMP, WINR
+            m.ordinal = in.readUnsignedByte();
+            break;
+        }
+    }
+}
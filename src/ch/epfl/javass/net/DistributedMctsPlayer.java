@@ -0,0 +1,216 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.SearchStatistics;
+import ch.epfl.javass.jass.TimeAwarePlayer;
+import ch.epfl.javass.jass.TurnState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Player whose Monte Carlo searches are run by remote MctsWorkerServers: every worker searches
+ * the same state with its own seed, and the statistics of all the searches are merged to choose
+ * the card, as a single search with the iterations of all the workers would.
+ * A worker which fails, or does not reply within the time budget and a margin, is dropped for the rest of the game;
+ * when no worker is left, the player searches locally.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+public final class DistributedMctsPlayer implements TimeAwarePlayer, AutoCloseable {
+    // time given to the network on top of the time budget, in milliseconds
+    private static final int TIMEOUT_MARGIN = 1_000;
+    // time given to the workers to reply when there is no time budget, in milliseconds
+    private static final int UNLIMITED_TIMEOUT = 60_000;
+
+    private final PlayerId ownId;
+    private final SplittableRandom rng;
+    private final int iterations;
+    private final Socket[] sockets;
+    private final DataInputStream[] ins;
+    private final DataOutputStream[] outs;
+    private final WorkerProtocol.Request request;
+
+    /**
+     * Constructor of the player, which connects to its workers.
+     *
+     * @param ownId the PlayerID of the player
+     * @param rngSeed the seed from which the seeds of the searches are derived
+     * @param iterations the number of iterations of the search of each worker
+     * @param workers the addresses of the workers
+     * @throws IOException if a worker cannot be reached
+     * @throws IllegalArgumentException if there are fewer iterations than cards in a hand, or no worker
+     */
+    public DistributedMctsPlayer(PlayerId ownId, long rngSeed, int iterations, List<InetSocketAddress> workers)
+            throws IOException {
+        Preconditions.checkArgument(iterations >= Jass.HAND_SIZE && !workers.isEmpty());
+        this.ownId = ownId;
+        this.rng = new SplittableRandom(rngSeed);
+        this.iterations = iterations;
+        this.sockets = new Socket[workers.size()];
+        this.ins = new DataInputStream[workers.size()];
+        this.outs = new DataOutputStream[workers.size()];
+        this.request = new WorkerProtocol.Request();
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                InetSocketAddress worker = workers.get(i);
+                sockets[i] = new Socket(worker.getHostString(), worker.getPort());
+                sockets[i].setTcpNoDelay(true);
+                ins[i] = new DataInputStream(new BufferedInputStream(sockets[i].getInputStream()));
+                outs[i] = new DataOutputStream(new BufferedOutputStream(sockets[i].getOutputStream()));
+                outs[i].write(WorkerProtocol.MAGIC);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Card cardToPlay(TurnState state, CardSet hand) {
+        return search(new TurnState[] { state }, hand, 0)[0].bestCard();
+    }
+
+    @Override
+    public Card cardToPlay(TurnState state, CardSet hand, long deadlineNanos) {
+        return search(new TurnState[] { state }, hand, budget(deadlineNanos, 1))[0].bestCard();
+    }
+
+    @Override
+    public Color chooseTrump(CardSet hand, boolean canPass) {
+        return chooseTrump(hand, canPass, 0);
+    }
+
+    @Override
+    public Color chooseTrump(CardSet hand, boolean canPass, long deadlineNanos) {
+        return chooseTrump(hand, canPass, budget(deadlineNanos, Color.COUNT));
+    }
+
+    /**
+     * Disconnects from the workers.
+     */
+    @Override
+    public void close() {
+        for (Socket socket : sockets) {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // already closed
+                }
+            }
+        }
+    }
+
+    // same choice as MctsPlayer, the four searches being sent to the workers at once
+    private Color chooseTrump(CardSet hand, boolean canPass, int budget) {
+        TurnState[] states = new TurnState[Color.COUNT];
+        for (Color trump : Color.ALL) {
+            states[trump.ordinal()] = TurnState.initial(trump, Score.INITIAL, ownId);
+        }
+        SearchStatistics[] statistics = search(states, hand, budget);
+        double maxScore = 0.0;
+        Color bestTrump = null;
+        for (Color trump : Color.ALL) {
+            SearchStatistics trumpStatistics = statistics[trump.ordinal()];
+            double score = trumpStatistics.averagePoints(trumpStatistics.bestCard());
+            if (score > maxScore) {
+                maxScore = score;
+                bestTrump = trump;
+            }
+        }
+        if (canPass && maxScore < MctsPlayer.PASS_THRESHOLD) {
+            return null;
+        }
+        return bestTrump;
+    }
+
+    // gives the budget of each of the searches run one after the other by a worker, at least a millisecond
+    private static int budget(long deadlineNanos, int searches) {
+        long remaining = (deadlineNanos - System.nanoTime()) / 1_000_000L / searches;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, remaining));
+    }
+
+    // sends the searches of all the states to every worker, and merges their statistics;
+    // a worker which fails or is late is dropped for the rest of the game, and a state which no worker
+    // searched is searched locally
+    private SearchStatistics[] search(TurnState[] states, CardSet hand, int budget) {
+        request.ownId = ownId;
+        request.hand = hand;
+        request.iterations = iterations;
+        request.budget = budget;
+        for (int w = 0; w < sockets.length; w++) {
+            if (sockets[w] == null) {
+                continue;
+            }
+            try {
+                for (TurnState state : states) {
+                    request.state = state;
+                    request.rngSeed = rng.nextLong();
+                    WorkerProtocol.writeRequest(outs[w], request);
+                }
+                outs[w].flush();
+            } catch (IOException e) {
+                drop(w);
+            }
+        }
+        // the workers search in parallel, so they all have the same deadline
+        long timeout = budget == 0 ? UNLIMITED_TIMEOUT : (long) budget * states.length + TIMEOUT_MARGIN;
+        long deadlineNanos = System.nanoTime() + timeout * 1_000_000L;
+        SearchStatistics[] merged = new SearchStatistics[states.length];
+        Arrays.fill(merged, SearchStatistics.EMPTY);
+        SearchStatistics[] worker = new SearchStatistics[states.length];
+        for (int w = 0; w < sockets.length; w++) {
+            if (sockets[w] == null) {
+                continue;
+            }
+            try {
+                long remaining = (deadlineNanos - System.nanoTime()) / 1_000_000L;
+                sockets[w].setSoTimeout((int) Math.max(1, Math.min(Integer.MAX_VALUE, remaining)));
+                for (int i = 0; i < states.length; i++) {
+                    worker[i] = WorkerProtocol.readStatistics(ins[w]);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // the statistics already read from a worker which failed or is late are discarded with it
+                drop(w);
+                continue;
+            }
+            for (int i = 0; i < states.length; i++) {
+                merged[i] = merged[i].merge(worker[i]);
+            }
+        }
+        for (int i = 0; i < states.length; i++) {
+            if (merged[i].cards().isEmpty()) {
+                MctsPlayer local = new MctsPlayer(ownId, rng.nextLong(), iterations);
+                merged[i] = budget == 0 ? local.statistics(states[i], hand)
+                        : local.statistics(states[i], hand, System.nanoTime() + budget * 1_000_000L);
+            }
+        }
+        return merged;
+    }
+
+    private void drop(int worker) {
+        try {
+            sockets[worker].close();
+        } catch (IOException e) {
+            // already closed
+        }
+        sockets[worker] = null;
+    }
+}
@@ -0,0 +1,120 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.SearchStatistics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server running the Monte Carlo searches requested by DistributedMctsPlayers.
+ * Every coordinator connection is served by its own thread, which runs its searches one after the other.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+public final class MctsWorkerServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections;
+    private final Thread acceptor;
+
+    /**
+     * Constructor of the worker, which binds its port but only accepts connections once started.
+     *
+     * @param port the port on which the worker listens, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public MctsWorkerServer(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.acceptor = new Thread(this::acceptConnections, "worker-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        acceptor.start();
+    }
+
+    /**
+     * Gives the port on which the worker listens.
+     *
+     * @return the port
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and closes the current ones.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : connections) {
+            socket.close();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                Thread thread = new Thread(() -> serve(socket), "worker-" + socket.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                // the server socket is closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            for (byte b : WorkerProtocol.MAGIC) {
+                if (in.read() != Byte.toUnsignedInt(b)) {
+                    return;
+                }
+            }
+            WorkerProtocol.Request request = new WorkerProtocol.Request();
+            while (WorkerProtocol.readRequest(in, request)) {
+                long receivedNanos = System.nanoTime();
+                MctsPlayer player = new MctsPlayer(request.ownId, request.rngSeed, request.iterations);
+                SearchStatistics statistics;
+                if (request.budget > 0) {
+                    long deadlineNanos = receivedNanos + request.budget * 1_000_000L;
+                    statistics = player.statistics(request.state, request.hand, deadlineNanos);
+                } else {
+                    statistics = player.statistics(request.state, request.hand);
+                }
+                WorkerProtocol.writeStatistics(out, statistics);
+                // the replies to pipelined requests are sent together
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // the connection is dropped
+        } finally {
+            connections.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ch.epfl.javass.net;
+
+/**
+ * A message of the protocol between RemotePlayerClient and RemotePlayerServer,
+ * independent of its encoding. Instances are reused from message to message,
+ * only the fields used by the command being meaningful.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class Message {
+    JassCommand command;
+    // ordinal of the own player for PLRS, of the trump for TRMP, of the winning team for WINR
+    int ordinal;
+    // player names for PLRS, in the order of the players
+    final String[] names = new String[4];
+    // packed hand for HAND, CHTR and CARD
+    long hand;
+    // packed score for SCOR and CARD
+    long score;
+    // packed unplayed cards for CARD
+    long unplayedCards;
+    // packed trick for TRCK and CARD
+    int trick;
+    // for CHTR
+    boolean canPass;
+    // time given to answer CHTR, CARD and CDLT in milliseconds, 0 if unlimited
+    int budget;
+    // sequence number of CDLT, the number of CARD and CDLT requests sent before it
+    int sequence;
+
+    // copies all the fields of another message
+    void copyFrom(Message that) {
+        command = that.command;
+        ordinal = that.ordinal;
+        System.arraycopy(that.names, 0, names, 0, names.length);
+        hand = that.hand;
+        score = that.score;
+        unplayedCards = that.unplayedCards;
+        trick = that.trick;
+        canPass = that.canPass;
+        budget = that.budget;
+        sequence = that.sequence;
+    }
+}
@@ -0,0 +1,65 @@
+package ch.epfl.javass.net;
+
+import java.io.IOException;
+
+/**
+ * Encoding of the messages of the protocol on a connection.
+ * The client writes messages and reads the replies to CHTR and CARD, the server does the opposite.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+interface MessageCodec extends AutoCloseable {
+    /**
+     * Writes a message, without flushing it.
+     *
+     * @param message the message
+     * @throws IOException in case of I/O error
+     */
+    void write(Message message) throws IOException;
+
+    /**
+     * Reads the next message.
+     *
+     * @param message the message whose fields are overwritten
+     * @return false if the connection was closed before a new message
+     * @throws IOException in case of I/O error
+     * @throws IllegalArgumentException if the message cannot be decoded
+     */
+    boolean read(Message message) throws IOException;
+
+    /**
+     * Writes the reply to a CHTR or CARD message, and flushes it.
+     *
+     * @param value the ordinal of the trump (Color.COUNT to pass) or the packed card
+     * @throws IOException in case of I/O error
+     */
+    void writeReply(int value) throws IOException;
+
+    /**
+     * Reads the reply to a CHTR or CARD message.
+     *
+     * @return the ordinal of the trump (Color.COUNT to pass) or the packed card
+     * @throws IOException in case of I/O error, or if the connection was closed
+     */
+    int readReply() throws IOException;
+
+    /**
+     * Limits the time readReply waits for a reply, after which it throws a SocketTimeoutException.
+     * The codecs of a whole socket leave this limit to the timeout of the socket, set by its owner.
+     *
+     * @param timeout the time limit in milliseconds, 0 for no limit
+     * @throws IOException in case of I/O error
+     */
+    default void setReplyTimeout(int timeout) throws IOException {}
+
+    /**
+     * Sends the messages written so far.
+     *
+     * @throws IOException in case of I/O error
+     */
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
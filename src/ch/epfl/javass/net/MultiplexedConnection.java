@@ -0,0 +1,211 @@
+package ch.epfl.javass.net;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Connection carrying the games of many RemotePlayerClients to a RemoteSeatServer, each one in its own session.
+ * Messages and replies are framed as in the binary encoding, preceded by the identifier of their session
+ * on four bytes. A session is opened by its first message and ends with an END_OF_SESSION opcode, or reply
+ * when the server ends it. The frames of a session are written together under a fair lock, so that
+ * the sessions take turns on the connection.
+ * A session receiving more messages, or replies, than it can queue is ended by the reader,
+ * without blocking the other sessions: the server closes it, and the client ends it locally.
+ *
+ * <p>A client asks for this mode by sending the MAGIC bytes before its first frame.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+public final class MultiplexedConnection implements AutoCloseable {
+    /**
+     * Bytes starting a multiplexed connection.
+     */
+    static final byte[] MAGIC = { (byte) 0xBA, 'J', 'M', 1 };
+
+    /**
+     * Opcode, or reply, ending a session.
+     */
+    static final int END_OF_SESSION = 0xFF;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Lock writeLock;
+    private final Map<Integer, SessionCodec> sessions;
+    // server side: the sessions closed by the server, until the client ends them too
+    private final Set<Integer> closedSessions;
+    private final AtomicInteger nextSessionId;
+
+    /**
+     * Constructor of a connection to a seat server, ready to open sessions.
+     *
+     * @param hostname the IP address of the server
+     * @param port the port on which the server listens
+     * @throws IOException in case of I/O error
+     */
+    public MultiplexedConnection(String hostname, int port) throws IOException {
+        this(new Socket(hostname, port), null);
+        socket.setTcpNoDelay(true);
+        out.write(MAGIC);
+        out.flush();
+        Thread reader = new Thread(this::readReplies, "multiplexed-replies");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    // server side, once the MAGIC bytes have been read from the input
+    MultiplexedConnection(Socket socket, InputStream in) throws IOException {
+        this.socket = socket;
+        this.in = new DataInputStream(new BufferedInputStream(in == null ? socket.getInputStream() : in, BUFFER_SIZE));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+        this.writeLock = new ReentrantLock(true);
+        this.sessions = new ConcurrentHashMap<>();
+        this.closedSessions = ConcurrentHashMap.newKeySet();
+        this.nextSessionId = new AtomicInteger();
+    }
+
+    /**
+     * Gives the number of sessions open on the connection.
+     *
+     * @return the number of sessions
+     */
+    public int sessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Closes the connection, which ends all its sessions.
+     *
+     * @throws IOException in case of I/O error
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    // client side
+    SessionCodec openSession() {
+        SessionCodec session = new SessionCodec(this, nextSessionId.getAndIncrement(), true);
+        sessions.put(session.id(), session);
+        return session;
+    }
+
+    void removeSession(SessionCodec session) {
+        sessions.remove(session.id());
+    }
+
+    // server side: removes a session, whose messages are dropped until the client ends it
+    void closeSession(SessionCodec session) {
+        // forgotten at once if the client ended it first
+        closedSessions.add(session.id());
+        if (sessions.remove(session.id()) == null) {
+            closedSessions.remove(session.id());
+        }
+    }
+
+    // writes frames already prefixed by their session, atomically
+    void writeFrames(ByteArrayOutputStream frames) throws IOException {
+        writeLock.lock();
+        try {
+            frames.writeTo(out);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // server side
+    void writeReply(int sessionId, int value) throws IOException {
+        writeLock.lock();
+        try {
+            out.writeInt(sessionId);
+            out.writeByte(value);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // client side: dispatches the replies to their sessions until the connection is closed
+    private void readReplies() {
+        try {
+            while (true) {
+                int sessionId = in.readInt();
+                int value = in.readUnsignedByte();
+                SessionCodec session = sessions.get(sessionId);
+                if (session != null && !session.receiveReply(value)) {
+                    // the server replies more than it is asked
+                    removeSession(session);
+                    session.receiveEnd();
+                }
+            }
+        } catch (IOException e) {
+            endSessions();
+        }
+    }
+
+    /**
+     * Server side: dispatches the messages to their sessions until the connection is closed,
+     * a session being opened by its first message. The messages of the sessions already closed are dropped.
+     *
+     * @param sessionOpened called with every new session, before it receives its first message
+     */
+    void readMessages(Consumer<SessionCodec> sessionOpened) {
+        try {
+            while (true) {
+                int sessionId = in.readInt();
+                int opcode = in.readUnsignedByte();
+                if (opcode == END_OF_SESSION) {
+                    SessionCodec ended = sessions.remove(sessionId);
+                    if (ended != null) {
+                        ended.receiveEnd();
+                    } else {
+                        closedSessions.remove(sessionId);
+                    }
+                    continue;
+                }
+                Message m = new Message();
+                BinaryCodec.readMessage(in, opcode, m);
+                SessionCodec session = sessions.get(sessionId);
+                if (session == null) {
+                    // a late message of a session closed by the server, not a new session
+                    if (closedSessions.contains(sessionId)) {
+                        continue;
+                    }
+                    session = new SessionCodec(this, sessionId, false);
+                    sessions.put(sessionId, session);
+                    sessionOpened.accept(session);
+                }
+                if (!session.receiveMessage(m)) {
+                    // the session does not read its messages, its later ones are dropped
+                    session.close();
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            endSessions();
+        }
+    }
+
+    private void endSessions() {
+        for (SessionCodec session : sessions.values()) {
+            removeSession(session);
+            session.receiveEnd();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package ch.epfl.javass.net;
 
+import ch.epfl.javass.Preconditions;
 import ch.epfl.javass.jass.Card;
 import ch.epfl.javass.jass.Card.Color;
 import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.PackedCard;
 import ch.epfl.javass.jass.Player;
 import ch.epfl.javass.jass.PlayerId;
 import ch.epfl.javass.jass.Score;
@@ -10,17 +12,12 @@ import ch.epfl.javass.jass.TeamId;
 import ch.epfl.javass.jass.Trick;
 import ch.epfl.javass.jass.TurnState;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.util.Map;
 
-import static java.nio.charset.StandardCharsets.US_ASCII;
-
 /**
  * Represents the client of a player, informing a remote server of the state of the game,
  * and listening to the card it chooses to play.
@@ -29,30 +26,140 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
  * @author Marc Lundwall (297665)
  */
 public final class RemotePlayerClient implements Player, AutoCloseable {
+    // every so many requests, the state is sent in full even if the server could track it
+    private static final int FULL_CARD_PERIOD = 16;
+
     private Socket s;
-    private BufferedReader r;
-    private BufferedWriter w;
+    private MessageCodec codec;
+    private Message message;
+    private boolean coalescing;
+    private int timeout;
+    private Player fallback;
+    // replies to requests answered by the fallback, still to be received and ignored
+    private int staleReplies;
+    private boolean deltaCards;
+    private TrackedState tracked;
 
     /**
-     * Constructor for the remote player client
+     * Constructor for the remote player client, using the text protocol.
      * @param hostname the IP address of the remote player server
      * @throws IOException to give a customized error message to the end user
      */
     public RemotePlayerClient(String hostname) throws IOException {
-        s = new Socket(hostname, 5108);
-        r = new BufferedReader(new InputStreamReader(s.getInputStream(), US_ASCII));
-        w = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), US_ASCII));
+        this(hostname, false);
+    }
+
+    /**
+     * Constructor for the remote player client.
+     * @param hostname the IP address of the remote player server
+     * @param binary whether to use the binary protocol instead of the text one
+     * @throws IOException to give a customized error message to the end user
+     */
+    public RemotePlayerClient(String hostname, boolean binary) throws IOException {
+        this(hostname, RemotePlayerServer.DEFAULT_PORT, binary);
+    }
+
+    /**
+     * Constructor for the remote player client, connecting to a server on a given port.
+     * @param hostname the IP address of the remote player server
+     * @param port the port on which the remote player server listens
+     * @param binary whether to use the binary protocol instead of the text one
+     * @throws IOException to give a customized error message to the end user
+     */
+    public RemotePlayerClient(String hostname, int port, boolean binary) throws IOException {
+        s = new Socket(hostname, port);
+        s.setTcpNoDelay(true);
+        if (binary) {
+            s.getOutputStream().write(BinaryCodec.MAGIC);
+            codec = new BinaryCodec(s.getInputStream(), s.getOutputStream());
+        } else {
+            codec = new TextCodec(s.getInputStream(), s.getOutputStream());
+        }
+        message = new Message();
+        coalescing = false;
+        timeout = 0;
+        fallback = null;
+        staleReplies = 0;
+        deltaCards = false;
+        tracked = new TrackedState();
+    }
+
+    /**
+     * Constructor for the remote player client, playing in a new session of a multiplexed connection,
+     * which the client does not close.
+     * @param connection the connection to the remote seat server
+     */
+    public RemotePlayerClient(MultiplexedConnection connection) {
+        s = null;
+        codec = connection.openSession();
+        message = new Message();
+        coalescing = false;
+        timeout = 0;
+        fallback = null;
+        staleReplies = 0;
+        deltaCards = false;
+        tracked = new TrackedState();
+    }
+
+    /**
+     * Limits the time the remote player has to answer CHTR and CARD. Three quarters of it are
+     * given to the remote player as time budget, the rest being left for the network.
+     * When the remote player does not answer in time, the fallback player answers instead, and
+     * the late reply is ignored when it arrives. The fallback only receives the requests it answers.
+     * There is no limit by default.
+     *
+     * @param timeout the time limit in milliseconds, 0 for no limit
+     * @param fallback the player answering instead of the remote player when it is late
+     * @throws IllegalArgumentException if the time limit is negative, or if there is a limit but no fallback
+     */
+    public void setTimeout(int timeout, Player fallback) {
+        Preconditions.checkArgument(timeout >= 0 && (timeout == 0 || fallback != null));
+        this.timeout = timeout;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Chooses whether the notifications (HAND, TRCK, SCOR...) are sent as soon as they are known,
+     * or accumulated and sent together before the next request (CHTR, CARD), at the end of each trick
+     * and at the end of the game, which saves a packet per notification.
+     * Coalescing is disabled by default.
+     *
+     * @param coalescing whether to accumulate the notifications
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+        if (!coalescing) {
+            flush();
+        }
+    }
+
+    /**
+     * Chooses whether CARD requests are replaced by CDLT requests, made of a sequence number only,
+     * when the state to send is the one the server tracked from the notifications, which saves
+     * sending and parsing it. The state is still sent in full periodically, and whenever the server
+     * asks for it. Only servers knowing CDLT, from this version on, support it.
+     * Delta requests are disabled by default.
+     *
+     * @param deltaCards whether to send CDLT requests when possible
+     */
+    public void setDeltaCards(boolean deltaCards) {
+        this.deltaCards = deltaCards;
     }
 
     @Override
     public Color chooseTrump(CardSet hand, boolean canPass) {
-        String CHTR = JassCommand.CHTR.name();
         Color trump = null;
+        message.command = JassCommand.CHTR;
+        message.hand = hand.packed();
+        message.canPass = canPass;
+        message.budget = timeout - timeout / 4;
         try {
-            w.write(StringSerializer.join(" ", CHTR, StringSerializer.serializeLong(hand.packed()), StringSerializer.serializeBoolean(canPass)));
-            w.write('\n');
-            w.flush();
-            int trumpIndex = StringSerializer.deserializeInt(r.readLine());
+            codec.write(message);
+            codec.flush();
+            int trumpIndex = readReply();
+            if (trumpIndex < 0) {
+                return fallback.chooseTrump(hand, canPass);
+            }
             if (trumpIndex < Color.COUNT) {
                 trump = Card.Color.ALL.get(trumpIndex);
             }
@@ -64,21 +171,33 @@ public final class RemotePlayerClient implements Player, AutoCloseable {
 
     @Override
     public Card cardToPlay(TurnState state, CardSet hand) {
-        String CARD = JassCommand.CARD.name();
-        String serializedScore = StringSerializer.serializeLong(state.packedScore());
-        String serializedUnplayedCards = StringSerializer.serializeLong(state.packedUnplayedCards());
-        String serializedTrick = StringSerializer.serializeInt(state.packedTrick());
+        message.command = JassCommand.CARD;
+        message.score = state.packedScore();
+        message.unplayedCards = state.packedUnplayedCards();
+        message.trick = state.packedTrick();
+        message.hand = hand.packed();
+        message.budget = timeout - timeout / 4;
+        boolean delta = deltaCards && tracked.requests() % FULL_CARD_PERIOD != 0 && tracked.matches(message);
+        if (delta) {
+            message.command = JassCommand.CDLT;
+            message.sequence = tracked.requests();
+        }
         try {
-            w.write(StringSerializer.join(" ",
-                    CARD,
-                    StringSerializer.join(",",
-                            serializedScore,
-                            serializedUnplayedCards,
-                            serializedTrick),
-                    StringSerializer.serializeLong(hand.packed())));
-            w.write('\n');
-            w.flush();
-            int pkCard = StringSerializer.deserializeInt(r.readLine());
+            tracked.update(message);
+            codec.write(message);
+            codec.flush();
+            int pkCard = readReply();
+            // the server did not track the state, which is sent in full
+            if (delta && pkCard == PackedCard.INVALID) {
+                message.command = JassCommand.CARD;
+                tracked.update(message);
+                codec.write(message);
+                codec.flush();
+                pkCard = readReply();
+            }
+            if (pkCard < 0) {
+                return fallback.cardToPlay(state, hand);
+            }
             return Card.ofPacked(pkCard);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -87,98 +206,106 @@ public final class RemotePlayerClient implements Player, AutoCloseable {
 
     @Override
     public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
-        String PLRS = JassCommand.PLRS.name();
-        String[] serializedPlayers = new String[4];
-        for(PlayerId player : PlayerId.values()) {
-            serializedPlayers[player.ordinal()] = StringSerializer.serializeString(playerNames.get(player));
-        }
-        String serializedIDordinal = StringSerializer.serializeInt(ownId.ordinal());
-        try {
-            w.write(StringSerializer.join(" ",
-                    PLRS,
-                    serializedIDordinal,
-                    StringSerializer.join(",",
-                            serializedPlayers[0],
-                            serializedPlayers[1],
-                            serializedPlayers[2],
-                            serializedPlayers[3])));
-            w.write('\n');
-            w.flush();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        message.command = JassCommand.PLRS;
+        message.ordinal = ownId.ordinal();
+        for (PlayerId player : PlayerId.values()) {
+            message.names[player.ordinal()] = playerNames.get(player);
         }
+        send();
     }
 
     @Override
     public void updateHand(CardSet newHand) {
-        String HAND = JassCommand.HAND.name();
-        String serializedHand = StringSerializer.serializeLong(newHand.packed());
-        try {
-            w.write(StringSerializer.join(" ",
-                    HAND,
-                    serializedHand));
-            w.write('\n');
-            w.flush();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        message.command = JassCommand.HAND;
+        message.hand = newHand.packed();
+        send();
     }
 
     @Override
     public void setTrump(Card.Color trump) {
-        String TRMP = JassCommand.TRMP.name();
-        String serializedTrumpOrdinal = StringSerializer.serializeInt(trump.ordinal());
-        try {
-            w.write(StringSerializer.join(" ",
-                    TRMP,
-                    serializedTrumpOrdinal));
-            w.write('\n');
-            w.flush();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        message.command = JassCommand.TRMP;
+        message.ordinal = trump.ordinal();
+        send();
     }
 
     @Override
     public void updateTrick(Trick newTrick) {
-        String TRCK = JassCommand.TRCK.name();
-        String serializedTrick = StringSerializer.serializeInt(newTrick.packed());
-        try {
-            w.write(StringSerializer.join(" ",
-                    TRCK,
-                    serializedTrick));
-            w.write('\n');
-            w.flush();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
+        message.command = JassCommand.TRCK;
+        message.trick = newTrick.packed();
+        send();
+        if (newTrick.isFull()) {
+            flush();
         }
     }
 
     @Override
     public void updateScore(Score score) {
-        String SCOR = JassCommand.SCOR.name();
-        String serializedScore = StringSerializer.serializeLong(score.packed());
+        message.command = JassCommand.SCOR;
+        message.score = score.packed();
+        send();
+    }
+
+    @Override
+    public void setWinningTeam(TeamId winningTeam) {
+        message.command = JassCommand.WINR;
+        message.ordinal = winningTeam.ordinal();
+        send();
+        flush();
+    }
+
+    // sends a message which expects no reply, or only writes it when coalescing
+    private void send() {
+        tracked.update(message);
         try {
-            w.write(StringSerializer.join(" ",
-                    SCOR,
-                    serializedScore));
-            w.write('\n');
-            w.flush();
+            codec.write(message);
+            if (!coalescing) {
+                codec.flush();
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    @Override
-    public void setWinningTeam(TeamId winningTeam) {
-        String WINR = JassCommand.WINR.name();
-        String serializedWinner = StringSerializer.serializeInt(winningTeam.ordinal());
+    // reads the reply to the last request, skipping the stale replies first,
+    // and gives -1 if the time limit is reached, the reply becoming stale
+    private int readReply() throws IOException {
+        long deadline = System.nanoTime() + timeout * 1_000_000L;
+        while (true) {
+            if (timeout > 0) {
+                long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remaining <= 0) {
+                    staleReplies++;
+                    return -1;
+                }
+                setReplyTimeout((int) remaining);
+            } else {
+                setReplyTimeout(0);
+            }
+            int reply;
+            try {
+                reply = codec.readReply();
+            } catch (SocketTimeoutException e) {
+                // a reply partly received is kept by the codec, and completed as a stale one
+                staleReplies++;
+                return -1;
+            }
+            if (staleReplies == 0) {
+                return reply;
+            }
+            staleReplies--;
+        }
+    }
+
+    private void setReplyTimeout(int replyTimeout) throws IOException {
+        if (s != null) {
+            s.setSoTimeout(replyTimeout);
+        }
+        codec.setReplyTimeout(replyTimeout);
+    }
+
+    private void flush() {
         try {
-            w.write(StringSerializer.join(" ",
-                    WINR,
-                    serializedWinner));
-            w.write('\n');
-            w.flush();
+            codec.flush();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -186,8 +313,9 @@ public final class RemotePlayerClient implements Player, AutoCloseable {
 
     @Override
     public void close() throws Exception {
-        w.close();
-        r.close();
-        s.close();
+        codec.close();
+        if (s != null) {
+            s.close();
+        }
     }
 }
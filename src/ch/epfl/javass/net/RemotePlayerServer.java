@@ -3,24 +3,23 @@ package ch.epfl.javass.net;
 import ch.epfl.javass.jass.Card;
 import ch.epfl.javass.jass.Card.Color;
 import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.PackedCard;
 import ch.epfl.javass.jass.Player;
 import ch.epfl.javass.jass.PlayerId;
 import ch.epfl.javass.jass.Score;
 import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.TimeAwarePlayer;
 import ch.epfl.javass.jass.Trick;
 import ch.epfl.javass.jass.TurnState;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.EnumMap;
 
-import static java.nio.charset.StandardCharsets.US_ASCII;
-
 /**
  * Represents the server of a player, which waits for a connection and acts as instructed.
  *
@@ -29,15 +28,32 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
  */
 public final class RemotePlayerServer {
     
+    /**
+     * The port on which the servers listen by default.
+     */
+    public static final int DEFAULT_PORT = 5108;
+
     Player player;
+    int port;
 
     /**
-     * Constructor of the remote player server.
+     * Constructor of the remote player server, listening on the default port.
      *
      * @param player the local Player, whose behavior controls this remote server
      */
     public RemotePlayerServer(Player player) {
+        this(player, DEFAULT_PORT);
+    }
+
+    /**
+     * Constructor of the remote player server.
+     *
+     * @param player the local Player, whose behavior controls this remote server
+     * @param port the port on which the server listens
+     */
+    public RemotePlayerServer(Player player, int port) {
         this.player = player;
+        this.port = port;
     }
 
     /**
@@ -45,97 +61,130 @@ public final class RemotePlayerServer {
      * Stops running when the game is over.
      */
     public void run() {
-        try (ServerSocket ss = new ServerSocket(5108)) {
-            Socket s = ss.accept();
-            BufferedReader r = new BufferedReader(new InputStreamReader(s.getInputStream(), US_ASCII));
-            BufferedWriter w = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), US_ASCII));
-            JassCommand command;
+        try (ServerSocket ss = new ServerSocket(port);
+             Socket s = ss.accept();
+             MessageCodec codec = negotiate(s.getInputStream(), s.getOutputStream())) {
+            serve(codec, player);
+        } catch (IOException e) {
+            System.out.println("Erreur d'E/S.");
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.out.println("Erreur de décodage.");
+        }
+    }
 
-            do {
-                String line = r.readLine();
-                String[] args = StringSerializer.split(" ", line);
-                command = JassCommand.valueOf(args[0]);
+    /**
+     * Listens to the commands of a connection and makes a player answer them,
+     * until the game is over or the connection is closed.
+     *
+     * @param codec the codec of the connection
+     * @param player the player answering the commands
+     * @throws IOException in case of I/O error
+     * @throws IllegalArgumentException if a message cannot be decoded
+     */
+    static void serve(MessageCodec codec, Player player) throws IOException {
+        Message m = new Message();
+        TrackedState tracked = new TrackedState();
+        JassCommand command;
 
-                // send the chosen trump
-                if (command == JassCommand.CHTR) {
-                    long packedHand = StringSerializer.deserializeLong(args[1]);
-                    CardSet hand = CardSet.ofPacked(packedHand);
-                    boolean canPass = StringSerializer.deserializeBoolean(args[2]);
-                    Color trump = player.chooseTrump(hand, canPass);
-                    int trumpIndex;
-                    if (trump == null) {
-                        trumpIndex = Color.COUNT;
-                    } else {
-                        trumpIndex = trump.ordinal();
-                    }
-                    w.write(StringSerializer.serializeInt(trumpIndex));
-                    w.write('\n');
-                    w.flush();
+        do {
+            if (!codec.read(m)) {
+                break;
+            }
+            command = m.command;
+            // a CDLT stands for the CARD of the tracked state, which must be sent in full if unknown
+            if (command == JassCommand.CDLT) {
+                if (!tracked.expand(m)) {
+                    tracked.update(m);
+                    codec.writeReply(PackedCard.INVALID);
+                    continue;
                 }
-                // sends the card chosen to be played
-                else if (command == JassCommand.CARD) {
-                    String[] stateArgs = StringSerializer.split(",", args[1]);
-                    long score = StringSerializer.deserializeLong(stateArgs[0]);
-                    long unplayedCards = StringSerializer.deserializeLong(stateArgs[1]);
-                    int trick = StringSerializer.deserializeInt(stateArgs[2]);
-                    TurnState state = TurnState.ofPackedComponents(score, unplayedCards, trick);
-                    long packedHand = StringSerializer.deserializeLong(args[2]);
-                    CardSet hand = CardSet.ofPacked(packedHand);
-                    Card card = player.cardToPlay(state, hand);
-                    int packedCard = card.packed();
-                    w.write(StringSerializer.serializeInt(packedCard));
-                    w.write('\n');
-                    w.flush();
-                }
-                // gets information about the other players' names
-                else if (command == JassCommand.PLRS) {
-                    int ownIdIndex = StringSerializer.deserializeInt(args[1]);
-                    PlayerId ownId = PlayerId.ALL.get(ownIdIndex);
-                    String[] playerNamesRaw = StringSerializer.split(",", args[2]);
-                    EnumMap<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
-                    for (PlayerId playerId : PlayerId.values()) {
-                        String playerName = StringSerializer.deserializeString(playerNamesRaw[playerId.ordinal()]);
-                        playerNames.put(playerId, playerName);
-                    }
-                    player.setPlayers(ownId, playerNames);
-                }
-                // informs the player of his updated hand
-                else if (command == JassCommand.HAND) {
-                    long packedHand = StringSerializer.deserializeLong(args[1]);
-                    CardSet hand = CardSet.ofPacked(packedHand);
-                    player.updateHand(hand);
-                }
-                // informs the player of the trump color
-                else if (command == JassCommand.TRMP) {
-                    int trumpIndex = StringSerializer.deserializeInt(args[1]);
-                    Color trump = Color.ALL.get(trumpIndex);
-                    player.setTrump(trump);
+                command = m.command;
+            }
+            tracked.update(m);
+
+            // send the chosen trump, within the time budget if the player can take it into account
+            if (command == JassCommand.CHTR) {
+                long receivedNanos = System.nanoTime();
+                CardSet hand = CardSet.ofPacked(m.hand);
+                Color trump;
+                if (m.budget > 0 && player instanceof TimeAwarePlayer) {
+                    long deadlineNanos = receivedNanos + m.budget * 1_000_000L;
+                    trump = ((TimeAwarePlayer) player).chooseTrump(hand, m.canPass, deadlineNanos);
+                } else {
+                    trump = player.chooseTrump(hand, m.canPass);
                 }
-                // updates the state of the trick
-                else if (command == JassCommand.TRCK) {
-                    int packedTrick = StringSerializer.deserializeInt(args[1]);
-                    Trick trick = Trick.ofPacked(packedTrick);
-                    player.updateTrick(trick);
+                int trumpIndex;
+                if (trump == null) {
+                    trumpIndex = Color.COUNT;
+                } else {
+                    trumpIndex = trump.ordinal();
                 }
-                // updates the current scores
-                else if (command == JassCommand.SCOR) {
-                    long packedScore = StringSerializer.deserializeLong(args[1]);
-                    Score score = Score.ofPacked(packedScore);
-                    player.updateScore(score);
+                codec.writeReply(trumpIndex);
+            }
+            // sends the card chosen to be played, within the time budget if the player can take it into account
+            else if (command == JassCommand.CARD) {
+                long receivedNanos = System.nanoTime();
+                TurnState state = TurnState.ofPackedComponents(m.score, m.unplayedCards, m.trick);
+                CardSet hand = CardSet.ofPacked(m.hand);
+                Card card;
+                if (m.budget > 0 && player instanceof TimeAwarePlayer) {
+                    long deadlineNanos = receivedNanos + m.budget * 1_000_000L;
+                    card = ((TimeAwarePlayer) player).cardToPlay(state, hand, deadlineNanos);
+                } else {
+                    card = player.cardToPlay(state, hand);
                 }
-                // gives the winning team when the game is over
-                else if (command == JassCommand.WINR) {
-                    int teamIndex = StringSerializer.deserializeInt(args[1]);
-                    TeamId team = TeamId.ALL.get(teamIndex);
-                    player.setWinningTeam(team);
+                codec.writeReply(card.packed());
+            }
+            // gets information about the other players' names
+            else if (command == JassCommand.PLRS) {
+                PlayerId ownId = PlayerId.ALL.get(m.ordinal);
+                EnumMap<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
+                for (PlayerId playerId : PlayerId.values()) {
+                    playerNames.put(playerId, m.names[playerId.ordinal()]);
                 }
-            } while (command != JassCommand.WINR); // end loop when game is over
+                player.setPlayers(ownId, playerNames);
+            }
+            // informs the player of his updated hand
+            else if (command == JassCommand.HAND) {
+                player.updateHand(CardSet.ofPacked(m.hand));
+            }
+            // informs the player of the trump color
+            else if (command == JassCommand.TRMP) {
+                player.setTrump(Color.ALL.get(m.ordinal));
+            }
+            // updates the state of the trick
+            else if (command == JassCommand.TRCK) {
+                player.updateTrick(Trick.ofPacked(m.trick));
+            }
+            // updates the current scores
+            else if (command == JassCommand.SCOR) {
+                player.updateScore(Score.ofPacked(m.score));
+            }
+            // gives the winning team when the game is over
+            else if (command == JassCommand.WINR) {
+                player.setWinningTeam(TeamId.ALL.get(m.ordinal));
+            }
+        } while (command != JassCommand.WINR); // end loop when game is over
+    }
 
-        } catch (IOException e) {
-            System.out.println("Erreur d'E/S.");
-        } catch (IllegalArgumentException e) {
-            System.out.println("Erreur de décodage.");
+    // chooses the encoding asked by the client, the text one unless it starts with the binary magic bytes
+    static MessageCodec negotiate(InputStream in, OutputStream out) throws IOException {
+        BufferedInputStream bufferedIn = new BufferedInputStream(in);
+        if (skipMagic(bufferedIn, BinaryCodec.MAGIC)) {
+            return new BinaryCodec(bufferedIn, out);
         }
+        return new TextCodec(bufferedIn, out);
+    }
+
+    // skips the magic bytes if the input starts with them, and otherwise leaves it untouched
+    static boolean skipMagic(BufferedInputStream in, byte[] magic) throws IOException {
+        in.mark(magic.length);
+        for (byte b : magic) {
+            if (in.read() != Byte.toUnsignedInt(b)) {
+                in.reset();
+                return false;
+            }
+        }
+        return true;
     }
-    
 }
@@ -0,0 +1,373 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.TimeAwarePlayer;
+import ch.epfl.javass.jass.Trick;
+import ch.epfl.javass.jass.TurnState;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Server hosting many remote seats at the same time, each connection being a seat, or carrying
+ * many seats when it is a MultiplexedConnection. A seat is played by its own player, created when
+ * the seat learns its identity.
+ * Every seat is served by its own thread, with a small stack, and the number of seats is bounded:
+ * new connections, or new sessions of a multiplexed connection, wait while all seats are taken,
+ * the messages of a waiting session being queued meanwhile. The number of those waiting is bounded too,
+ * a connection or session arriving past this bound being closed at once.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+public final class RemoteSeatServer implements AutoCloseable {
+    private static final long SEAT_STACK_SIZE = 256 * 1024;
+
+    private final ServerSocket serverSocket;
+    private final Function<PlayerId, Player> playerFactory;
+    private final Semaphore freeSeats;
+    // connections not known to be multiplexed yet, or waiting for a seat, and sessions waiting for a seat
+    private final Semaphore pendingSlots;
+    private final Map<Integer, Seat> seats;
+    // the multiplexed connections, and the others until they get their seat
+    private final Set<Socket> unseatedSockets;
+    private final AtomicInteger nextSeatId;
+    private final Thread acceptor;
+
+    /**
+     * Constructor of the server, which binds its port but only accepts connections once started.
+     * As many connections and sessions as there are seats can wait for one.
+     *
+     * @param port the port on which the server listens, 0 for any free port
+     * @param maxSeats the maximal number of seats served at the same time
+     * @param playerFactory gives the player of a seat from its identity in the game
+     * @throws IOException if the port cannot be bound
+     */
+    public RemoteSeatServer(int port, int maxSeats, Function<PlayerId, Player> playerFactory) throws IOException {
+        this(port, maxSeats, maxSeats, playerFactory);
+    }
+
+    /**
+     * Constructor of the server, which binds its port but only accepts connections once started.
+     *
+     * @param port the port on which the server listens, 0 for any free port
+     * @param maxSeats the maximal number of seats served at the same time
+     * @param maxPending the maximal number of connections and sessions waiting for a seat
+     * @param playerFactory gives the player of a seat from its identity in the game
+     * @throws IOException if the port cannot be bound
+     * @throws IllegalArgumentException if one of the numbers is not positive
+     */
+    public RemoteSeatServer(int port, int maxSeats, int maxPending, Function<PlayerId, Player> playerFactory)
+            throws IOException {
+        Preconditions.checkArgument(maxSeats > 0 && maxPending > 0);
+        this.serverSocket = new ServerSocket(port, maxSeats);
+        this.playerFactory = playerFactory;
+        // fair, so that the seats are given in the order of the connections and sessions
+        this.freeSeats = new Semaphore(maxSeats, true);
+        this.pendingSlots = new Semaphore(maxPending);
+        this.seats = new ConcurrentHashMap<>();
+        this.unseatedSockets = ConcurrentHashMap.newKeySet();
+        this.nextSeatId = new AtomicInteger();
+        this.acceptor = new Thread(this::acceptSeats, "seat-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        acceptor.start();
+    }
+
+    /**
+     * Gives the port on which the server listens.
+     *
+     * @return the port
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gives the seats currently connected.
+     *
+     * @return an unmodifiable view of the seats, by identifier
+     */
+    public Map<Integer, Seat> seats() {
+        return Collections.unmodifiableMap(seats);
+    }
+
+    /**
+     * Stops accepting connections and closes all the seats.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Seat seat : seats.values()) {
+            seat.close();
+        }
+        for (Socket socket : unseatedSockets) {
+            socket.close();
+        }
+    }
+
+    // no seat is taken while waiting for a connection, as a multiplexed one takes none itself
+    private void acceptSeats() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                // past the bound, the connection is closed rather than given a thread
+                if (!pendingSlots.tryAcquire()) {
+                    closeQuietly(socket);
+                    continue;
+                }
+                startThread(() -> serveConnection(socket), "connection-" + socket.getPort());
+            } catch (IOException e) {
+                // the server is closed, or the connection failed
+            }
+        }
+    }
+
+    // serves the single seat of a connection, or the sessions of a multiplexed one
+    private void serveConnection(Socket socket) {
+        unseatedSockets.add(socket);
+        BufferedInputStream in;
+        boolean multiplexed;
+        try {
+            in = new BufferedInputStream(socket.getInputStream());
+            multiplexed = RemotePlayerServer.skipMagic(in, MultiplexedConnection.MAGIC);
+        } catch (IOException e) {
+            pendingSlots.release();
+            unseatedSockets.remove(socket);
+            closeQuietly(socket);
+            return;
+        }
+        if (!multiplexed) {
+            freeSeats.acquireUninterruptibly();
+            pendingSlots.release();
+            unseatedSockets.remove(socket);
+            // closed by the server while waiting for the seat
+            if (socket.isClosed()) {
+                freeSeats.release();
+                return;
+            }
+            openSeat(socket, null).serve(in);
+            return;
+        }
+        // the sessions take the seats, and the pending slots, instead of the connection
+        pendingSlots.release();
+        try {
+            MultiplexedConnection connection = new MultiplexedConnection(socket, in);
+            connection.readMessages(session -> waitForSeat(socket, session));
+        } catch (IOException e) {
+            // the connection is dropped
+        } finally {
+            unseatedSockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    // the seat of a session is waited for on its own thread, as the reader must keep
+    // dispatching the messages of the seated sessions, which free the seats
+    private void waitForSeat(Socket socket, SessionCodec session) {
+        // past the bound, the session is ended rather than given a thread
+        if (!pendingSlots.tryAcquire()) {
+            try {
+                session.close();
+            } catch (IOException e) {
+                // the connection is already closed
+            }
+            return;
+        }
+        startThread(() -> {
+            freeSeats.acquireUninterruptibly();
+            pendingSlots.release();
+            // the connection was closed, or the session ended, while waiting for the seat
+            if (socket.isClosed() || session.isEnded()) {
+                freeSeats.release();
+                return;
+            }
+            openSeat(socket, session).serve(null);
+        }, "session-" + session.id());
+    }
+
+    private Seat openSeat(Socket socket, SessionCodec session) {
+        Seat seat = new Seat(nextSeatId.getAndIncrement(), socket, session);
+        seats.put(seat.id, seat);
+        return seat;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    private static void startThread(Runnable runnable, String name) {
+        Thread thread = new Thread(null, runnable, name, SEAT_STACK_SIZE);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * A seat of a remote game, played on a connection to the server or in a session of a multiplexed one.
+     */
+    public final class Seat {
+        private final int id;
+        private final Socket socket;
+        private final SessionCodec session;
+        private volatile PlayerId ownId;
+        private Player player;
+
+        private Seat(int id, Socket socket, SessionCodec session) {
+            this.id = id;
+            this.socket = socket;
+            this.session = session;
+        }
+
+        /**
+         * Gives the identifier of the seat, unique to the server.
+         *
+         * @return the identifier
+         */
+        public int id() {
+            return id;
+        }
+
+        /**
+         * Gives the address of the client of the seat.
+         *
+         * @return the remote address
+         */
+        public SocketAddress remoteAddress() {
+            return socket.getRemoteSocketAddress();
+        }
+
+        /**
+         * Gives the identity of the seat in its game.
+         *
+         * @return the identity, or null if the client did not communicate it yet
+         */
+        public PlayerId ownId() {
+            return ownId;
+        }
+
+        /**
+         * Closes the connection of the seat, or only its session, which frees it.
+         */
+        public void close() {
+            if (session == null) {
+                closeQuietly(socket);
+                return;
+            }
+            try {
+                session.close();
+            } catch (IOException e) {
+                // the connection is already closed
+            }
+        }
+
+        // serves the session of the seat, or its connection, whose input is given
+        private void serve(BufferedInputStream in) {
+            try (MessageCodec c = session != null ? session : RemotePlayerServer.negotiate(in, socket.getOutputStream())) {
+                RemotePlayerServer.serve(c, new SeatPlayer());
+            } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                // the connection is dropped, freeing the seat for another client
+            } finally {
+                close();
+                seats.remove(id);
+                freeSeats.release();
+            }
+        }
+
+        // creates the player of the seat when its identity is known, and delegates to it
+        private final class SeatPlayer implements TimeAwarePlayer {
+            @Override
+            public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+                Seat.this.ownId = ownId;
+                player = playerFactory.apply(ownId);
+                player.setPlayers(ownId, playerNames);
+            }
+
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                return player().cardToPlay(state, hand);
+            }
+
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand, long deadlineNanos) {
+                if (player() instanceof TimeAwarePlayer) {
+                    return ((TimeAwarePlayer) player).cardToPlay(state, hand, deadlineNanos);
+                }
+                return player.cardToPlay(state, hand);
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass, long deadlineNanos) {
+                if (player() instanceof TimeAwarePlayer) {
+                    return ((TimeAwarePlayer) player).chooseTrump(hand, canPass, deadlineNanos);
+                }
+                return player.chooseTrump(hand, canPass);
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass) {
+                return player().chooseTrump(hand, canPass);
+            }
+
+            @Override
+            public void updateHand(CardSet newHand) {
+                player().updateHand(newHand);
+            }
+
+            @Override
+            public void setTrump(Color trump) {
+                player().setTrump(trump);
+            }
+
+            @Override
+            public void updateTrick(Trick newTrick) {
+                player().updateTrick(newTrick);
+            }
+
+            @Override
+            public void updateScore(Score score) {
+                player().updateScore(score);
+            }
+
+            @Override
+            public void setWinningTeam(TeamId winningTeam) {
+                player().setWinningTeam(winningTeam);
+            }
+
+            // the identity must be communicated before anything else
+            private Player player() {
+                if (player == null) {
+                    throw new IllegalArgumentException();
+                }
+                return player;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ch.epfl.javass.net;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codec of a session of a MultiplexedConnection: the messages written are framed and sent
+ * together on the connection when flushed, while the messages and replies received are
+ * queued by the thread reading the connection.
+ * The queues are bounded, one place being kept for the end of the session: a message or reply
+ * not fitting in its queue is refused, and the reader then ends the session.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class SessionCodec implements MessageCodec {
+    // queued instead of a message or a reply when the session ends
+    private static final Message END_MESSAGE = new Message();
+    private static final int END_REPLY = -1;
+    // a few turns of a game, as the messages of a session waiting for its seat are queued meanwhile
+    static final int MAX_QUEUED_MESSAGES = 1024;
+    // the stale replies, those received after their request timed out, only add a few to the current one
+    static final int MAX_QUEUED_REPLIES = 64;
+
+    private final MultiplexedConnection connection;
+    private final int id;
+    private final boolean client;
+    private final ByteArrayOutputStream pendingBytes;
+    private final DataOutputStream pending;
+    private final BlockingQueue<Message> messages;
+    private final BlockingQueue<Integer> replies;
+    private int replyTimeout;
+    private boolean ended;
+    private volatile boolean endReceived;
+    private volatile boolean closed;
+
+    SessionCodec(MultiplexedConnection connection, int id, boolean client) {
+        this.connection = connection;
+        this.id = id;
+        this.client = client;
+        this.pendingBytes = new ByteArrayOutputStream();
+        this.pending = new DataOutputStream(pendingBytes);
+        this.messages = new LinkedBlockingQueue<>(MAX_QUEUED_MESSAGES + 1);
+        this.replies = new LinkedBlockingQueue<>(MAX_QUEUED_REPLIES + 1);
+        this.replyTimeout = 0;
+        this.ended = false;
+    }
+
+    int id() {
+        return id;
+    }
+
+    // false if the queue is full, the last place being kept for the end of the session
+    boolean receiveMessage(Message m) {
+        return messages.remainingCapacity() > 1 && messages.offer(m);
+    }
+
+    boolean receiveReply(int value) {
+        if (value == MultiplexedConnection.END_OF_SESSION) {
+            receiveEnd();
+            return true;
+        }
+        return replies.remainingCapacity() > 1 && replies.offer(value);
+    }
+
+    // whether the end of the session was received, or the server closed it
+    boolean isEnded() {
+        return endReceived;
+    }
+
+    // only once, as the server can close the session while the client ends it
+    synchronized void receiveEnd() {
+        if (endReceived) {
+            return;
+        }
+        endReceived = true;
+        messages.add(END_MESSAGE);
+        replies.add(END_REPLY);
+    }
+
+    @Override
+    public void write(Message m) throws IOException {
+        pending.writeInt(id);
+        BinaryCodec.writeMessage(pending, m);
+    }
+
+    @Override
+    public boolean read(Message m) throws IOException {
+        if (ended) {
+            return false;
+        }
+        try {
+            Message received = messages.take();
+            if (received == END_MESSAGE) {
+                ended = true;
+                return false;
+            }
+            m.copyFrom(received);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void writeReply(int value) throws IOException {
+        connection.writeReply(id, value);
+    }
+
+    @Override
+    public int readReply() throws IOException {
+        try {
+            Integer value = replyTimeout > 0 ? replies.poll(replyTimeout, TimeUnit.MILLISECONDS) : replies.take();
+            if (value == null) {
+                throw new SocketTimeoutException();
+            }
+            if (value == END_REPLY) {
+                replies.add(END_REPLY);
+                throw new EOFException();
+            }
+            return value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void setReplyTimeout(int timeout) {
+        replyTimeout = timeout;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (pendingBytes.size() > 0) {
+            connection.writeFrames(pendingBytes);
+            pendingBytes.reset();
+        }
+    }
+
+    /**
+     * Ends the session, on both sides of the connection.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (client) {
+            connection.removeSession(this);
+            pending.writeInt(id);
+            pending.writeByte(MultiplexedConnection.END_OF_SESSION);
+            flush();
+        } else {
+            connection.closeSession(this);
+            receiveEnd();
+            connection.writeReply(id, MultiplexedConnection.END_OF_SESSION);
+        }
+    }
+}
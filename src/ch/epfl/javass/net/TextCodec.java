@@ -0,0 +1,172 @@
+package ch.epfl.javass.net;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Original encoding of the protocol: one line of ASCII text per message,
+ * the numbers being written in base 16 and the names in base 64.
+ * A limited time budget is written as an extra argument of CHTR, CARD and CDLT, which older servers ignore.
+ * The lines are written and parsed in place in reused buffers.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class TextCodec implements MessageCodec {
+    private InputStream in;
+    private OutputStream out;
+    private TextLine inLine;
+    private TextLine outLine;
+
+    /**
+     * Constructor of the codec.
+     *
+     * @param in the input stream of the connection
+     * @param out the output stream of the connection
+     */
+    TextCodec(InputStream in, OutputStream out) {
+        this.in = in;
+        this.out = new BufferedOutputStream(out);
+        inLine = new TextLine();
+        outLine = new TextLine();
+    }
+
+    @Override
+    public void write(Message m) throws IOException {
+        TextLine line = outLine;
+        line.clear();
+        line.appendCommand(m.command);
+        line.appendSeparator(' ');
+        switch (m.command) {
+        case CHTR:
+            line.appendLong(m.hand);
+            line.appendSeparator(' ');
+            line.appendBoolean(m.canPass);
+            appendBudget(line, m.budget);
+            break;
+        case CARD:
+            line.appendLong(m.score);
+            line.appendSeparator(',');
+            line.appendLong(m.unplayedCards);
+            line.appendSeparator(',');
+            line.appendInt(m.trick);
+            line.appendSeparator(' ');
+            line.appendLong(m.hand);
+            appendBudget(line, m.budget);
+            break;
+        case CDLT:
+            line.appendInt(m.sequence);
+            appendBudget(line, m.budget);
+            break;
+        case PLRS:
+            line.appendInt(m.ordinal);
+            line.appendSeparator(' ');
+            for (int i = 0; i < m.names.length; i++) {
+                if (i > 0) {
+                    line.appendSeparator(',');
+                }
+                line.appendString(m.names[i]);
+            }
+            break;
+        case HAND:
+            line.appendLong(m.hand);
+            break;
+        case TRCK:
+            line.appendInt(m.trick);
+            break;
+        case SCOR:
+            line.appendLong(m.score);
+            break;
+        default: // TRMP, WINR
+            line.appendInt(m.ordinal);
+            break;
+        }
+        line.writeTo(out);
+    }
+
+    @Override
+    public boolean read(Message m) throws IOException {
+        TextLine line = inLine;
+        if (!line.readFrom(in)) {
+            return false;
+        }
+        m.command = line.parseCommand();
+        switch (m.command) {
+        case CHTR:
+            m.hand = line.parseLong();
+            m.canPass = line.parseBoolean();
+            m.budget = line.hasMore() ? line.parseInt() : 0;
+            break;
+        case CARD:
+            m.score = line.parseLong();
+            m.unplayedCards = line.parseLong();
+            m.trick = line.parseInt();
+            m.hand = line.parseLong();
+            m.budget = line.hasMore() ? line.parseInt() : 0;
+            break;
+        case CDLT:
+            m.sequence = line.parseInt();
+            m.budget = line.hasMore() ? line.parseInt() : 0;
+            break;
+        case PLRS:
+            m.ordinal = line.parseInt();
+            for (int i = 0; i < m.names.length; i++) {
+                m.names[i] = line.parseString();
+            }
+            break;
+        case HAND:
+            m.hand = line.parseLong();
+            break;
+        case TRCK:
+            m.trick = line.parseInt();
+            break;
+        case SCOR:
+            m.score = line.parseLong();
+            break;
+        default: // TRMP, WINR
+            m.ordinal = line.parseInt();
+            break;
+        }
+        return true;
+    }
+
+    @Override
+    public void writeReply(int value) throws IOException {
+        TextLine line = outLine;
+        line.clear();
+        line.appendInt(value);
+        line.writeTo(out);
+        out.flush();
+    }
+
+    @Override
+    public int readReply() throws IOException {
+        TextLine line = inLine;
+        if (!line.readFrom(in)) {
+            throw new EOFException();
+        }
+        return line.parseInt();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        in.close();
+    }
+
+    // the budget is only written when limited, for older servers
+    private static void appendBudget(TextLine line, int budget) {
+        if (budget > 0) {
+            line.appendSeparator(' ');
+            line.appendInt(budget);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.Preconditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Reusable buffer holding one line of the text encoding as ASCII bytes, in which the fields
+ * are written and parsed in place, with the same format as StringSerializer but without
+ * creating a string per field. Only the names, sent once per game, go through strings.
+ * A line read from a stream buffers what follows it, so it must always be read from the same stream.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class TextLine {
+    private static final int INITIAL_CAPACITY = 128;
+    private static final int INPUT_BUFFER_SIZE = 8192;
+    private static final JassCommand[] COMMANDS = JassCommand.values();
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(US_ASCII);
+    private static final byte[][] COMMAND_NAMES = new byte[COMMANDS.length][];
+    static {
+        for (JassCommand command : COMMANDS) {
+            COMMAND_NAMES[command.ordinal()] = command.name().getBytes(US_ASCII);
+        }
+    }
+    private static final byte[] TRUE = "true".getBytes(US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(US_ASCII);
+
+    private byte[] bytes;
+    private int length;
+    private int position;
+    // bytes read from the stream after the line, allocated on the first read
+    private byte[] input;
+    private int inputPosition;
+    private int inputLimit;
+    // false while a line is being read, and after a read failed before its end
+    private boolean complete;
+
+    /**
+     * Constructor of an empty line.
+     */
+    TextLine() {
+        bytes = new byte[INITIAL_CAPACITY];
+        length = 0;
+        position = 0;
+        input = null;
+        inputPosition = 0;
+        inputLimit = 0;
+        complete = true;
+    }
+
+    /**
+     * Empties the line, to write a new one.
+     */
+    void clear() {
+        length = 0;
+        position = 0;
+    }
+
+    /**
+     * Appends the name of a command.
+     *
+     * @param command the command
+     */
+    void appendCommand(JassCommand command) {
+        appendBytes(COMMAND_NAMES[command.ordinal()]);
+    }
+
+    /**
+     * Appends a separator between two fields.
+     *
+     * @param separator the separator, an ASCII character
+     */
+    void appendSeparator(char separator) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) separator;
+    }
+
+    /**
+     * Appends an int in base 16, as StringSerializer.serializeInt.
+     *
+     * @param n the int
+     */
+    void appendInt(int n) {
+        appendHex(Integer.toUnsignedLong(n));
+    }
+
+    /**
+     * Appends a long in base 16, as StringSerializer.serializeLong.
+     *
+     * @param n the long
+     */
+    void appendLong(long n) {
+        appendHex(n);
+    }
+
+    /**
+     * Appends a boolean, as StringSerializer.serializeBoolean.
+     *
+     * @param b the boolean
+     */
+    void appendBoolean(boolean b) {
+        appendBytes(b ? TRUE : FALSE);
+    }
+
+    /**
+     * Appends a string in base 64, as StringSerializer.serializeString.
+     *
+     * @param s the string
+     */
+    void appendString(String s) {
+        appendBytes(StringSerializer.serializeString(s).getBytes(US_ASCII));
+    }
+
+    /**
+     * Writes the line followed by a line break, without flushing it.
+     *
+     * @param out the output stream
+     * @throws IOException in case of I/O error
+     */
+    void writeTo(OutputStream out) throws IOException {
+        appendSeparator('\n');
+        out.write(bytes, 0, length);
+    }
+
+    /**
+     * Replaces the line by the next one of an input stream, without its line break,
+     * and prepares to parse it from the start.
+     * If the stream throws, for instance when a read times out, the part of the line already
+     * read is kept, and the next call completes the line instead of starting a new one.
+     *
+     * @param in the input stream
+     * @return false if the stream ended before a new line
+     * @throws IOException in case of I/O error
+     */
+    boolean readFrom(InputStream in) throws IOException {
+        if (complete) {
+            clear();
+            complete = false;
+        }
+        position = 0;
+        if (input == null) {
+            input = new byte[INPUT_BUFFER_SIZE];
+        }
+        while (true) {
+            if (inputPosition == inputLimit) {
+                int n = in.read(input, 0, input.length);
+                if (n < 0) {
+                    complete = true;
+                    if (length == 0) {
+                        return false;
+                    }
+                    break;
+                }
+                inputPosition = 0;
+                inputLimit = n;
+            }
+            int start = inputPosition;
+            while (inputPosition < inputLimit && input[inputPosition] != '\n') {
+                inputPosition++;
+            }
+            appendBytes(input, start, inputPosition - start);
+            if (inputPosition < inputLimit) {
+                inputPosition++;
+                break;
+            }
+        }
+        complete = true;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether fields remain to be parsed.
+     *
+     * @return whether the end of the line is not reached
+     */
+    boolean hasMore() {
+        return position < length;
+    }
+
+    /**
+     * Parses the name of a command, and skips the separator after it.
+     *
+     * @return the command
+     * @throws IllegalArgumentException if the field is not the name of a command
+     */
+    JassCommand parseCommand() {
+        int end = fieldEnd();
+        for (JassCommand command : COMMANDS) {
+            if (fieldEquals(COMMAND_NAMES[command.ordinal()], end)) {
+                position = end + 1;
+                return command;
+            }
+        }
+        throw new IllegalArgumentException();
+    }
+
+    /**
+     * Parses an int in base 16, as StringSerializer.deserializeInt, and skips the separator after it.
+     *
+     * @return the int
+     * @throws IllegalArgumentException if the field is not an unsigned int in base 16
+     */
+    int parseInt() {
+        return (int) parseHex(Integer.BYTES * 2);
+    }
+
+    /**
+     * Parses a long in base 16, as StringSerializer.deserializeLong, and skips the separator after it.
+     *
+     * @return the long
+     * @throws IllegalArgumentException if the field is not an unsigned long in base 16
+     */
+    long parseLong() {
+        return parseHex(Long.BYTES * 2);
+    }
+
+    /**
+     * Parses a boolean, as StringSerializer.deserializeBoolean, and skips the separator after it.
+     *
+     * @return the boolean, true only if the field is "true" regardless of case
+     */
+    boolean parseBoolean() {
+        int end = fieldEnd();
+        boolean b = end - position == TRUE.length;
+        for (int i = 0; b && i < TRUE.length; i++) {
+            b = (bytes[position + i] | 0x20) == TRUE[i];
+        }
+        position = end + 1;
+        return b;
+    }
+
+    /**
+     * Parses a string in base 64, as StringSerializer.deserializeString, and skips the separator after it.
+     *
+     * @return the string
+     * @throws IllegalArgumentException if the field is not in base 64
+     */
+    String parseString() {
+        int end = fieldEnd();
+        String s = new String(bytes, position, end - position, US_ASCII);
+        position = end + 1;
+        return StringSerializer.deserializeString(s);
+    }
+
+    /**
+     * Gives the line as a string, mostly for debugging.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, US_ASCII);
+    }
+
+    // the digits are written from the least significant one, then moved into place
+    private void appendHex(long n) {
+        int digits = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(n) + 3) / 4);
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = HEX_DIGITS[(int) (n & 0xF)];
+            n >>>= 4;
+        }
+        length += digits;
+    }
+
+    private long parseHex(int maxDigits) {
+        int end = fieldEnd();
+        Preconditions.checkArgument(end > position && end - position <= maxDigits);
+        long n = 0;
+        for (int i = position; i < end; i++) {
+            int digit = Character.digit(bytes[i], 16);
+            Preconditions.checkArgument(digit >= 0);
+            n = n << 4 | digit;
+        }
+        position = end + 1;
+        return n;
+    }
+
+    // gives the index of the separator ending the current field, or the length of the line
+    private int fieldEnd() {
+        int end = position;
+        while (end < length && bytes[end] != ' ' && bytes[end] != ',') {
+            end++;
+        }
+        return end;
+    }
+
+    private boolean fieldEquals(byte[] expected, int end) {
+        if (end - position != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (bytes[position + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendBytes(byte[] b) {
+        appendBytes(b, 0, b.length);
+    }
+
+    private void appendBytes(byte[] b, int offset, int count) {
+        ensureCapacity(count);
+        System.arraycopy(b, offset, bytes, length, count);
+        length += count;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.PackedCardSet;
+import ch.epfl.javass.jass.PackedTrick;
+
+/**
+ * State of the turn as known from the messages exchanged so far, tracked the same way on both
+ * sides of a connection, so that a CDLT request can stand for the CARD request it would be.
+ * The unplayed cards are reset when the trump of a new turn is known, and the cards of every
+ * trick received are removed from them.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class TrackedState {
+    private long score;
+    private long unplayedCards;
+    private int trick;
+    private long hand;
+    // whether a turn started, or a full CARD was exchanged, since the tracking began
+    private boolean known;
+    // the number of CARD and CDLT requests exchanged
+    private int requests;
+
+    TrackedState() {
+        score = 0;
+        unplayedCards = PackedCardSet.ALL_CARDS;
+        trick = 0;
+        hand = PackedCardSet.EMPTY;
+        known = false;
+        requests = 0;
+    }
+
+    /**
+     * Updates the state with a message, which is a CDLT only if it was already expanded.
+     *
+     * @param m the message written or read
+     */
+    void update(Message m) {
+        switch (m.command) {
+        case HAND:
+            hand = m.hand;
+            break;
+        case TRMP:
+            unplayedCards = PackedCardSet.ALL_CARDS;
+            known = true;
+            break;
+        case TRCK:
+            trick = m.trick;
+            for (int i = 0; i < PackedTrick.size(trick); i++) {
+                unplayedCards = PackedCardSet.remove(unplayedCards, PackedTrick.card(trick, i));
+            }
+            break;
+        case SCOR:
+            score = m.score;
+            break;
+        case CARD:
+            score = m.score;
+            unplayedCards = m.unplayedCards;
+            trick = m.trick;
+            hand = m.hand;
+            known = true;
+            requests++;
+            break;
+        case CDLT:
+            requests++;
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Tells whether a CARD message holds exactly the tracked state, so that it can be replaced by a CDLT.
+     *
+     * @param m the CARD message
+     * @return whether the state of the message is the tracked one
+     */
+    boolean matches(Message m) {
+        return known && m.score == score && m.unplayedCards == unplayedCards
+                && m.trick == trick && m.hand == hand;
+    }
+
+    /**
+     * Gives the sequence number of the next CARD or CDLT request.
+     *
+     * @return the number of requests exchanged so far
+     */
+    int requests() {
+        return requests;
+    }
+
+    /**
+     * Expands a CDLT message into the CARD message it stands for, keeping its budget.
+     *
+     * @param m the CDLT message
+     * @return false if the state is not known or the sequence number does not match,
+     *         in which case the message is left untouched
+     */
+    boolean expand(Message m) {
+        if (!known || m.sequence != requests) {
+            return false;
+        }
+        m.command = JassCommand.CARD;
+        m.score = score;
+        m.unplayedCards = unplayedCards;
+        m.trick = trick;
+        m.hand = hand;
+        return true;
+    }
+}
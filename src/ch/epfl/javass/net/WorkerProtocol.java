@@ -0,0 +1,107 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.SearchStatistics;
+import ch.epfl.javass.jass.TurnState;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary protocol between a DistributedMctsPlayer and its MctsWorkerServers.
+ * A connection starts with the MAGIC bytes sent by the coordinator, then carries search requests,
+ * each answered in order by the statistics of the search.
+ * A request is made of the ordinal of the player on one byte, the packed score, unplayed cards,
+ * trick and hand of the state to search, the number of iterations, the time budget in milliseconds
+ * (0 if unlimited) and the seed of the search. A reply is made of the number of explored cards
+ * on one byte, followed by the packed card, number of turns and total points of each card.
+ *
+ * @author Pablo Stebler (302328)
+ * @author Marc Lundwall (297665)
+ */
+final class WorkerProtocol {
+    /**
+     * Bytes starting a connection to a worker.
+     */
+    static final byte[] MAGIC = { (byte) 0xBA, 'J', 'W', 1 };
+
+    private WorkerProtocol() {}
+
+    /**
+     * A search request, reused from request to request.
+     */
+    static final class Request {
+        PlayerId ownId;
+        TurnState state;
+        CardSet hand;
+        int iterations;
+        int budget;
+        long rngSeed;
+    }
+
+    static void writeRequest(DataOutputStream out, Request r) throws IOException {
+        out.writeByte(r.ownId.ordinal());
+        out.writeLong(r.state.packedScore());
+        out.writeLong(r.state.packedUnplayedCards());
+        out.writeInt(r.state.packedTrick());
+        out.writeLong(r.hand.packed());
+        out.writeInt(r.iterations);
+        out.writeInt(r.budget);
+        out.writeLong(r.rngSeed);
+    }
+
+    /**
+     * Reads a request.
+     *
+     * @return false if the connection was closed before a new request
+     * @throws IllegalArgumentException if the request cannot be decoded
+     */
+    static boolean readRequest(DataInputStream in, Request r) throws IOException {
+        int ordinal = in.read();
+        if (ordinal < 0) {
+            return false;
+        }
+        Preconditions.checkArgument(ordinal < PlayerId.COUNT);
+        r.ownId = PlayerId.ALL.get(ordinal);
+        long score = in.readLong();
+        long unplayedCards = in.readLong();
+        int trick = in.readInt();
+        r.state = TurnState.ofPackedComponents(score, unplayedCards, trick);
+        r.hand = CardSet.ofPacked(in.readLong());
+        r.iterations = in.readInt();
+        r.budget = in.readInt();
+        r.rngSeed = in.readLong();
+        return true;
+    }
+
+    static void writeStatistics(DataOutputStream out, SearchStatistics statistics) throws IOException {
+        CardSet cards = statistics.cards();
+        out.writeByte(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            out.writeByte(card.packed());
+            out.writeInt(statistics.turns(card));
+            out.writeDouble(statistics.totalPoints(card));
+        }
+    }
+
+    /**
+     * Reads the statistics of a search.
+     *
+     * @return the statistics, empty if no card was explored
+     * @throws IllegalArgumentException if the statistics cannot be decoded
+     */
+    static SearchStatistics readStatistics(DataInputStream in) throws IOException {
+        int count = in.readUnsignedByte();
+        SearchStatistics statistics = SearchStatistics.EMPTY;
+        for (int i = 0; i < count; i++) {
+            Card card = Card.ofPacked(in.readUnsignedByte());
+            statistics = statistics.merge(SearchStatistics.ofCard(card, in.readInt(), in.readDouble()));
+        }
+        return statistics;
+    }
+}
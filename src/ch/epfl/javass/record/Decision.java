@@ -0,0 +1,82 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TurnState;
+
+/**
+ * A card played during a recorded game, with the situation in which the player chose it.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Decision {
+    private final int index;
+    private final PlayerId player;
+    private final TurnState state;
+    private final CardSet hand;
+    private final Card card;
+
+    /**
+     * Constructor of a decision.
+     *
+     * @param index the index of the card in the game, in the order they were played
+     * @param player the player who played the card
+     * @param state the state of the turn before the card was played
+     * @param hand the hand of the player before the card was played
+     * @param card the card played
+     */
+    public Decision(int index, PlayerId player, TurnState state, CardSet hand, Card card) {
+        this.index = index;
+        this.player = player;
+        this.state = state;
+        this.hand = hand;
+        this.card = card;
+    }
+
+    /**
+     * Getter for the index of the card in the game.
+     *
+     * @return the index
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Getter for the player who played the card.
+     *
+     * @return the player
+     */
+    public PlayerId player() {
+        return player;
+    }
+
+    /**
+     * Getter for the state of the turn before the card was played.
+     *
+     * @return the state of the turn
+     */
+    public TurnState state() {
+        return state;
+    }
+
+    /**
+     * Getter for the hand of the player before the card was played.
+     *
+     * @return the hand
+     */
+    public CardSet hand() {
+        return hand;
+    }
+
+    /**
+     * Getter for the card played.
+     *
+     * @return the card
+     */
+    public Card card() {
+        return card;
+    }
+}
@@ -0,0 +1,74 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.jass.Card;
+
+/**
+ * A recorded decision on which another player would have played differently.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Deviation {
+    private final long rngSeed;
+    private final Decision decision;
+    private final Card newCard;
+    private final double pointsGained;
+
+    /**
+     * Constructor of a deviation.
+     *
+     * @param rngSeed the seed of the recorded game
+     * @param decision the recorded decision
+     * @param newCard the card the other player would have played
+     * @param pointsGained the expected turn points won by playing the new card instead of the recorded one,
+     *                     as estimated by the other player
+     */
+    public Deviation(long rngSeed, Decision decision, Card newCard, double pointsGained) {
+        this.rngSeed = rngSeed;
+        this.decision = decision;
+        this.newCard = newCard;
+        this.pointsGained = pointsGained;
+    }
+
+    /**
+     * Getter for the seed of the recorded game.
+     *
+     * @return the seed
+     */
+    public long rngSeed() {
+        return rngSeed;
+    }
+
+    /**
+     * Getter for the recorded decision.
+     *
+     * @return the decision
+     */
+    public Decision decision() {
+        return decision;
+    }
+
+    /**
+     * Getter for the card the other player would have played.
+     *
+     * @return the new card
+     */
+    public Card newCard() {
+        return newCard;
+    }
+
+    /**
+     * Getter for the expected turn points won by playing the new card instead of the recorded one.
+     *
+     * @return the expected points, according to the other player
+     */
+    public double pointsGained() {
+        return pointsGained;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d #%d %s : %s -> %s (%+.1f)", rngSeed, decision.index(), decision.player(),
+                decision.card(), newCard, pointsGained);
+    }
+}
@@ -0,0 +1,184 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card.Color;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Iterates over the records of a log file written by a GameRecordWriter.
+ * The file is memory-mapped, and the reader itself is the current record:
+ * no object is allocated per record.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class GameRecordReader implements AutoCloseable {
+    // large files are mapped window by window, a record never spanning two windows
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long nextRecord;
+
+    // offsets of the current record in the window
+    private int record;
+    private int turns;
+    private int cardsOffset;
+    private int cardCount;
+
+    /**
+     * Constructor of the reader, positioned before the first record.
+     *
+     * @param path the log file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public GameRecordReader(Path path) throws IOException {
+        channel = FileChannel.open(path, READ);
+        fileSize = channel.size();
+        nextRecord = 0;
+        record = -1;
+        map(0);
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return true if there is a next record, false if the end of the file is reached
+     * @throws IOException if a part of the file cannot be mapped
+     * @throws IllegalStateException if the file ends in the middle of a record
+     */
+    public boolean next() throws IOException {
+        if (nextRecord >= fileSize) {
+            record = -1;
+            return false;
+        }
+        if (nextRecord + GameRecordWriter.HEADER_SIZE > windowStart + window.limit()) {
+            map(nextRecord);
+        }
+        int size = window.getInt((int) (nextRecord - windowStart));
+        long end = nextRecord + GameRecordWriter.HEADER_SIZE + size;
+        if (end > fileSize) {
+            throw new IllegalStateException();
+        }
+        if (end > windowStart + window.limit()) {
+            map(nextRecord);
+        }
+        record = (int) (nextRecord - windowStart) + GameRecordWriter.HEADER_SIZE;
+        turns = Byte.toUnsignedInt(window.get(record + Long.BYTES));
+        int cardCountOffset = record + Long.BYTES + 1 + turns;
+        cardCount = Short.toUnsignedInt(window.getShort(cardCountOffset));
+        cardsOffset = cardCountOffset + Short.BYTES;
+        nextRecord = end;
+        return true;
+    }
+
+    /**
+     * Gives the seed of the current game.
+     *
+     * @return the seed
+     */
+    public long rngSeed() {
+        checkRecord();
+        return window.getLong(record);
+    }
+
+    /**
+     * Gives the number of turns of the current game, including the unfinished last one.
+     *
+     * @return the number of turns
+     */
+    public int turns() {
+        checkRecord();
+        return turns;
+    }
+
+    /**
+     * Gives the trump of a turn of the current game.
+     *
+     * @param turn the index of the turn
+     * @return the trump color
+     */
+    public Color trump(int turn) {
+        return Color.ALL.get(trumpByte(turn) & ~GameRecordWriter.PASSED_BIT);
+    }
+
+    /**
+     * Tells whether the first player asked to choose the trump passed, during a turn of the current game.
+     *
+     * @param turn the index of the turn
+     * @return true only if the trump was chosen by the teammate of the first player asked
+     */
+    public boolean passed(int turn) {
+        return (trumpByte(turn) & GameRecordWriter.PASSED_BIT) != 0;
+    }
+
+    /**
+     * Gives the number of cards played during the current game.
+     *
+     * @return the number of cards
+     */
+    public int cardCount() {
+        checkRecord();
+        return cardCount;
+    }
+
+    /**
+     * Gives a card played during the current game.
+     *
+     * @param index the index of the card, in the order they were played
+     * @return the packed card
+     */
+    public int packedCard(int index) {
+        checkRecord();
+        Preconditions.checkIndex(index, cardCount);
+        int bit = index * GameRecordWriter.BITS_PER_CARD;
+        int offset = cardsOffset + bit / Byte.SIZE;
+        int shift = 2 * Byte.SIZE - GameRecordWriter.BITS_PER_CARD - bit % Byte.SIZE;
+        int bits = Byte.toUnsignedInt(window.get(offset)) << Byte.SIZE;
+        if (shift < Byte.SIZE) {
+            bits |= Byte.toUnsignedInt(window.get(offset + 1));
+        }
+        return (bits >>> shift) & ((1 << GameRecordWriter.BITS_PER_CARD) - 1);
+    }
+
+    /**
+     * Gives the final score of the current game.
+     *
+     * @return the packed score
+     */
+    public long packedScore() {
+        checkRecord();
+        return window.getLong(cardsOffset + GameRecordWriter.packedCardsSize(cardCount));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int trumpByte(int turn) {
+        checkRecord();
+        Preconditions.checkIndex(turn, turns);
+        return window.get(record + Long.BYTES + 1 + turn);
+    }
+
+    private void checkRecord() {
+        if (record < 0) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private void map(long start) throws IOException {
+        long size = Math.min(fileSize - start, WINDOW_SIZE);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+    }
+}
@@ -0,0 +1,87 @@
+package ch.epfl.javass.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Appends game records to a log file, which can be shared by several games played at the same time.
+ *
+ * <p>Every record has the following big-endian layout:
+ * <pre>
+ * int    length of the rest of the record, in bytes
+ * long   seed of the game
+ * byte   number of turns t
+ * t * byte   trump of each turn: ordinal of the color, plus 4 if the first player asked passed
+ * short  number of cards played n
+ * ceil(6n / 8) * byte   packed cards in the order they were played, 6 bits each, most significant bit first
+ * long   final packed score
+ * </pre>
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class GameRecordWriter implements AutoCloseable {
+    static final int HEADER_SIZE = Integer.BYTES;
+    static final int PASSED_BIT = 0b100;
+    static final int BITS_PER_CARD = 6;
+
+    private final FileChannel channel;
+
+    /**
+     * Constructor of the writer, creating the file if it does not exist yet.
+     *
+     * @param path the log file, to which the records are appended
+     * @throws IOException if the file cannot be opened
+     */
+    public GameRecordWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, CREATE, WRITE, APPEND);
+    }
+
+    /**
+     * Creates a recorder that will append the game it observes to this log file once it is over.
+     *
+     * @return a new recorder, to be given to a single JassGame
+     */
+    public GameRecorder newRecorder() {
+        return new GameRecorder(this);
+    }
+
+    /**
+     * Gives the size of a record, without its length header.
+     *
+     * @param turns the number of turns of the game
+     * @param cards the number of cards played during the game
+     * @return the size in bytes
+     */
+    static int recordSize(int turns, int cards) {
+        return Long.BYTES + 1 + turns + Short.BYTES + packedCardsSize(cards) + Long.BYTES;
+    }
+
+    /**
+     * Gives the number of bytes used by the packed cards.
+     *
+     * @param cards the number of cards
+     * @return the size in bytes
+     */
+    static int packedCardsSize(int cards) {
+        return (cards * BITS_PER_CARD + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    // appends a complete record, with its header already written, in a single write
+    synchronized void write(ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
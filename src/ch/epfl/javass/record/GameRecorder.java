@@ -0,0 +1,93 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.GameListener;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Listener recording a single game, appended to the log file of its writer when the game is over.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class GameRecorder implements GameListener {
+    private static final int INITIAL_TURNS = 16;
+    private static final int INITIAL_CARDS = 16 * 36;
+
+    private final GameRecordWriter writer;
+    private long rngSeed;
+    private byte[] trumps;
+    private int turns;
+    private byte[] cards;
+    private int cardCount;
+
+    // constructed by the writer, see GameRecordWriter.newRecorder
+    GameRecorder(GameRecordWriter writer) {
+        this.writer = writer;
+        trumps = new byte[INITIAL_TURNS];
+        cards = new byte[INITIAL_CARDS];
+    }
+
+    @Override
+    public void gameStarted(long rngSeed) {
+        this.rngSeed = rngSeed;
+        turns = 0;
+        cardCount = 0;
+    }
+
+    @Override
+    public void trumpChosen(PlayerId chooser, Color trump, boolean passed) {
+        if (turns == trumps.length) {
+            trumps = Arrays.copyOf(trumps, 2 * turns);
+        }
+        trumps[turns++] = (byte) (trump.ordinal() | (passed ? GameRecordWriter.PASSED_BIT : 0));
+    }
+
+    @Override
+    public void cardPlayed(PlayerId player, Card card) {
+        if (cardCount == cards.length) {
+            cards = Arrays.copyOf(cards, 2 * cardCount);
+        }
+        cards[cardCount++] = (byte) card.packed();
+    }
+
+    @Override
+    public void gameOver(Score score, TeamId winningTeam) {
+        int size = GameRecordWriter.recordSize(turns, cardCount);
+        ByteBuffer record = ByteBuffer.allocate(GameRecordWriter.HEADER_SIZE + size);
+        record.putInt(size);
+        record.putLong(rngSeed);
+        record.put((byte) turns);
+        record.put(trumps, 0, turns);
+        record.putShort((short) cardCount);
+        // the cards are accumulated in a bit buffer, and flushed one byte at a time
+        int bits = 0;
+        int pending = 0;
+        for (int i = 0; i < cardCount; i++) {
+            bits = (bits << GameRecordWriter.BITS_PER_CARD) | cards[i];
+            pending += GameRecordWriter.BITS_PER_CARD;
+            while (pending >= Byte.SIZE) {
+                pending -= Byte.SIZE;
+                record.put((byte) (bits >>> pending));
+            }
+        }
+        if (pending > 0) {
+            record.put((byte) (bits << (Byte.SIZE - pending)));
+        }
+        record.putLong(score.packed());
+        record.flip();
+        try {
+            writer.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TurnState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a recorded game, reconstructing the situation of every decision.
+ * The deals are reproduced by a JassGame with the recorded seed, whose players repeat the recorded choices.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class GameReplay {
+    private final RecordedGame game;
+    private final List<Decision> decisions;
+    private int turn;
+    private int cardIndex;
+
+    // private constructor, see decisions
+    private GameReplay(RecordedGame game) {
+        this.game = game;
+        this.decisions = new ArrayList<>(game.cardCount());
+        this.turn = 0;
+        this.cardIndex = 0;
+    }
+
+    /**
+     * Replays a recorded game.
+     *
+     * @param game the recorded game
+     * @return all the cards played during the game, with the situation in which they were chosen
+     * @throws IllegalStateException if the record does not match the game its seed produces
+     */
+    public static List<Decision> decisions(RecordedGame game) {
+        GameReplay replay = new GameReplay(game);
+        Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+        Map<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            players.put(playerId, replay.new ScriptedPlayer(playerId));
+            playerNames.put(playerId, playerId.name());
+        }
+        JassGame jassGame = new JassGame(game.rngSeed(), players, playerNames);
+        while (!jassGame.isGameOver()) {
+            jassGame.advanceToEndOfNextTrick();
+        }
+        if (replay.cardIndex != game.cardCount() || replay.turn != game.turns()) {
+            throw new IllegalStateException();
+        }
+        return Collections.unmodifiableList(replay.decisions);
+    }
+
+    // player repeating the recorded choices, and remembering the situation of each of its cards
+    private final class ScriptedPlayer implements Player {
+        private final PlayerId ownId;
+
+        private ScriptedPlayer(PlayerId ownId) {
+            this.ownId = ownId;
+        }
+
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            if (cardIndex >= game.cardCount()) {
+                throw new IllegalStateException();
+            }
+            Card card = game.card(cardIndex);
+            if (!state.trick().playableCards(hand).contains(card)) {
+                throw new IllegalStateException();
+            }
+            decisions.add(new Decision(cardIndex, ownId, state, hand, card));
+            cardIndex++;
+            return card;
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            if (turn >= game.turns()) {
+                throw new IllegalStateException();
+            }
+            if (canPass && game.passed(turn)) {
+                return null;
+            }
+            return game.trump(turn++);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Score;
+
+/**
+ * Immutable copy of a game record, which unlike the reader can be kept and shared between threads.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class RecordedGame {
+    private final long rngSeed;
+    private final byte[] trumps;
+    private final byte[] cards;
+    private final long packedScore;
+
+    private RecordedGame(long rngSeed, byte[] trumps, byte[] cards, long packedScore) {
+        this.rngSeed = rngSeed;
+        this.trumps = trumps;
+        this.cards = cards;
+        this.packedScore = packedScore;
+    }
+
+    /**
+     * Copies the current record of a reader.
+     *
+     * @param reader the reader, positioned on a record
+     * @return the copy of the record
+     * @throws IllegalStateException if the reader is not positioned on a record
+     */
+    public static RecordedGame copyOf(GameRecordReader reader) {
+        byte[] trumps = new byte[reader.turns()];
+        for (int t = 0; t < trumps.length; t++) {
+            trumps[t] = (byte) (reader.trump(t).ordinal() | (reader.passed(t) ? GameRecordWriter.PASSED_BIT : 0));
+        }
+        byte[] cards = new byte[reader.cardCount()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) reader.packedCard(i);
+        }
+        return new RecordedGame(reader.rngSeed(), trumps, cards, reader.packedScore());
+    }
+
+    /**
+     * Gives the seed of the game.
+     *
+     * @return the seed
+     */
+    public long rngSeed() {
+        return rngSeed;
+    }
+
+    /**
+     * Gives the number of turns of the game, including the unfinished last one.
+     *
+     * @return the number of turns
+     */
+    public int turns() {
+        return trumps.length;
+    }
+
+    /**
+     * Gives the trump of a turn.
+     *
+     * @param turn the index of the turn
+     * @return the trump color
+     */
+    public Color trump(int turn) {
+        return Color.ALL.get(trumps[Preconditions.checkIndex(turn, trumps.length)] & ~GameRecordWriter.PASSED_BIT);
+    }
+
+    /**
+     * Tells whether the first player asked to choose the trump passed during a turn.
+     *
+     * @param turn the index of the turn
+     * @return true only if the trump was chosen by the teammate of the first player asked
+     */
+    public boolean passed(int turn) {
+        return (trumps[Preconditions.checkIndex(turn, trumps.length)] & GameRecordWriter.PASSED_BIT) != 0;
+    }
+
+    /**
+     * Gives the number of cards played during the game.
+     *
+     * @return the number of cards
+     */
+    public int cardCount() {
+        return cards.length;
+    }
+
+    /**
+     * Gives a card played during the game.
+     *
+     * @param index the index of the card, in the order they were played
+     * @return the card
+     */
+    public Card card(int index) {
+        return Card.ofPacked(cards[Preconditions.checkIndex(index, cards.length)]);
+    }
+
+    /**
+     * Gives the final score of the game.
+     *
+     * @return the final score
+     */
+    public Score score() {
+        return Score.ofPacked(packedScore);
+    }
+}
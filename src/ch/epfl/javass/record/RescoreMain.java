@@ -0,0 +1,39 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.tournament.PlayerConfig;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Main class to re-evaluate recorded games with another player configuration, without graphical interface.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class RescoreMain {
+    private RescoreMain() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 2) {
+            System.err.println("Utilisation: java ch.epfl.javass.record.RescoreMain <fichier> <nom>:<iterations>[:<exploration>]");
+            System.exit(1);
+        }
+        List<RecordedGame> games = new ArrayList<>();
+        try (GameRecordReader reader = new GameRecordReader(Paths.get(args[0]))) {
+            while (reader.next()) {
+                games.add(RecordedGame.copyOf(reader));
+            }
+        }
+        Rescorer rescorer = new Rescorer(PlayerConfig.parse(args[1]));
+        List<Deviation> deviations = rescorer.rescoreAll(games, Runtime.getRuntime().availableProcessors());
+        double totalGained = 0;
+        for (Deviation deviation : deviations) {
+            System.out.println(deviation);
+            totalGained += deviation.pointsGained();
+        }
+        System.out.printf("%d parties, %d déviations, %+.1f points espérés%n", games.size(), deviations.size(), totalGained);
+    }
+}
@@ -0,0 +1,86 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.SearchStatistics;
+import ch.epfl.javass.tournament.PlayerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Re-evaluates the decisions of recorded games with another player configuration,
+ * reporting where it would have played differently.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Rescorer {
+    private final PlayerConfig config;
+
+    /**
+     * Constructor of the rescorer.
+     *
+     * @param config the configuration of the player re-evaluating the decisions
+     */
+    public Rescorer(PlayerConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Re-evaluates all the decisions of a recorded game.
+     * The seeds of the players are derived from the seed of the game, so that the result is reproducible.
+     *
+     * @param game the recorded game
+     * @return the decisions on which the player would have played differently, in the order they were played
+     * @throws IllegalStateException if the record does not match the game its seed produces
+     */
+    public List<Deviation> rescore(RecordedGame game) {
+        List<Deviation> deviations = new ArrayList<>();
+        SplittableRandom rng = new SplittableRandom(game.rngSeed());
+        for (Decision decision : GameReplay.decisions(game)) {
+            MctsPlayer player = config.newPlayer(decision.player(), rng.nextLong());
+            SearchStatistics statistics = player.statistics(decision.state(), decision.hand());
+            Card newCard = statistics.bestCard();
+            if (!newCard.equals(decision.card())) {
+                double pointsGained = statistics.averagePoints(newCard) - statistics.averagePoints(decision.card());
+                deviations.add(new Deviation(game.rngSeed(), decision, newCard, pointsGained));
+            }
+        }
+        return deviations;
+    }
+
+    /**
+     * Re-evaluates the decisions of many recorded games, several games at a time.
+     *
+     * @param games the recorded games
+     * @param threads the number of games re-evaluated simultaneously
+     * @return the deviations of all games, in the order of the games
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the results
+     */
+    public List<Deviation> rescoreAll(List<RecordedGame> games, int threads) throws InterruptedException {
+        Preconditions.checkArgument(threads > 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Deviation>>> results = new ArrayList<>();
+            for (RecordedGame game : games) {
+                results.add(executor.submit(() -> rescore(game)));
+            }
+            List<Deviation> deviations = new ArrayList<>();
+            for (Future<List<Deviation>> result : results) {
+                deviations.addAll(result.get());
+            }
+            return deviations;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
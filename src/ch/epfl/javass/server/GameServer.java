@@ -0,0 +1,165 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server playing many tables at the same time on a bounded pool of threads.
+ * The number of open tables, waiting or running, is bounded too: opening a table blocks, or fails
+ * when trying, while the server is saturated, which holds back the clients instead of queueing
+ * games without limit.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class GameServer {
+    private final ExecutorService executor;
+    private final Semaphore freeTables;
+    private final Map<Integer, Table> tables;
+    private final AtomicInteger nextTableId;
+    private final AtomicLong finishedTables;
+    private final MetricsExporter exporter;
+
+    /**
+     * Constructor of the server.
+     *
+     * @param threads the number of tables played simultaneously
+     * @param maxTables the maximal number of open tables, at least the number of threads
+     * @throws IllegalArgumentException if the number of threads is not positive or exceeds the
+     *         maximal number of tables
+     */
+    public GameServer(int threads, int maxTables) {
+        this(threads, maxTables, MetricsExporter.NONE);
+    }
+
+    /**
+     * Constructor of the server, exporting the metrics of every table once it is played.
+     *
+     * @param threads the number of tables played simultaneously
+     * @param maxTables the maximal number of open tables, at least the number of threads
+     * @param exporter the exporter of the metrics of the tables
+     * @throws IllegalArgumentException if the number of threads is not positive or exceeds the
+     *         maximal number of tables
+     */
+    public GameServer(int threads, int maxTables, MetricsExporter exporter) {
+        Preconditions.checkArgument(threads > 0 && maxTables >= threads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "table-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.freeTables = new Semaphore(maxTables);
+        this.tables = new ConcurrentHashMap<>();
+        this.nextTableId = new AtomicInteger();
+        this.finishedTables = new AtomicLong();
+        this.exporter = exporter;
+    }
+
+    /**
+     * Opens a table, waiting until the server can accept it.
+     *
+     * @param rngSeed the seed of the game of the table
+     * @param players the players of the table
+     * @param playerNames the names of the players
+     * @return the table opened
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public Table open(long rngSeed, Map<PlayerId, Player> players, Map<PlayerId, String> playerNames)
+            throws InterruptedException {
+        freeTables.acquire();
+        return submit(rngSeed, players, playerNames);
+    }
+
+    /**
+     * Opens a table if the server can accept it immediately.
+     *
+     * @param rngSeed the seed of the game of the table
+     * @param players the players of the table
+     * @param playerNames the names of the players
+     * @return the table opened, or null if the server is saturated
+     */
+    public Table tryOpen(long rngSeed, Map<PlayerId, Player> players, Map<PlayerId, String> playerNames) {
+        if (!freeTables.tryAcquire()) {
+            return null;
+        }
+        return submit(rngSeed, players, playerNames);
+    }
+
+    /**
+     * Gives the open tables, waiting or running.
+     *
+     * @return an unmodifiable view of the open tables, by identifier
+     */
+    public Map<Integer, Table> tables() {
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * Gives the number of tables which can still be opened without waiting.
+     *
+     * @return the number of free tables
+     */
+    public int freeTables() {
+        return freeTables.availablePermits();
+    }
+
+    /**
+     * Gives the number of tables closed since the start of the server, whatever their final state.
+     *
+     * @return the number of closed tables
+     */
+    public long finishedTables() {
+        return finishedTables.get();
+    }
+
+    /**
+     * Cancels all the open tables and stops the server, waiting for the running tables to stop.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        for (Table table : tables.values()) {
+            table.cancel();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    private Table submit(long rngSeed, Map<PlayerId, Player> players, Map<PlayerId, String> playerNames) {
+        Table table = new Table(nextTableId.getAndIncrement(), rngSeed, players, playerNames);
+        tables.put(table.id(), table);
+        try {
+            executor.execute(() -> {
+                try {
+                    table.play();
+                    exporter.export(table, table.metrics().snapshot());
+                } finally {
+                    release(table);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            table.finishCancelled();
+            release(table);
+        }
+        return table;
+    }
+
+    private void release(Table table) {
+        tables.remove(table.id());
+        finishedTables.incrementAndGet();
+        freeTables.release();
+    }
+}
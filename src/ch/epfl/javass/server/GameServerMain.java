@@ -0,0 +1,76 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.tournament.PlayerConfig;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Main class to play many tables of simulated players on a game server, without graphical interface.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class GameServerMain {
+    private GameServerMain() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 5) {
+            System.err.println("Utilisation: java ch.epfl.javass.server.GameServerMain <tables> <threads> <tables ouvertes> <graine> <config>");
+            System.err.println("où <config> spécifie les joueurs simulés, ainsi:");
+            System.err.println("  <nom>:<iterations>[:<exploration>]");
+            System.exit(1);
+        }
+        int tableCount = Integer.parseInt(args[0]);
+        SnapshotExporter exporter = new SnapshotExporter();
+        GameServer server = new GameServer(Integer.parseInt(args[1]), Integer.parseInt(args[2]), exporter);
+        SplittableRandom rng = new SplittableRandom(Long.parseLong(args[3]));
+        PlayerConfig config = PlayerConfig.parse(args[4]);
+
+        long start = System.nanoTime();
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+            Map<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
+            for (PlayerId playerId : PlayerId.ALL) {
+                players.put(playerId, config.newPlayer(playerId, rng.nextLong()));
+                playerNames.put(playerId, config.name());
+            }
+            tables.add(server.open(rng.nextLong(), players, playerNames));
+        }
+        CompletableFuture.allOf(tables.stream().map(Table::result).toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long tricks = 0;
+        long meanTrickNanos = 0;
+        long maxTrickNanos = 0;
+        int failed = 0;
+        for (Table table : tables) {
+            TableMetrics metrics = table.metrics();
+            tricks += metrics.tricks();
+            meanTrickNanos += metrics.meanTrickNanos();
+            maxTrickNanos = Math.max(maxTrickNanos, metrics.maxTrickNanos());
+            if (table.state() != Table.State.FINISHED) {
+                failed++;
+            }
+        }
+        System.out.printf("%d tables (%d échouées) en %.1f s : %.2f tables/s, %.1f plis/s%n",
+                tableCount, failed, seconds, tableCount / seconds, tricks / seconds);
+        System.out.printf("pli moyen %.2f ms, pli le plus long %.2f ms%n",
+                meanTrickNanos / 1e6 / tableCount, maxTrickNanos / 1e6);
+        MetricsSnapshot total = exporter.total();
+        for (PlayerId playerId : PlayerId.ALL) {
+            LatencyHistogram cards = total.cardDecisions(playerId);
+            System.out.printf("%s : carte médiane %.2f ms, 99e centile %.2f ms, max %.2f ms%n", playerId,
+                    cards.valueAtPercentile(50) / 1e6, cards.valueAtPercentile(99) / 1e6, cards.max() / 1e6);
+        }
+        server.shutdown();
+    }
+}
@@ -0,0 +1,174 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations with a bounded relative error, in the manner of HdrHistogram.
+ * Every power of two is divided into 32 buckets of equal width, so that the values given back,
+ * such as the percentiles, are within about 3% of the recorded ones, whatever their magnitude.
+ * The buckets are only allocated up to the largest value recorded.
+ * A histogram can be recorded by one thread while being copied by others.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts;
+    private long count;
+    private long sum;
+    private long min;
+    private long max;
+
+    /**
+     * Constructor of an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[SUB_BUCKET_COUNT];
+        this.count = 0;
+        this.sum = 0;
+        this.min = Long.MAX_VALUE;
+        this.max = 0;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value, usually a duration in nanoseconds
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public synchronized void record(long value) {
+        Preconditions.checkArgument(value >= 0);
+        int index = indexOf(value);
+        if (index >= counts.length) {
+            // grows by whole powers of two, so that it is done at most once per power
+            counts = Arrays.copyOf(counts, (index / SUB_BUCKET_COUNT + 1) * SUB_BUCKET_COUNT);
+        }
+        counts[index]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param that the other histogram
+     */
+    public void add(LatencyHistogram that) {
+        // copied first, so that the two histograms are never locked together
+        LatencyHistogram other = that.copy();
+        synchronized (this) {
+            if (other.counts.length > counts.length) {
+                counts = Arrays.copyOf(counts, other.counts.length);
+            }
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Gives a copy of the histogram, which is not affected by the values recorded afterwards.
+     *
+     * @return the copy
+     */
+    public synchronized LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.counts = counts.clone();
+        copy.count = count;
+        copy.sum = sum;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    /**
+     * Gives the number of values recorded.
+     *
+     * @return the number of values
+     */
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Gives the smallest value recorded.
+     *
+     * @return the smallest value, or 0 if the histogram is empty
+     */
+    public synchronized long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Gives the largest value recorded.
+     *
+     * @return the largest value, or 0 if the histogram is empty
+     */
+    public synchronized long max() {
+        return max;
+    }
+
+    /**
+     * Gives the mean of the values recorded, which is exact.
+     *
+     * @return the mean, or 0 if the histogram is empty
+     */
+    public synchronized double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Gives the value below which a given percentage of the values recorded are, up to the
+     * precision of the histogram.
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the highest value of the bucket of the percentile, at most the largest value
+     *         recorded, or 0 if the histogram is empty
+     * @throws IllegalArgumentException if the percentage is not between 0 and 100
+     */
+    public synchronized long valueAtPercentile(double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100);
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    // the values below SUB_BUCKET_COUNT have their own bucket, the others share it with the values
+    // having the same SUB_BUCKET_BITS + 1 highest bits
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
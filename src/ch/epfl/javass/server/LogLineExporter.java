@@ -0,0 +1,66 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.jass.PlayerId;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Exporter writing the metrics of every table on a single line, such as
+ * {@code table=3 state=FINISHED game_ms=812.4 trick_ms=12.0/30.1/41.5 ... card_ms.PLAYER_1=0.91/2.40/3.02 ...},
+ * every histogram being given by its median, 99th percentile and maximum, in milliseconds.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class LogLineExporter implements MetricsExporter {
+    private final PrintStream out;
+
+    /**
+     * Constructor of the exporter.
+     *
+     * @param out the stream on which the lines are written
+     */
+    public LogLineExporter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void export(Table table, MetricsSnapshot snapshot) {
+        out.println(line(table, snapshot));
+    }
+
+    /**
+     * Gives the line of the metrics of a table.
+     *
+     * @param table the table
+     * @param snapshot the metrics of the game of the table
+     * @return the line, without line separator
+     */
+    static String line(Table table, MetricsSnapshot snapshot) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("table=").append(table.id())
+          .append(" state=").append(table.state())
+          .append(" game_ms=").append(millis(snapshot.games().max()));
+        append(sb, "trick_ms", snapshot.tricks());
+        append(sb, "turn_ms", snapshot.turns());
+        for (PlayerId playerId : PlayerId.ALL) {
+            append(sb, "card_ms." + playerId.name(), snapshot.cardDecisions(playerId));
+        }
+        for (PlayerId playerId : PlayerId.ALL) {
+            append(sb, "trump_ms." + playerId.name(), snapshot.trumpDecisions(playerId));
+        }
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String key, LatencyHistogram histogram) {
+        sb.append(' ').append(key).append('=')
+          .append(millis(histogram.valueAtPercentile(50))).append('/')
+          .append(millis(histogram.valueAtPercentile(99))).append('/')
+          .append(millis(histogram.max()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,23 @@
+package ch.epfl.javass.server;
+
+/**
+ * Interface receiving the metrics of every table of a game server, once its game is over.
+ * It is called by the thread which played the table, so that it must be thread-safe.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public interface MetricsExporter {
+    /**
+     * Exporter ignoring the metrics.
+     */
+    public static final MetricsExporter NONE = (table, snapshot) -> {};
+
+    /**
+     * Exports the metrics of a table which is not running anymore, be it finished, failed or cancelled.
+     *
+     * @param table the table
+     * @param snapshot the metrics of the game of the table
+     */
+    void export(Table table, MetricsSnapshot snapshot);
+}
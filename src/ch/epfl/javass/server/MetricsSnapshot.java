@@ -0,0 +1,116 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.jass.PlayerId;
+
+/**
+ * Immutable copy of the latency histograms of one or several games: the decisions of every seat,
+ * and the durations of the tricks, turns and games. Snapshots of several tables can be added
+ * together, the seats being matched by their identity in the games.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class MetricsSnapshot {
+    /**
+     * The snapshot of no game at all.
+     */
+    public static final MetricsSnapshot EMPTY = new MetricsSnapshot(histograms(PlayerId.COUNT),
+            histograms(PlayerId.COUNT), new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram());
+
+    private final LatencyHistogram[] cardDecisions;
+    private final LatencyHistogram[] trumpDecisions;
+    private final LatencyHistogram tricks;
+    private final LatencyHistogram turns;
+    private final LatencyHistogram games;
+
+    // takes ownership of the histograms, which must not be recorded anymore
+    MetricsSnapshot(LatencyHistogram[] cardDecisions, LatencyHistogram[] trumpDecisions,
+            LatencyHistogram tricks, LatencyHistogram turns, LatencyHistogram games) {
+        this.cardDecisions = cardDecisions;
+        this.trumpDecisions = trumpDecisions;
+        this.tricks = tricks;
+        this.turns = turns;
+        this.games = games;
+    }
+
+    /**
+     * Gives the durations of the choices of cards of a seat.
+     *
+     * @param playerId the identity of the seat
+     * @return a copy of the histogram of the durations, in nanoseconds
+     */
+    public LatencyHistogram cardDecisions(PlayerId playerId) {
+        return cardDecisions[playerId.ordinal()].copy();
+    }
+
+    /**
+     * Gives the durations of the choices of trump of a seat, passing included.
+     *
+     * @param playerId the identity of the seat
+     * @return a copy of the histogram of the durations, in nanoseconds
+     */
+    public LatencyHistogram trumpDecisions(PlayerId playerId) {
+        return trumpDecisions[playerId.ordinal()].copy();
+    }
+
+    /**
+     * Gives the durations of the completed tricks, including the choice of trump for the first
+     * trick of a turn.
+     *
+     * @return a copy of the histogram of the durations, in nanoseconds
+     */
+    public LatencyHistogram tricks() {
+        return tricks.copy();
+    }
+
+    /**
+     * Gives the durations of the turns, the last one of a game being cut by its end.
+     *
+     * @return a copy of the histogram of the durations, in nanoseconds
+     */
+    public LatencyHistogram turns() {
+        return turns.copy();
+    }
+
+    /**
+     * Gives the durations of the games over.
+     *
+     * @return a copy of the histogram of the durations, in nanoseconds
+     */
+    public LatencyHistogram games() {
+        return games.copy();
+    }
+
+    /**
+     * Adds this snapshot to another one.
+     *
+     * @param that the other snapshot
+     * @return the snapshot of the games of both snapshots
+     */
+    public MetricsSnapshot plus(MetricsSnapshot that) {
+        LatencyHistogram[] cards = histograms(PlayerId.COUNT);
+        LatencyHistogram[] trumps = histograms(PlayerId.COUNT);
+        for (int i = 0; i < PlayerId.COUNT; i++) {
+            cards[i].add(cardDecisions[i]);
+            cards[i].add(that.cardDecisions[i]);
+            trumps[i].add(trumpDecisions[i]);
+            trumps[i].add(that.trumpDecisions[i]);
+        }
+        return new MetricsSnapshot(cards, trumps, sum(tricks, that.tricks), sum(turns, that.turns),
+                sum(games, that.games));
+    }
+
+    static LatencyHistogram[] histograms(int count) {
+        LatencyHistogram[] histograms = new LatencyHistogram[count];
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    private static LatencyHistogram sum(LatencyHistogram h1, LatencyHistogram h2) {
+        LatencyHistogram sum = h1.copy();
+        sum.add(h2);
+        return sum;
+    }
+}
@@ -0,0 +1,45 @@
+package ch.epfl.javass.server;
+
+/**
+ * Exporter keeping in memory the sum of the metrics of all the tables exported to it,
+ * which can be read at any time, for instance to find the seats that are slow on every table.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class SnapshotExporter implements MetricsExporter {
+    private MetricsSnapshot total;
+    private int tables;
+
+    /**
+     * Constructor of an exporter which has not received any table yet.
+     */
+    public SnapshotExporter() {
+        this.total = MetricsSnapshot.EMPTY;
+        this.tables = 0;
+    }
+
+    @Override
+    public synchronized void export(Table table, MetricsSnapshot snapshot) {
+        total = total.plus(snapshot);
+        tables++;
+    }
+
+    /**
+     * Gives the sum of the metrics of the tables exported so far.
+     *
+     * @return the snapshot of all the games exported
+     */
+    public synchronized MetricsSnapshot total() {
+        return total;
+    }
+
+    /**
+     * Gives the number of tables exported so far.
+     *
+     * @return the number of tables
+     */
+    public synchronized int tables() {
+        return tables;
+    }
+}
@@ -0,0 +1,121 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TeamId;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A table of a game server, on which one game is played.
+ * A table is waiting until a thread of the server is available, then running until the game is
+ * over, unless the game fails or the table is cancelled, which happens between two tricks.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Table {
+    /**
+     * The states of the lifecycle of a table.
+     */
+    public enum State {
+        WAITING, RUNNING, FINISHED, FAILED, CANCELLED
+    }
+
+    private final int id;
+    private final long rngSeed;
+    private final Map<PlayerId, Player> players;
+    private final Map<PlayerId, String> playerNames;
+    private final TableMetrics metrics;
+    private final CompletableFuture<TeamId> result;
+    private volatile State state;
+    private volatile boolean cancelled;
+
+    Table(int id, long rngSeed, Map<PlayerId, Player> players, Map<PlayerId, String> playerNames) {
+        this.id = id;
+        this.rngSeed = rngSeed;
+        this.players = Collections.unmodifiableMap(new EnumMap<>(players));
+        this.playerNames = Collections.unmodifiableMap(new EnumMap<>(playerNames));
+        this.metrics = new TableMetrics();
+        this.result = new CompletableFuture<>();
+        this.state = State.WAITING;
+    }
+
+    /**
+     * Gives the identifier of the table, unique to its server.
+     *
+     * @return the identifier
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Gives the current state of the table.
+     *
+     * @return the state
+     */
+    public State state() {
+        return state;
+    }
+
+    /**
+     * Gives the metrics of the game of the table.
+     *
+     * @return the metrics
+     */
+    public TableMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Gives the result of the table, completed with the winning team when the game is over,
+     * or exceptionally if the game fails or the table is cancelled.
+     *
+     * @return the result
+     */
+    public CompletableFuture<TeamId> result() {
+        return result;
+    }
+
+    /**
+     * Cancels the table: a waiting table will not be played, a running one stops after its
+     * current trick.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // plays the game of the table, on a thread of the server
+    void play() {
+        if (cancelled) {
+            finishCancelled();
+            return;
+        }
+        state = State.RUNNING;
+        try {
+            JassGame game = new JassGame(rngSeed, players, playerNames, metrics);
+            while (!game.isGameOver()) {
+                if (cancelled) {
+                    finishCancelled();
+                    return;
+                }
+                game.advanceToEndOfNextTrick();
+            }
+            state = State.FINISHED;
+            result.complete(game.winningTeam());
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            result.completeExceptionally(e);
+        }
+    }
+
+    void finishCancelled() {
+        state = State.CANCELLED;
+        result.cancel(false);
+    }
+}
@@ -0,0 +1,165 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.GameListener;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+
+/**
+ * Metrics of the game of a table, gathered by listening to it.
+ * They are written by the thread playing the table only, and can be read from any thread.
+ * Besides the counters, the durations of the decisions of every seat, and of the tricks, turns
+ * and game, are recorded in histograms, of which a snapshot can be taken at any time.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class TableMetrics implements GameListener {
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile long lastTrickNanos;
+    private volatile long maxTrickNanos;
+    private volatile int turns;
+    private volatile int cardsPlayed;
+    private volatile long lastTurnNanos;
+    private final LatencyHistogram[] cardDecisions;
+    private final LatencyHistogram[] trumpDecisions;
+    private final LatencyHistogram trickDurations;
+    private final LatencyHistogram turnDurations;
+    private final LatencyHistogram gameDurations;
+
+    TableMetrics() {
+        this.cardDecisions = MetricsSnapshot.histograms(PlayerId.COUNT);
+        this.trumpDecisions = MetricsSnapshot.histograms(PlayerId.COUNT);
+        this.trickDurations = new LatencyHistogram();
+        this.turnDurations = new LatencyHistogram();
+        this.gameDurations = new LatencyHistogram();
+    }
+
+    @Override
+    public void gameStarted(long rngSeed) {
+        startNanos = System.nanoTime();
+        lastTrickNanos = startNanos;
+        lastTurnNanos = startNanos;
+    }
+
+    @Override
+    public void trumpDecided(PlayerId chooser, long decisionNanos) {
+        trumpDecisions[chooser.ordinal()].record(decisionNanos);
+    }
+
+    @Override
+    public void cardDecided(PlayerId player, long decisionNanos) {
+        cardDecisions[player.ordinal()].record(decisionNanos);
+    }
+
+    @Override
+    public void trumpChosen(PlayerId chooser, Color trump, boolean passed) {
+        turns++;
+    }
+
+    @Override
+    public void cardPlayed(PlayerId player, Card card) {
+        int cards = cardsPlayed + 1;
+        cardsPlayed = cards;
+        if (cards % PlayerId.COUNT == 0) {
+            long now = System.nanoTime();
+            maxTrickNanos = Math.max(maxTrickNanos, now - lastTrickNanos);
+            trickDurations.record(now - lastTrickNanos);
+            lastTrickNanos = now;
+            if (cards % (PlayerId.COUNT * Jass.TRICKS_PER_TURN) == 0) {
+                turnDurations.record(now - lastTurnNanos);
+                lastTurnNanos = now;
+            }
+        }
+    }
+
+    @Override
+    public void gameOver(Score score, TeamId winningTeam) {
+        long now = System.nanoTime();
+        endNanos = now;
+        // the game usually ends during a turn, which is cut by it
+        if (cardsPlayed % (PlayerId.COUNT * Jass.TRICKS_PER_TURN) != 0) {
+            turnDurations.record(now - lastTurnNanos);
+        }
+        gameDurations.record(now - startNanos);
+    }
+
+    /**
+     * Gives the number of turns started.
+     *
+     * @return the number of turns
+     */
+    public int turns() {
+        return turns;
+    }
+
+    /**
+     * Gives the number of tricks completed.
+     *
+     * @return the number of tricks
+     */
+    public int tricks() {
+        return cardsPlayed / PlayerId.COUNT;
+    }
+
+    /**
+     * Gives the number of cards played.
+     *
+     * @return the number of cards
+     */
+    public int cardsPlayed() {
+        return cardsPlayed;
+    }
+
+    /**
+     * Gives the time elapsed since the start of the game, until its end if it is over.
+     *
+     * @return the duration of the game in nanoseconds, 0 if it has not started
+     */
+    public long durationNanos() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+
+    /**
+     * Gives the mean duration of the completed tricks, including the choice of trump.
+     *
+     * @return the mean duration of a trick in nanoseconds, 0 if no trick is completed
+     */
+    public long meanTrickNanos() {
+        int tricks = tricks();
+        return tricks == 0 ? 0 : (lastTrickNanos - startNanos) / tricks;
+    }
+
+    /**
+     * Gives the longest duration of a completed trick, including the choice of trump.
+     *
+     * @return the longest duration of a trick in nanoseconds
+     */
+    public long maxTrickNanos() {
+        return maxTrickNanos;
+    }
+
+    /**
+     * Gives a snapshot of the histograms of the game.
+     *
+     * @return the snapshot, which is not affected by the rest of the game
+     */
+    public MetricsSnapshot snapshot() {
+        LatencyHistogram[] cards = new LatencyHistogram[PlayerId.COUNT];
+        LatencyHistogram[] trumps = new LatencyHistogram[PlayerId.COUNT];
+        for (int i = 0; i < PlayerId.COUNT; i++) {
+            cards[i] = cardDecisions[i].copy();
+            trumps[i] = trumpDecisions[i].copy();
+        }
+        return new MetricsSnapshot(cards, trumps, trickDurations.copy(), turnDurations.copy(), gameDurations.copy());
+    }
+}
@@ -0,0 +1,112 @@
+package ch.epfl.javass.tournament;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.Jass;
+import ch.epfl.javass.jass.LeafEvaluator;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+
+/**
+ * Settings of a simulated player taking part in a tournament.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class PlayerConfig {
+    private final String name;
+    private final int iterations;
+    private final double explorationConstant;
+    private final LeafEvaluator evaluator;
+
+    /**
+     * Constructor of a player configuration.
+     *
+     * @param name the name used to display the configuration in the standings
+     * @param iterations the number of iterations of the MctsPlayer
+     * @param explorationConstant the exploration constant of the MctsPlayer
+     * @throws IllegalArgumentException if the MctsPlayer would not accept these settings
+     */
+    public PlayerConfig(String name, int iterations, double explorationConstant) {
+        this(name, iterations, explorationConstant, null);
+    }
+
+    /**
+     * Constructor of a player configuration estimating the leaves of its search with an evaluator.
+     *
+     * @param name the name used to display the configuration in the standings
+     * @param iterations the number of iterations of the MctsPlayer
+     * @param explorationConstant the exploration constant of the MctsPlayer
+     * @param evaluator the evaluator of the leaves, or null to finish the turns randomly
+     * @throws IllegalArgumentException if the MctsPlayer would not accept these settings
+     */
+    public PlayerConfig(String name, int iterations, double explorationConstant, LeafEvaluator evaluator) {
+        Preconditions.checkArgument(iterations >= Jass.HAND_SIZE);
+        Preconditions.checkArgument(explorationConstant >= 0);
+        this.name = name;
+        this.iterations = iterations;
+        this.explorationConstant = explorationConstant;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Parses a configuration of the form name:iterations[:explorationConstant].
+     *
+     * @param spec the textual configuration
+     * @return the corresponding configuration
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public static PlayerConfig parse(String spec) {
+        String[] parts = spec.split(":");
+        Preconditions.checkArgument(parts.length == 2 || parts.length == 3);
+        int iterations = Integer.parseInt(parts[1]);
+        double explorationConstant = parts.length == 3
+                ? Double.parseDouble(parts[2])
+                : MctsPlayer.DEFAULT_EXPLORATION_CONSTANT;
+        return new PlayerConfig(parts[0], iterations, explorationConstant);
+    }
+
+    /**
+     * Getter for the name of the configuration.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Getter for the number of iterations.
+     *
+     * @return the number of iterations
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Getter for the exploration constant.
+     *
+     * @return the exploration constant
+     */
+    public double explorationConstant() {
+        return explorationConstant;
+    }
+
+    /**
+     * Creates a new player with these settings.
+     *
+     * @param ownId the seat of the player
+     * @param rngSeed the seed of the player
+     * @return the new player
+     */
+    public MctsPlayer newPlayer(PlayerId ownId, long rngSeed) {
+        return new MctsPlayer(ownId, rngSeed, iterations, explorationConstant, evaluator);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + iterations + " iterations, c = " + explorationConstant
+                + (evaluator == null ? "" : ", evaluated") + ")";
+    }
+}
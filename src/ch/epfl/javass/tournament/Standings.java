@@ -0,0 +1,159 @@
+package ch.epfl.javass.tournament;
+
+import ch.epfl.javass.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of a tournament, with the Elo ratings derived from them.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Standings {
+    private static final double ELO_SCALE = 400.0 / Math.log(10.0);
+    private static final double BASE_RATING = 1500.0;
+    private static final double Z_95 = 1.96;
+    private static final int MAX_FIT_ROUNDS = 10_000;
+    private static final double FIT_TOLERANCE = 1e-9;
+
+    private final List<PlayerConfig> configs;
+    private final int[][] wins; // wins[i][j] is the number of games config i won against config j
+    private final double[] ratings;
+    private final double[] margins;
+
+    /**
+     * Constructor of the standings.
+     *
+     * @param configs the configurations that took part in the tournament
+     * @param wins the number of games each configuration won against each other one
+     * @throws IllegalArgumentException if the matrix does not match the configurations
+     */
+    public Standings(List<PlayerConfig> configs, int[][] wins) {
+        int n = configs.size();
+        Preconditions.checkArgument(wins.length == n);
+        this.configs = Collections.unmodifiableList(new ArrayList<>(configs));
+        this.wins = new int[n][];
+        for (int i = 0; i < n; i++) {
+            Preconditions.checkArgument(wins[i].length == n);
+            this.wins[i] = wins[i].clone();
+        }
+        ratings = new double[n];
+        margins = new double[n];
+        fitRatings();
+    }
+
+    /**
+     * Getter for the configurations.
+     *
+     * @return the configurations, in their original order
+     */
+    public List<PlayerConfig> configs() {
+        return configs;
+    }
+
+    /**
+     * Gives the number of games a configuration won against another one.
+     *
+     * @param i the index of the winning configuration
+     * @param j the index of the losing configuration
+     * @return the number of games
+     */
+    public int wins(int i, int j) {
+        return wins[i][j];
+    }
+
+    /**
+     * Gives the Elo rating of a configuration, the average rating being 1500.
+     *
+     * @param i the index of the configuration
+     * @return the Elo rating
+     */
+    public double rating(int i) {
+        return ratings[i];
+    }
+
+    /**
+     * Gives the half-width of the 95% confidence interval of the Elo rating of a configuration.
+     *
+     * @param i the index of the configuration
+     * @return the half-width of the interval, infinite if the configuration played no game
+     */
+    public double margin(int i) {
+        return margins[i];
+    }
+
+    // fits the Bradley-Terry model with the minorization-maximization algorithm,
+    // every pairing getting half a virtual win each way so that unbeaten configurations stay finite
+    private void fitRatings() {
+        int n = configs.size();
+        double[] strengths = new double[n];
+        Arrays.fill(strengths, 1.0);
+        for (int round = 0; round < MAX_FIT_ROUNDS; round++) {
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                double won = 0;
+                double denominator = 0;
+                for (int j = 0; j < n; j++) {
+                    int games = games(i, j);
+                    if (i != j && games > 0) {
+                        won += wins[i][j] + 0.5;
+                        denominator += (games + 1.0) / (strengths[i] + strengths[j]);
+                    }
+                }
+                if (denominator > 0) {
+                    double newStrength = won / denominator;
+                    change = Math.max(change, Math.abs(Math.log(newStrength / strengths[i])));
+                    strengths[i] = newStrength;
+                }
+            }
+            if (change < FIT_TOLERANCE) {
+                break;
+            }
+        }
+        double mean = 0;
+        for (int i = 0; i < n; i++) {
+            ratings[i] = ELO_SCALE * Math.log(strengths[i]);
+            mean += ratings[i] / n;
+        }
+        for (int i = 0; i < n; i++) {
+            ratings[i] += BASE_RATING - mean;
+            double information = 0;
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    double p = strengths[i] / (strengths[i] + strengths[j]);
+                    information += games(i, j) * p * (1 - p);
+                }
+            }
+            margins[i] = Z_95 * ELO_SCALE / Math.sqrt(information);
+        }
+    }
+
+    private int games(int i, int j) {
+        return wins[i][j] + wins[j][i];
+    }
+
+    @Override
+    public String toString() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < configs.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Double.compare(ratings[b], ratings[a]));
+        StringBuilder b = new StringBuilder();
+        for (int i : order) {
+            int won = 0;
+            int played = 0;
+            for (int j = 0; j < configs.size(); j++) {
+                won += wins[i][j];
+                played += games(i, j);
+            }
+            b.append(String.format("%-40s %6.0f ± %-5.0f %d/%d%n",
+                    configs.get(i), ratings[i], margins[i], won, played));
+        }
+        return b.toString();
+    }
+}
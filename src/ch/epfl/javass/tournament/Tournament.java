@@ -0,0 +1,139 @@
+package ch.epfl.javass.tournament;
+
+import ch.epfl.javass.Preconditions;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TeamId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Round-robin tournament between player configurations.
+ * Every deal is played twice with the same shuffles, the configurations swapping seats,
+ * so that the luck of the cards cancels out.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class Tournament {
+    private final List<PlayerConfig> configs;
+    private final int deals;
+    private final long rngSeed;
+    private final PlayerFactory playerFactory;
+
+    /**
+     * Constructor of a tournament.
+     *
+     * @param configs the configurations taking part, at least two
+     * @param deals the number of duplicate deals played by every pair of configurations
+     * @param rngSeed the seed from which the seeds of all games and players are derived
+     * @throws IllegalArgumentException if there are fewer than two configurations or no deal
+     */
+    public Tournament(List<PlayerConfig> configs, int deals, long rngSeed) {
+        this(configs, deals, rngSeed, PlayerConfig::newPlayer);
+    }
+
+    // the players of the games are created by the given factory instead of their configuration
+    Tournament(List<PlayerConfig> configs, int deals, long rngSeed, PlayerFactory playerFactory) {
+        Preconditions.checkArgument(configs.size() >= 2);
+        Preconditions.checkArgument(deals > 0);
+        this.configs = Collections.unmodifiableList(new ArrayList<>(configs));
+        this.deals = deals;
+        this.rngSeed = rngSeed;
+        this.playerFactory = playerFactory;
+    }
+
+    /**
+     * Plays all the games of the tournament, several at a time.
+     *
+     * @param threads the number of games played simultaneously
+     * @return the standings at the end of the tournament
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the games
+     */
+    public Standings run(int threads) throws InterruptedException {
+        Preconditions.checkArgument(threads > 0);
+        int n = configs.size();
+        SplittableRandom rng = new SplittableRandom(rngSeed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<int[]>> results = new ArrayList<>();
+        List<int[]> pairings = new ArrayList<>();
+        try {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    for (int d = 0; d < deals; d++) {
+                        PlayerConfig a = configs.get(i);
+                        PlayerConfig b = configs.get(j);
+                        long dealSeed = rng.nextLong();
+                        results.add(executor.submit(() -> playDuplicate(a, b, dealSeed)));
+                        pairings.add(new int[] { i, j });
+                    }
+                }
+            }
+            int[][] wins = new int[n][n];
+            for (int k = 0; k < results.size(); k++) {
+                int[] pairing = pairings.get(k);
+                int[] result = results.get(k).get();
+                wins[pairing[0]][pairing[1]] += result[0];
+                wins[pairing[1]][pairing[0]] += result[1];
+            }
+            return new Standings(configs, wins);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // plays the same deal twice, with the configurations swapping seats,
+    // and gives the number of games won by each configuration
+    private int[] playDuplicate(PlayerConfig a, PlayerConfig b, long dealSeed) {
+        int[] won = new int[2];
+        TeamId first = playGame(a, b, dealSeed);
+        won[first == TeamId.TEAM_1 ? 0 : 1]++;
+        TeamId second = playGame(b, a, dealSeed);
+        won[second == TeamId.TEAM_1 ? 1 : 0]++;
+        return won;
+    }
+
+    // plays a full game, the first configuration being TEAM_1, and gives the winning team
+    private TeamId playGame(PlayerConfig team1, PlayerConfig team2, long gameSeed) {
+        Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+        Map<PlayerId, String> playerNames = new EnumMap<>(PlayerId.class);
+        SplittableRandom rng = new SplittableRandom(gameSeed);
+        for (PlayerId playerId : PlayerId.ALL) {
+            PlayerConfig config = playerId.team() == TeamId.TEAM_1 ? team1 : team2;
+            players.put(playerId, playerFactory.newPlayer(config, playerId, rng.nextLong()));
+            playerNames.put(playerId, config.name());
+        }
+        JassGame game = new JassGame(gameSeed, players, playerNames);
+        while (!game.isGameOver()) {
+            game.advanceToEndOfNextTrick();
+        }
+        return game.winningTeam();
+    }
+
+    /**
+     * Creates the player of a configuration in a game.
+     */
+    interface PlayerFactory {
+        /**
+         * Creates a new player with the settings of a configuration.
+         *
+         * @param config the configuration of the player
+         * @param ownId the seat of the player
+         * @param rngSeed the seed of the player
+         * @return the new player
+         */
+        Player newPlayer(PlayerConfig config, PlayerId ownId, long rngSeed);
+    }
+}
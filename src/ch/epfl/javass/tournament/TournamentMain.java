@@ -0,0 +1,31 @@
+package ch.epfl.javass.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Main class to run a tournament between simulated players, without graphical interface.
+ *
+ * @author Marc Lundwall (297665)
+ * @author Pablo Stebler (302328)
+ */
+public final class TournamentMain {
+    private TournamentMain() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 4) {
+            System.err.println("Utilisation: java ch.epfl.javass.tournament.TournamentMain <donnes> <graine> <c1> <c2> [<c3>…]");
+            System.err.println("où <cn> spécifie une configuration, ainsi:");
+            System.err.println("  <nom>:<iterations> un joueur simulé jouant <iterations> parties aléatoires par coup");
+            System.err.println("  <nom>:<iterations>:<exploration> idem, avec la constante d'exploration <exploration>");
+            System.exit(1);
+        }
+        List<PlayerConfig> configs = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            configs.add(PlayerConfig.parse(args[i]));
+        }
+        Tournament tournament = new Tournament(configs, Integer.parseInt(args[0]), Long.parseLong(args[1]));
+        Standings standings = tournament.run(Runtime.getRuntime().availableProcessors());
+        System.out.print(standings);
+    }
+}
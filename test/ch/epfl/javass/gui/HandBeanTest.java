@@ -0,0 +1,75 @@
+package ch.epfl.javass.gui;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.CardSet;
+import javafx.collections.ListChangeListener;
+import javafx.collections.SetChangeListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandBeanTest {
+    private static final CardSet HAND = CardSet.ALL_CARDS.subsetOfColor(Color.SPADE);
+
+    @Test
+    void setHandOnlyNotifiesTheChangedPositions() {
+        HandBean bean = new HandBean();
+        int[] events = { 0 };
+        bean.hand().addListener((ListChangeListener<Card>) c -> events[0]++);
+
+        bean.setHand(HAND);
+        assertEquals(9, events[0]);
+        bean.setHand(HAND);
+        assertEquals(9, events[0]);
+
+        CardSet hand = HAND.remove(Card.of(Color.SPADE, Rank.TEN));
+        bean.setHand(hand);
+        assertEquals(10, events[0]);
+        assertNull(bean.hand().get(4));
+
+        hand = hand.remove(Card.of(Color.SPADE, Rank.SIX)).remove(Card.of(Color.SPADE, Rank.ACE));
+        bean.setHand(hand);
+        assertEquals(12, events[0]);
+        bean.setHand(hand);
+        assertEquals(12, events[0]);
+        assertNull(bean.hand().get(0));
+        assertEquals(Card.of(Color.SPADE, Rank.SEVEN), bean.hand().get(1));
+        assertNull(bean.hand().get(8));
+
+        CardSet newHand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        bean.setHand(newHand);
+        assertEquals(21, events[0]);
+        for (int i = 0; i < newHand.size(); i++) {
+            assertEquals(newHand.get(i), bean.hand().get(i));
+        }
+    }
+
+    @Test
+    void setPlayableCardsOnlyNotifiesTheChangedCards() {
+        HandBean bean = new HandBean();
+        int[] events = { 0 };
+        bean.playableCards().addListener((SetChangeListener<Card>) c -> events[0]++);
+
+        CardSet playable = CardSet.EMPTY
+                .add(Card.of(Color.SPADE, Rank.SIX))
+                .add(Card.of(Color.SPADE, Rank.JACK))
+                .add(Card.of(Color.HEART, Rank.ACE));
+        bean.setPlayableCards(playable);
+        assertEquals(3, events[0]);
+        bean.setPlayableCards(playable);
+        assertEquals(3, events[0]);
+
+        playable = playable.remove(Card.of(Color.SPADE, Rank.SIX)).add(Card.of(Color.CLUB, Rank.NINE));
+        bean.setPlayableCards(playable);
+        assertEquals(5, events[0]);
+        assertEquals(3, bean.playableCards().size());
+        assertFalse(bean.playableCards().contains(Card.of(Color.SPADE, Rank.SIX)));
+        assertTrue(bean.playableCards().contains(Card.of(Color.CLUB, Rank.NINE)));
+
+        bean.setPlayableCards(CardSet.EMPTY);
+        assertEquals(8, events[0]);
+        assertTrue(bean.playableCards().isEmpty());
+    }
+}
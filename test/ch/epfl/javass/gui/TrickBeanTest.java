@@ -0,0 +1,78 @@
+package ch.epfl.javass.gui;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Trick;
+import javafx.collections.MapChangeListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrickBeanTest {
+    @Test
+    void setTrickOnlyNotifiesTheChangedCards() {
+        TrickBean bean = new TrickBean();
+        int[] events = { 0 };
+        bean.trick().addListener((MapChangeListener<PlayerId, Card>) c -> events[0]++);
+
+        // every player is put in the map by the first trick
+        Trick trick = Trick.firstEmpty(Color.CLUB, PlayerId.PLAYER_1);
+        bean.setTrick(trick);
+        assertEquals(4, events[0]);
+        assertEquals(4, bean.trick().size());
+        bean.setTrick(trick);
+        assertEquals(4, events[0]);
+
+        Card[] cards = {
+                Card.of(Color.HEART, Rank.TEN),
+                Card.of(Color.HEART, Rank.KING),
+                Card.of(Color.HEART, Rank.SIX),
+                Card.of(Color.SPADE, Rank.ACE)
+        };
+        for (int i = 0; i < cards.length; i++) {
+            trick = trick.withAddedCard(cards[i]);
+            bean.setTrick(trick);
+            assertEquals(5 + i, events[0]);
+            assertEquals(cards[i], bean.trick().get(PlayerId.ALL.get(i)));
+        }
+        assertEquals(PlayerId.PLAYER_2, bean.winningPlayerProperty().get());
+
+        // the next trick starts with another player, and empties every position
+        trick = trick.nextEmpty();
+        bean.setTrick(trick);
+        assertEquals(12, events[0]);
+        for (PlayerId player : PlayerId.ALL) {
+            assertNull(bean.trick().get(player));
+        }
+        assertNull(bean.winningPlayerProperty().get());
+
+        trick = trick.withAddedCard(Card.of(Color.CLUB, Rank.JACK));
+        bean.setTrick(trick);
+        assertEquals(13, events[0]);
+        assertEquals(Card.of(Color.CLUB, Rank.JACK), bean.trick().get(PlayerId.PLAYER_2));
+    }
+
+    @Test
+    void firstTrickPutsEveryPlayerWhoeverLeads() {
+        for (PlayerId firstPlayer : PlayerId.ALL) {
+            TrickBean bean = new TrickBean();
+            int[] events = { 0 };
+            bean.trick().addListener((MapChangeListener<PlayerId, Card>) c -> events[0]++);
+
+            bean.setTrick(Trick.firstEmpty(Color.CLUB, firstPlayer));
+            assertEquals(4, events[0]);
+            assertEquals(4, bean.trick().size());
+            for (PlayerId player : PlayerId.ALL) {
+                assertTrue(bean.trick().containsKey(player));
+                assertNull(bean.trick().get(player));
+            }
+
+            Card card = Card.of(Color.HEART, Rank.ACE);
+            bean.setTrick(Trick.firstEmpty(Color.CLUB, firstPlayer).withAddedCard(card));
+            assertEquals(5, events[0]);
+            assertEquals(card, bean.trick().get(firstPlayer));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ch.epfl.javass.gui;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.Trick;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpdateCoalescerTest {
+    private static final CardSet HAND = CardSet.ALL_CARDS.subsetOfColor(Color.SPADE);
+
+    private final HandBean handBean = new HandBean();
+    private final TrickBean trickBean = new TrickBean();
+    private final ScoreBean scoreBean = new ScoreBean();
+    // the tasks posted to the JavaFX thread, run by the tests themselves
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final UpdateCoalescer updates = new UpdateCoalescer(handBean, trickBean, scoreBean, tasks::add);
+
+    private void runTasks() {
+        List<Runnable> posted = new ArrayList<>(tasks);
+        tasks.clear();
+        for (Runnable task : posted) {
+            task.run();
+        }
+    }
+
+    @Test
+    void updatesAreCoalescedInOneTask() {
+        int[] events = { 0 };
+        scoreBean.turnPointsProperty(TeamId.TEAM_1).addListener((o, oldValue, newValue) -> events[0]++);
+
+        Trick trick = Trick.firstEmpty(Color.HEART, PlayerId.PLAYER_2);
+        Score score = Score.INITIAL.withAdditionalTrick(TeamId.TEAM_1, 10);
+        updates.setTrump(Color.HEART);
+        updates.updateTrick(trick);
+        updates.updateScore(score);
+        trick = trick.withAddedCard(Card.of(Color.HEART, Rank.ACE));
+        score = score.withAdditionalTrick(TeamId.TEAM_1, 20);
+        updates.updateTrick(trick);
+        updates.updateScore(score);
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(Color.HEART, trickBean.trumpProperty().get());
+        assertEquals(Card.of(Color.HEART, Rank.ACE), trickBean.trick().get(PlayerId.PLAYER_2));
+        assertEquals(30, scoreBean.turnPointsProperty(TeamId.TEAM_1).get());
+        assertEquals(1, events[0]);
+
+        // once the task started, a new update posts a new task
+        updates.updateScore(score.withAdditionalTrick(TeamId.TEAM_1, 5));
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(35, scoreBean.turnPointsProperty(TeamId.TEAM_1).get());
+        assertEquals(2, events[0]);
+    }
+
+    @Test
+    void fullDealIsAppliedBeforeThePartialHands() {
+        CardSet hand = HAND.remove(Card.of(Color.SPADE, Rank.TEN));
+        updates.updateHand(HAND);
+        updates.updateHand(hand);
+        hand = hand.remove(Card.of(Color.SPADE, Rank.SIX));
+        updates.updateHand(hand);
+        assertEquals(1, tasks.size());
+
+        // the cards keep the places given by the deal
+        runTasks();
+        assertNull(handBean.hand().get(0));
+        assertEquals(Card.of(Color.SPADE, Rank.SEVEN), handBean.hand().get(1));
+        assertNull(handBean.hand().get(4));
+        assertEquals(Card.of(Color.SPADE, Rank.ACE), handBean.hand().get(8));
+
+        // a partial hand alone is applied to the deal already displayed
+        updates.updateHand(hand.remove(Card.of(Color.SPADE, Rank.ACE)));
+        runTasks();
+        assertEquals(Card.of(Color.SPADE, Rank.SEVEN), handBean.hand().get(1));
+        assertNull(handBean.hand().get(8));
+
+        // a new deal replaces the hand at once
+        CardSet deal = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        updates.updateHand(deal);
+        updates.updateHand(deal.remove(Card.of(Color.HEART, Rank.KING)));
+        runTasks();
+        assertEquals(Card.of(Color.HEART, Rank.SIX), handBean.hand().get(0));
+        assertNull(handBean.hand().get(7));
+    }
+
+    @Test
+    void pendingStatesAreAppliedBeforeThePostedUpdates() {
+        int[] events = { 0 };
+        handBean.hand().addListener((ListChangeListener<Card>) c -> events[0]++);
+        CardSet[] displayed = new CardSet[1];
+
+        updates.updateHand(HAND);
+        updates.post(() -> {
+            displayed[0] = CardSet.EMPTY;
+            for (Card card : handBean.hand()) {
+                if (card != null) {
+                    displayed[0] = displayed[0].add(card);
+                }
+            }
+            handBean.setPlayableCards(HAND);
+        });
+        assertEquals(2, tasks.size());
+
+        // even if the posted update ran first, the hand is already displayed
+        tasks.remove(1).run();
+        assertEquals(HAND, displayed[0]);
+        assertEquals(HAND.size(), handBean.playableCards().size());
+        assertEquals(HAND.size(), events[0]);
+        tasks.remove(0).run();
+        assertEquals(HAND.size(), events[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package ch.epfl.javass.jass;
+
+import ch.epfl.javass.jass.Card.Color;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncPlayerTest {
+    @Test
+    void notificationsDoNotWaitForThePlayer() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (AsyncPlayer p = new AsyncPlayer(new RecordingPlayer(500))) {
+                long t0 = System.currentTimeMillis();
+                p.updateScore(Score.INITIAL);
+                p.setTrump(Color.SPADE);
+                assertTrue(System.currentTimeMillis() - t0 < 400);
+            }
+        });
+    }
+
+    @Test
+    void callsAreDeliveredInOrder() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            RecordingPlayer rp = new RecordingPlayer(1);
+            try (AsyncPlayer p = new AsyncPlayer(rp)) {
+                CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+                p.updateHand(hand);
+                p.setTrump(Color.HEART);
+                p.updateScore(Score.INITIAL);
+                Card card = p.cardToPlay(TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_1), hand);
+                assertEquals(hand.get(0), card);
+                assertEquals(List.of("updateHand", "setTrump", "updateScore", "cardToPlay"), rp.calls);
+            }
+        });
+    }
+
+    @Test
+    void failedNotificationIsThrownByNextCall() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (AsyncPlayer p = new AsyncPlayer(new RecordingPlayer(0) {
+                @Override
+                public void updateScore(Score score) {
+                    throw new IllegalStateException();
+                }
+            })) {
+                p.updateScore(Score.INITIAL);
+                assertThrows(IllegalStateException.class, () -> p.chooseTrump(CardSet.EMPTY, true));
+            }
+        });
+    }
+
+    private static class RecordingPlayer implements Player {
+        private final long delay;
+        final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingPlayer(long delay) {
+            this.delay = delay;
+        }
+
+        private void record(String call) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            calls.add(call);
+        }
+
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            record("cardToPlay");
+            return hand.get(0);
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            record("chooseTrump");
+            return Color.SPADE;
+        }
+
+        @Override
+        public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+            record("setPlayers");
+        }
+
+        @Override
+        public void updateHand(CardSet newHand) {
+            record("updateHand");
+        }
+
+        @Override
+        public void setTrump(Color trump) {
+            record("setTrump");
+        }
+
+        @Override
+        public void updateTrick(Trick newTrick) {
+            record("updateTrick");
+        }
+
+        @Override
+        public void updateScore(Score score) {
+            record("updateScore");
+        }
+
+        @Override
+        public void setWinningTeam(TeamId winningTeam) {
+            record("setWinningTeam");
+        }
+    }
+}
@@ -3,8 +3,11 @@ package ch.epfl.javass.jass;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -392,6 +395,102 @@ public class MctsPlayerTest {
         });
     }
 
+    @Test
+    void statisticsAgreeWithCardToPlay() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART)
+                .remove(Card.of(Color.HEART, Rank.SIX))
+                .add(Card.of(Color.SPADE, Rank.JACK));
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            SearchStatistics stats = new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS).statistics(state, hand);
+            Card c = new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS).cardToPlay(state, hand);
+            assertEquals(c, stats.bestCard());
+            assertEquals(hand, stats.cards());
+            assertEquals(ITERATIONS, stats.totalTurns());
+        });
+    }
+
+    @Test
+    void searchStopsAtDeadline() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            MctsPlayer p = new MctsPlayer(PlayerId.PLAYER_1, SEED, Integer.MAX_VALUE);
+            Card c = p.cardToPlay(state, hand, System.nanoTime() + 50_000_000L);
+            assertTrue(hand.contains(c));
+            p.chooseTrump(hand, true, System.nanoTime() + 50_000_000L);
+        });
+    }
+
+    @Test
+    void searchUntilDeadlineGoesBeyondIterations() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            MctsPlayer p = new MctsPlayer(PlayerId.PLAYER_1, SEED, Jass.HAND_SIZE);
+            long start = System.nanoTime();
+            Card c = p.cardToPlayUntil(state, hand, start + 100_000_000L);
+            assertTrue(System.nanoTime() - start >= 100_000_000L);
+            assertTrue(hand.contains(c));
+        });
+    }
+
+    @Test
+    void searchUntilDeadlineDoesAtLeastTheIterations() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        List<SearchReport> reports = new ArrayList<>();
+        MctsPlayer p = new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS);
+        p.setSearchListener(new SearchListener() {
+            @Override
+            public void searchCompleted(SearchReport report) {
+                reports.add(report);
+            }
+        });
+        Card c = p.cardToPlayUntil(state, hand, System.nanoTime());
+        assertEquals(1, reports.size());
+        assertEquals(ITERATIONS, reports.get(0).iterations());
+        assertEquals(new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS).cardToPlay(state, hand), c);
+    }
+
+    @Test
+    void searchListenerReceivesEverySearch() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        List<SearchReport> reports = new ArrayList<>();
+        MctsPlayer p = new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS);
+        p.setSearchListener(new SearchListener() {
+            @Override
+            public void searchCompleted(SearchReport report) {
+                reports.add(report);
+            }
+        });
+        Card c = p.cardToPlay(state, hand);
+        assertEquals(new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS).cardToPlay(state, hand), c);
+        assertEquals(1, reports.size());
+        SearchReport report = reports.get(0);
+        assertEquals(PlayerId.PLAYER_1, report.player());
+        assertEquals(ITERATIONS, report.iterations());
+        assertEquals(ITERATIONS, report.statistics().totalTurns());
+        assertEquals(hand, report.statistics().cards());
+        assertTrue(report.nodes() > hand.size() && report.nodes() <= ITERATIONS + 1);
+        assertTrue(report.maxDepth() > 1);
+        assertTrue(report.rolloutNanos() > 0);
+        assertTrue(report.selectionNanos() + report.expansionNanos() + report.rolloutNanos()
+                + report.backpropagationNanos() <= report.durationNanos());
+
+        p.chooseTrump(hand, false);
+        assertEquals(1 + Color.COUNT, reports.size());
+    }
+
+    @Test
+    void searchTriesEveryCardDespiteExpiredDeadline() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+        MctsPlayer p = new MctsPlayer(PlayerId.PLAYER_1, SEED, ITERATIONS);
+        assertTrue(hand.contains(p.cardToPlay(state, hand, System.nanoTime() - 1)));
+    }
+
     private static TurnState stateAfterPlayingAllCardsIn(CardSet cards, Color trump, PlayerId firstPlayer) {
         TurnState s = TurnState.initial(trump, Score.INITIAL, firstPlayer);
         for (int i = 0; i < cards.size(); ++i)
@@ -4,8 +4,11 @@ import ch.epfl.javass.jass.Card.Color;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +38,109 @@ public class PacedPlayerTest {
         });
     }
 
+    @Test
+    void asyncPacingDoesNotBlockTheCaller() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+            CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.SPADE);
+            long t0 = System.currentTimeMillis();
+            List<CompletableFuture<Card>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; ++i) {
+                futures.add(new PacedPlayer(new TestPlayer(i % hand.size()), 1).cardToPlayAsync(state, hand));
+            }
+            assertTrue(System.currentTimeMillis() - t0 < 995);
+            for (int i = 0; i < futures.size(); ++i) {
+                assertEquals(hand.get(i % hand.size()), futures.get(i).join());
+            }
+            long elapsedTime = System.currentTimeMillis() - t0;
+            assertTrue(elapsedTime >= 995);
+            assertTrue(elapsedTime < 5000);
+        });
+    }
+
+    @Test
+    void asyncPacingForwardsFailures() {
+        Player failing = new TestPlayer() {
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                throw new IllegalStateException();
+            }
+        };
+        CompletableFuture<Card> future = new PacedPlayer(failing, 1).cardToPlayAsync(
+                TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1), CardSet.ALL_CARDS);
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void idleTimeIsGivenToTimeAwarePlayer() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            long[] deadline = new long[1];
+            TimeAwarePlayer tp = new TimeAwarePlayer() {
+                @Override
+                public Card cardToPlay(TurnState state, CardSet hand) {
+                    throw new AssertionError();
+                }
+
+                @Override
+                public Card cardToPlay(TurnState state, CardSet hand, long deadlineNanos) {
+                    deadline[0] = deadlineNanos;
+                    return hand.get(0);
+                }
+
+                @Override
+                public Color chooseTrump(CardSet hand, boolean canPass, long deadlineNanos) {
+                    return Color.SPADE;
+                }
+
+                @Override
+                public Color chooseTrump(CardSet hand, boolean canPass) {
+                    return Color.SPADE;
+                }
+            };
+            Player p = new PacedPlayer(tp, 0.2, true);
+            long t0 = System.nanoTime();
+            CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.SPADE);
+            assertEquals(hand.get(0), p.cardToPlay(TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1), hand));
+            assertTrue(System.nanoTime() - t0 >= 195_000_000L);
+            assertTrue(deadline[0] - t0 >= 200_000_000L);
+            assertTrue(deadline[0] - t0 < 300_000_000L);
+        });
+    }
+
+    @Test
+    void asyncPacingDoesNotGiveTheIdleTime() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            TimeAwarePlayer tp = new TimeAwarePlayer() {
+                @Override
+                public Card cardToPlay(TurnState state, CardSet hand) {
+                    return hand.get(0);
+                }
+
+                @Override
+                public Card cardToPlay(TurnState state, CardSet hand, long deadlineNanos) {
+                    throw new AssertionError();
+                }
+
+                @Override
+                public Color chooseTrump(CardSet hand, boolean canPass, long deadlineNanos) {
+                    return Color.SPADE;
+                }
+
+                @Override
+                public Color chooseTrump(CardSet hand, boolean canPass) {
+                    return Color.SPADE;
+                }
+            };
+            PacedPlayer p = new PacedPlayer(tp, 0.5, true);
+            long t0 = System.nanoTime();
+            CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.SPADE);
+            CompletableFuture<Card> future = p.cardToPlayAsync(TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1), hand);
+            assertTrue(System.nanoTime() - t0 < 400_000_000L);
+            assertEquals(hand.get(0), future.join());
+            assertTrue(System.nanoTime() - t0 >= 495_000_000L);
+        });
+    }
+
     @Test
     void setPlayersIsCorrectlyForwarded() {
         assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
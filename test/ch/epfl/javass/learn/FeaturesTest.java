@@ -0,0 +1,54 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeaturesTest {
+    @Test
+    void cardIndexIsABijection() {
+        boolean[] seen = new boolean[Features.CARDS];
+        for (int i = 0; i < CardSet.ALL_CARDS.size(); ++i) {
+            int index = Features.cardIndex(CardSet.ALL_CARDS.get(i).packed());
+            assertFalse(seen[index]);
+            seen[index] = true;
+        }
+    }
+
+    @Test
+    void encodeFailsWithTooShortArray() {
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+        assertThrows(IllegalArgumentException.class, () -> {
+            Features.encode(state, CardSet.EMPTY.packed(), PlayerId.PLAYER_1, new float[Features.SIZE - 1]);
+        });
+    }
+
+    @Test
+    void encodeSeparatesHandTrickAndUnseenCards() {
+        Card played = Card.of(Color.HEART, Rank.ACE);
+        TurnState state = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1)
+                .withNewCardPlayed(played);
+        CardSet hand = CardSet.ALL_CARDS.subsetOfColor(Color.CLUB);
+        float[] features = new float[Features.SIZE];
+        features[0] = 42;
+        Features.encode(state, hand.packed(), PlayerId.PLAYER_2, features);
+
+        int handCount = 0, unseenCount = 0;
+        for (int i = 0; i < Features.CARDS; ++i) {
+            handCount += features[i];
+            unseenCount += features[Features.CARDS + i];
+        }
+        assertEquals(hand.size(), handCount);
+        assertEquals(36 - hand.size() - 1, unseenCount);
+        assertEquals(0.25f, features[2 * Features.CARDS + Features.cardIndex(played.packed())]);
+        for (float f: features)
+            assertTrue(0 <= f && f <= 1);
+    }
+}
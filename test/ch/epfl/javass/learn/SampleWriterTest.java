@@ -0,0 +1,140 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SampleWriterTest {
+    private static Sample sample(int i) {
+        float[] features = new float[Features.SIZE];
+        float[] visits = new float[Features.CARDS];
+        features[i % Features.SIZE] = i;
+        visits[i % Features.CARDS] = 1;
+        Sample sample = new Sample(features, visits);
+        sample.setPoints(i);
+        return sample;
+    }
+
+    private static List<Path> chunks(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    // reads the samples of a chunk file
+    private static List<Sample> readChunk(Path chunk) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(chunk))) {
+            assertEquals(Features.SIZE, in.readInt());
+            while (true) {
+                float[] features = new float[Features.SIZE];
+                float[] visits = new float[Features.CARDS];
+                try {
+                    features[0] = in.readFloat();
+                } catch (EOFException e) {
+                    return samples;
+                }
+                for (int i = 1; i < features.length; i++) {
+                    features[i] = in.readFloat();
+                }
+                for (int i = 0; i < visits.length; i++) {
+                    visits[i] = in.readFloat();
+                }
+                Sample sample = new Sample(features, visits);
+                sample.setPoints(in.readFloat());
+                samples.add(sample);
+            }
+        }
+    }
+
+    private static void assertSameSample(Sample expected, Sample actual) {
+        assertArrayEquals(expected.features(), actual.features());
+        assertArrayEquals(expected.visits(), actual.visits());
+        assertEquals(expected.points(), actual.points());
+    }
+
+    @Test
+    void samplesAreReadBackFromTheChunks() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Path directory = Files.createTempDirectory("samples");
+            try (SampleWriter writer = new SampleWriter(directory, 10, 4, 1)) {
+                for (int i = 0; i < 25; i++) {
+                    writer.add(sample(i));
+                }
+            }
+            List<Path> chunks = chunks(directory);
+            assertEquals(3, chunks.size());
+            List<Sample> samples = new ArrayList<>();
+            for (Path chunk : chunks) {
+                samples.addAll(readChunk(chunk));
+            }
+            assertEquals(25, samples.size());
+            for (int i = 0; i < samples.size(); i++) {
+                assertSameSample(sample(i), samples.get(i));
+            }
+        });
+    }
+
+    @Test
+    void samplesAreSharedBetweenTheWriterThreads() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Path directory = Files.createTempDirectory("samples");
+            try (SampleWriter writer = new SampleWriter(directory, 7, 2, 3)) {
+                for (int i = 0; i < 100; i++) {
+                    writer.add(sample(i));
+                }
+            }
+            Map<Float, Sample> samples = new HashMap<>();
+            for (Path chunk : chunks(directory)) {
+                List<Sample> chunkSamples = readChunk(chunk);
+                assertTrue(chunkSamples.size() > 0 && chunkSamples.size() <= 7);
+                for (Sample sample : chunkSamples) {
+                    assertNull(samples.put(sample.points(), sample));
+                }
+            }
+            assertEquals(100, samples.size());
+            for (int i = 0; i < 100; i++) {
+                assertSameSample(sample(i), samples.get((float) i));
+            }
+        });
+    }
+
+    @Test
+    void interruptedSelfPlayKeepsTheInterruptFlag() throws IOException {
+        Path directory = Files.createTempDirectory("samples");
+        try (SampleWriter writer = new SampleWriter(directory, 10, 4, 1)) {
+            SelfPlayPlayer player = new SelfPlayPlayer(new MctsPlayer(PlayerId.PLAYER_1, 0, 100), writer);
+            player.setPlayers(PlayerId.PLAYER_1, Map.of());
+            player.cardToPlay(TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1),
+                    CardSet.ALL_CARDS.subsetOfColor(Color.HEART));
+            Score score = Score.INITIAL;
+            for (int i = 0; i < 9; i++) {
+                score = score.withAdditionalTrick(TeamId.TEAM_1, 10);
+            }
+            Score endOfTurn = score;
+            Thread.currentThread().interrupt();
+            assertThrows(RuntimeException.class, () -> player.updateScore(endOfTurn));
+            assertTrue(Thread.interrupted());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ch.epfl.javass.learn;
+
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValueNetworkTest {
+    private static final TurnState STATE = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+    private static final CardSet HAND = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+
+    @Test
+    void constructorFailsWithInconsistentDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ValueNetwork(new int[] { Features.SIZE, 2 }, new float[][] { new float[2 * Features.SIZE] }, new float[][] { new float[2] });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ValueNetwork(new int[] { Features.SIZE, 1 }, new float[][] { new float[Features.SIZE - 1] }, new float[][] { new float[1] });
+        });
+    }
+
+    @Test
+    void linearNetworkComputesWeightedSum() {
+        float[] w = new float[Features.SIZE];
+        for (int i = 0; i < Features.CARDS; ++i)
+            w[i] = 2; // two points per card in hand
+        ValueNetwork n = new ValueNetwork(new int[] { Features.SIZE, 1 }, new float[][] { w }, new float[][] { { 10 } });
+        double[] points = new double[2];
+        n.evaluate(new TurnState[] { STATE, STATE }, new long[] { HAND.packed(), CardSet.EMPTY.packed() }, PlayerId.PLAYER_1, 2, points);
+        assertEquals(10 + 2 * HAND.size(), points[0], 1e-6);
+        assertEquals(10, points[1], 1e-6);
+    }
+
+    @Test
+    void hiddenLayersAreRectified() {
+        float[] w1 = new float[2 * Features.SIZE];
+        float[] b1 = { -5, 3 };
+        float[] w2 = { 1, 1 };
+        ValueNetwork n = new ValueNetwork(new int[] { Features.SIZE, 2, 1 }, new float[][] { w1, w2 }, new float[][] { b1, { 0 } });
+        double[] points = new double[1];
+        n.evaluate(new TurnState[] { STATE }, new long[] { HAND.packed() }, PlayerId.PLAYER_1, 1, points);
+        assertEquals(3, points[0], 1e-6);
+    }
+
+    @Test
+    void loadReadsWeightFile() throws Exception {
+        Path path = Files.createTempFile("weights", ".bin");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+                out.writeInt(1);
+                out.writeInt(Features.SIZE);
+                out.writeInt(1);
+                for (int i = 0; i < Features.SIZE; ++i)
+                    out.writeFloat(0);
+                out.writeFloat(42);
+            }
+            ValueNetwork n = ValueNetwork.load(path);
+            double[] points = new double[1];
+            n.evaluate(new TurnState[] { STATE }, new long[] { HAND.packed() }, PlayerId.PLAYER_1, 1, points);
+            assertEquals(42, points[0], 1e-6);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void mctsPlayerWithEvaluatorPlaysPlayableCard() {
+        ValueNetwork n = new ValueNetwork(new int[] { Features.SIZE, 1 }, new float[][] { new float[Features.SIZE] }, new float[][] { { 70 } });
+        MctsPlayer p = new MctsPlayer(PlayerId.PLAYER_1, 0, 100, MctsPlayer.DEFAULT_EXPLORATION_CONSTANT, n);
+        assertTrue(HAND.contains(p.cardToPlay(STATE, HAND)));
+        assertEquals(100, p.statistics(STATE, HAND).totalTurns());
+    }
+}
@@ -0,0 +1,138 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.SearchStatistics;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistributedMctsPlayerTest {
+    private static final TurnState STATE = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+    private static final CardSet HAND = CardSet.ALL_CARDS.subsetOfColor(Color.HEART)
+            .remove(Card.of(Color.HEART, Rank.SIX))
+            .add(Card.of(Color.SPADE, Rank.JACK));
+
+    @Test
+    void mergedStatisticsAddTheSearches() {
+        SearchStatistics a = new MctsPlayer(PlayerId.PLAYER_1, 1, 1_000).statistics(STATE, HAND);
+        SearchStatistics b = new MctsPlayer(PlayerId.PLAYER_1, 2, 2_000).statistics(STATE, HAND);
+        SearchStatistics merged = a.merge(b);
+        assertEquals(HAND, merged.cards());
+        assertEquals(3_000, merged.totalTurns());
+        for (int i = 0; i < HAND.size(); i++) {
+            Card card = HAND.get(i);
+            assertEquals(a.turns(card) + b.turns(card), merged.turns(card));
+            assertEquals(a.totalPoints(card) + b.totalPoints(card), merged.totalPoints(card), 1e-9);
+        }
+    }
+
+    @Test
+    void workersChooseCardsAndTrumps() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (MctsWorkerServer w1 = new MctsWorkerServer(0); MctsWorkerServer w2 = new MctsWorkerServer(0)) {
+                w1.start();
+                w2.start();
+                List<InetSocketAddress> workers = List.of(
+                        new InetSocketAddress("localhost", w1.port()),
+                        new InetSocketAddress("localhost", w2.port()));
+                try (DistributedMctsPlayer p = new DistributedMctsPlayer(PlayerId.PLAYER_1, 0, 5_000, workers)) {
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND)));
+                    Card c = p.cardToPlay(STATE, HAND, System.nanoTime() + 100_000_000L);
+                    assertTrue(HAND.contains(c));
+                    assertNotNull(p.chooseTrump(HAND, false));
+                }
+            }
+        });
+    }
+
+    @Test
+    void statisticsWithoutCardsAreReadAsEmpty() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkerProtocol.writeStatistics(new DataOutputStream(bytes), SearchStatistics.EMPTY);
+        SearchStatistics statistics = WorkerProtocol.readStatistics(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertTrue(statistics.cards().isEmpty());
+        assertEquals(0, statistics.totalTurns());
+    }
+
+    @Test
+    void failedWorkersAreDroppedAndReplacedBySearchingLocally() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // the workers are closed during the game, so they are not resources of the try
+            MctsWorkerServer w1 = new MctsWorkerServer(0);
+            MctsWorkerServer w2 = new MctsWorkerServer(0);
+            try {
+                w1.start();
+                w2.start();
+                List<InetSocketAddress> workers = List.of(
+                        new InetSocketAddress("localhost", w1.port()),
+                        new InetSocketAddress("localhost", w2.port()));
+                try (DistributedMctsPlayer p = new DistributedMctsPlayer(PlayerId.PLAYER_1, 0, 1_000, workers)) {
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND)));
+                    w2.close();
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND)));
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND, System.nanoTime() + 100_000_000L)));
+                    w1.close();
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND)));
+                    assertNotNull(p.chooseTrump(HAND, false));
+                }
+            } finally {
+                w1.close();
+                w2.close();
+            }
+        });
+    }
+
+    @Test
+    void silentWorkersAreDroppedOnceLate() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (MctsWorkerServer w1 = new MctsWorkerServer(0);
+                 ServerSocket silentWorker = new ServerSocket(0)) {
+                w1.start();
+                // accepts the connection and reads the requests, but never replies
+                Thread silent = new Thread(() -> {
+                    try (Socket s = silentWorker.accept()) {
+                        while (s.getInputStream().read() >= 0) {
+                            // the requests are discarded
+                        }
+                    } catch (IOException e) {
+                        // the test is over
+                    }
+                });
+                silent.setDaemon(true);
+                silent.start();
+                List<InetSocketAddress> workers = List.of(
+                        new InetSocketAddress("localhost", w1.port()),
+                        new InetSocketAddress("localhost", silentWorker.getLocalPort()));
+                try (DistributedMctsPlayer p = new DistributedMctsPlayer(PlayerId.PLAYER_1, 0, 1_000, workers)) {
+                    long start = System.nanoTime();
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND, System.nanoTime() + 100_000_000L)));
+                    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+                    // the silent worker is no longer waited for, even without time budget
+                    start = System.nanoTime();
+                    assertTrue(HAND.contains(p.cardToPlay(STATE, HAND)));
+                    assertNotNull(p.chooseTrump(HAND, false));
+                    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.PackedCard;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageCodecTest {
+    private static final String[] NAMES = { "Aline", "Bastien", "Colette", "Zoé" };
+
+    // a message of a command whose fields all have random values, budgets included
+    private static Message randomMessage(SplittableRandom rng, JassCommand command) {
+        Message m = new Message();
+        m.command = command;
+        m.ordinal = rng.nextInt(4);
+        for (int i = 0; i < m.names.length; i++) {
+            m.names[i] = NAMES[rng.nextInt(NAMES.length)];
+        }
+        m.hand = rng.nextLong() >>> rng.nextInt(64);
+        m.score = rng.nextLong() >>> rng.nextInt(64);
+        m.unplayedCards = rng.nextLong() >>> rng.nextInt(64);
+        m.trick = rng.nextInt() >>> rng.nextInt(32);
+        m.canPass = rng.nextBoolean();
+        m.budget = rng.nextBoolean() ? 0 : rng.nextInt(Integer.MAX_VALUE);
+        m.sequence = rng.nextInt(Integer.MAX_VALUE);
+        return m;
+    }
+
+    // checks the fields used by the command of the expected message
+    private static void assertSameMessage(Message expected, Message actual) {
+        assertEquals(expected.command, actual.command);
+        switch (expected.command) {
+        case CHTR:
+            assertEquals(expected.hand, actual.hand);
+            assertEquals(expected.canPass, actual.canPass);
+            assertEquals(expected.budget, actual.budget);
+            break;
+        case CARD:
+            assertEquals(expected.score, actual.score);
+            assertEquals(expected.unplayedCards, actual.unplayedCards);
+            assertEquals(expected.trick, actual.trick);
+            assertEquals(expected.hand, actual.hand);
+            assertEquals(expected.budget, actual.budget);
+            break;
+        case CDLT:
+            assertEquals(expected.sequence, actual.sequence);
+            assertEquals(expected.budget, actual.budget);
+            break;
+        case PLRS:
+            assertEquals(expected.ordinal, actual.ordinal);
+            assertArrayEquals(expected.names, actual.names);
+            break;
+        case HAND:
+            assertEquals(expected.hand, actual.hand);
+            break;
+        case TRCK:
+            assertEquals(expected.trick, actual.trick);
+            break;
+        case SCOR:
+            assertEquals(expected.score, actual.score);
+            break;
+        default: // TRMP, WINR
+            assertEquals(expected.ordinal, actual.ordinal);
+            break;
+        }
+    }
+
+    private static void assertRoundTrips(BiFunction<InputStream, OutputStream, MessageCodec> codecs) throws IOException {
+        SplittableRandom rng = new SplittableRandom(0);
+        for (int i = 0; i < 1_000; i++) {
+            Message[] sent = new Message[JassCommand.values().length];
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            MessageCodec writer = codecs.apply(new ByteArrayInputStream(new byte[0]), bytes);
+            for (JassCommand command : JassCommand.values()) {
+                sent[command.ordinal()] = randomMessage(rng, command);
+                writer.write(sent[command.ordinal()]);
+            }
+            writer.flush();
+
+            MessageCodec reader = codecs.apply(new ByteArrayInputStream(bytes.toByteArray()), new ByteArrayOutputStream());
+            Message received = new Message();
+            for (Message m : sent) {
+                assertTrue(reader.read(received));
+                assertSameMessage(m, received);
+            }
+            assertFalse(reader.read(received));
+        }
+    }
+
+    private static void assertRepliesRoundTrip(BiFunction<InputStream, OutputStream, MessageCodec> codecs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MessageCodec writer = codecs.apply(new ByteArrayInputStream(new byte[0]), bytes);
+        for (int value = 0; value <= PackedCard.INVALID; value++) {
+            writer.writeReply(value);
+        }
+        MessageCodec reader = codecs.apply(new ByteArrayInputStream(bytes.toByteArray()), new ByteArrayOutputStream());
+        for (int value = 0; value <= PackedCard.INVALID; value++) {
+            assertEquals(value, reader.readReply());
+        }
+        assertThrows(IOException.class, () -> reader.readReply());
+    }
+
+    @Test
+    void everyCommandRoundTripsThroughTheTextCodec() throws IOException {
+        assertRoundTrips(TextCodec::new);
+    }
+
+    @Test
+    void everyCommandRoundTripsThroughTheBinaryCodec() throws IOException {
+        assertRoundTrips(BinaryCodec::new);
+    }
+
+    @Test
+    void repliesRoundTripThroughBothCodecs() throws IOException {
+        assertRepliesRoundTrip(TextCodec::new);
+        assertRepliesRoundTrip(BinaryCodec::new);
+    }
+}
@@ -0,0 +1,224 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiplexedConnectionTest {
+    private static Player firstCardPlayer(PlayerId ownId) {
+        return new Player() {
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                return state.trick().playableCards(hand).get(0);
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass) {
+                return Color.ALL.get(ownId.ordinal());
+            }
+        };
+    }
+
+    private static JassGame playRemotely(MultiplexedConnection connection, long rngSeed) throws Exception {
+        Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        List<RemotePlayerClient> clients = new ArrayList<>();
+        for (PlayerId playerId : PlayerId.ALL) {
+            RemotePlayerClient client = new RemotePlayerClient(connection);
+            clients.add(client);
+            players.put(playerId, client);
+            names.put(playerId, playerId.name());
+        }
+        JassGame game = new JassGame(rngSeed, players, names);
+        while (!game.isGameOver()) {
+            game.advanceToEndOfNextTrick();
+        }
+        for (RemotePlayerClient client : clients) {
+            client.close();
+        }
+        return game;
+    }
+
+    private static JassGame playLocally(long rngSeed) {
+        Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            players.put(playerId, firstCardPlayer(playerId));
+            names.put(playerId, playerId.name());
+        }
+        JassGame game = new JassGame(rngSeed, players, names);
+        while (!game.isGameOver()) {
+            game.advanceToEndOfNextTrick();
+        }
+        return game;
+    }
+
+    @Test
+    void concurrentGamesShareOneConnection() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 16, MultiplexedConnectionTest::firstCardPlayer);
+                 MultiplexedConnection connection = new MultiplexedConnection("localhost", server.port())) {
+                server.start();
+                JassGame[] games = new JassGame[3];
+                Thread[] threads = new Thread[games.length];
+                for (int i = 0; i < games.length; i++) {
+                    int game = i;
+                    threads[i] = new Thread(() -> {
+                        try {
+                            games[game] = playRemotely(connection, game);
+                        } catch (Exception e) {
+                            throw new AssertionError(e);
+                        }
+                    });
+                    threads[i].start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                for (int i = 0; i < games.length; i++) {
+                    assertEquals(playLocally(i).winningTeam(), games[i].winningTeam());
+                }
+                while (!server.seats().isEmpty()) {
+                    Thread.sleep(10);
+                }
+                assertEquals(0, connection.sessions());
+            }
+        });
+    }
+
+    @Test
+    void waitingSessionsDoNotBlockTheSeatedOnes() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (RemoteSeatServer server = new RemoteSeatServer(0, PlayerId.COUNT, MultiplexedConnectionTest::firstCardPlayer);
+                 MultiplexedConnection connection = new MultiplexedConnection("localhost", server.port())) {
+                server.start();
+                JassGame[] games = new JassGame[2];
+                Thread[] threads = new Thread[games.length];
+                for (int i = 0; i < games.length; i++) {
+                    int game = i;
+                    threads[i] = new Thread(() -> {
+                        try {
+                            games[game] = playRemotely(connection, game);
+                        } catch (Exception e) {
+                            throw new AssertionError(e);
+                        }
+                    });
+                }
+                // the second game only opens its sessions once the first one holds all the seats
+                threads[0].start();
+                while (server.seats().size() < PlayerId.COUNT) {
+                    Thread.sleep(1);
+                }
+                threads[1].start();
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                for (int i = 0; i < games.length; i++) {
+                    assertEquals(playLocally(i).winningTeam(), games[i].winningTeam());
+                }
+            }
+        });
+    }
+
+    @Test
+    void lateMessagesOfAClosedSessionAreDropped() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<PlayerId> seated = Collections.synchronizedList(new ArrayList<>());
+            Function<PlayerId, Player> factory = playerId -> {
+                seated.add(playerId);
+                return firstCardPlayer(playerId);
+            };
+            Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+            for (PlayerId playerId : PlayerId.ALL) {
+                names.put(playerId, playerId.name());
+            }
+            try (RemoteSeatServer server = new RemoteSeatServer(0, PlayerId.COUNT, factory);
+                 MultiplexedConnection connection = new MultiplexedConnection("localhost", server.port())) {
+                server.start();
+                RemotePlayerClient closed = new RemotePlayerClient(connection);
+                closed.setPlayers(PlayerId.PLAYER_1, names);
+                while (seated.isEmpty()) {
+                    Thread.sleep(1);
+                }
+                for (RemoteSeatServer.Seat seat : server.seats().values()) {
+                    seat.close();
+                }
+                while (!server.seats().isEmpty()) {
+                    Thread.sleep(1);
+                }
+
+                // would open a new session, seated as PLAYER_2, if it was not dropped
+                closed.setPlayers(PlayerId.PLAYER_2, names);
+                RemotePlayerClient open = new RemotePlayerClient(connection);
+                open.setPlayers(PlayerId.PLAYER_3, names);
+                while (seated.size() < 2) {
+                    Thread.sleep(1);
+                }
+                Thread.sleep(100);
+                assertEquals(Arrays.asList(PlayerId.PLAYER_1, PlayerId.PLAYER_3), seated);
+                assertEquals(1, server.seats().size());
+                open.close();
+            }
+        });
+    }
+
+    @Test
+    void sessionsQueuingTooManyMessagesAreClosed() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+            for (PlayerId playerId : PlayerId.ALL) {
+                names.put(playerId, playerId.name());
+            }
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 1, MultiplexedConnectionTest::firstCardPlayer);
+                 MultiplexedConnection connection = new MultiplexedConnection("localhost", server.port())) {
+                server.start();
+                RemotePlayerClient seated = new RemotePlayerClient(connection);
+                seated.setPlayers(PlayerId.PLAYER_1, names);
+                while (server.seats().isEmpty()) {
+                    Thread.sleep(1);
+                }
+
+                // the session waits for the seat, so none of its messages is read
+                Socket flooding = new Socket("localhost", server.port());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(flooding.getOutputStream()));
+                out.write(MultiplexedConnection.MAGIC);
+                Message hand = new Message();
+                hand.command = JassCommand.HAND;
+                for (int i = 0; i <= SessionCodec.MAX_QUEUED_MESSAGES; i++) {
+                    out.writeInt(0);
+                    BinaryCodec.writeMessage(out, hand);
+                }
+                out.flush();
+                DataInputStream in = new DataInputStream(flooding.getInputStream());
+                assertEquals(0, in.readInt());
+                assertEquals(MultiplexedConnection.END_OF_SESSION, in.readUnsignedByte());
+
+                // the other connections are still served
+                assertNotNull(seated.cardToPlay(TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_1), CardSet.ALL_CARDS));
+                seated.close();
+                flooding.close();
+            }
+        });
+    }
+}
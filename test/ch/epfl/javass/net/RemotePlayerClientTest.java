@@ -0,0 +1,230 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.Card.Rank;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.Trick;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RemotePlayerClientTest {
+    private static final TurnState STATE = TurnState.initial(Color.SPADE, Score.INITIAL, PlayerId.PLAYER_1);
+    private static final CardSet HAND = CardSet.ALL_CARDS.subsetOfColor(Color.HEART);
+    private static final Card LATE_CARD = Card.of(Color.HEART, Rank.ACE);
+    private static final Card FALLBACK_CARD = Card.of(Color.HEART, Rank.KING);
+    private static final Card CARD = Card.of(Color.HEART, Rank.SIX);
+
+    private static Player fixedPlayer(Card card) {
+        return new Player() {
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                return card;
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass) {
+                return Color.HEART;
+            }
+        };
+    }
+
+    private static Player firstCardPlayer(PlayerId ownId) {
+        return new Player() {
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                return state.trick().playableCards(hand).get(0);
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass) {
+                return Color.ALL.get(ownId.ordinal());
+            }
+        };
+    }
+
+    // plays a game and gives the cards played, followed by the winning team
+    private static List<Object> play(Map<PlayerId, Player> players, long rngSeed) {
+        List<Object> plays = new ArrayList<>();
+        Map<PlayerId, Player> recordingPlayers = new EnumMap<>(PlayerId.class);
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            Player player = players.get(playerId);
+            recordingPlayers.put(playerId, new Player() {
+                @Override
+                public Card cardToPlay(TurnState state, CardSet hand) {
+                    Card card = player.cardToPlay(state, hand);
+                    plays.add(card);
+                    return card;
+                }
+
+                @Override
+                public Color chooseTrump(CardSet hand, boolean canPass) {
+                    return player.chooseTrump(hand, canPass);
+                }
+
+                @Override
+                public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+                    player.setPlayers(ownId, playerNames);
+                }
+
+                @Override
+                public void updateHand(CardSet newHand) {
+                    player.updateHand(newHand);
+                }
+
+                @Override
+                public void setTrump(Color trump) {
+                    player.setTrump(trump);
+                }
+
+                @Override
+                public void updateTrick(Trick newTrick) {
+                    player.updateTrick(newTrick);
+                }
+
+                @Override
+                public void updateScore(Score score) {
+                    player.updateScore(score);
+                }
+
+                @Override
+                public void setWinningTeam(TeamId winningTeam) {
+                    player.setWinningTeam(winningTeam);
+                }
+            });
+            names.put(playerId, playerId.name());
+        }
+        JassGame game = new JassGame(rngSeed, recordingPlayers, names);
+        while (!game.isGameOver()) {
+            game.advanceToEndOfNextTrick();
+        }
+        plays.add(game.winningTeam());
+        return plays;
+    }
+
+    private static void write(OutputStream out, String s) throws Exception {
+        out.write(s.getBytes(US_ASCII));
+        out.flush();
+    }
+
+    @Test
+    void lateReplyReceivedInTwoPartsIsSkipped() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (ServerSocket server = new ServerSocket(0)) {
+                Thread slowServer = new Thread(() -> {
+                    try (Socket s = server.accept()) {
+                        BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), US_ASCII));
+                        OutputStream out = s.getOutputStream();
+                        // the first reply starts before the time limit and ends after it
+                        assertTrue(in.readLine().startsWith("CARD"));
+                        write(out, Integer.toHexString(LATE_CARD.packed()));
+                        Thread.sleep(500);
+                        write(out, "\n");
+                        assertTrue(in.readLine().startsWith("CARD"));
+                        write(out, Integer.toHexString(CARD.packed()) + "\n");
+                        in.readLine();
+                    } catch (Exception e) {
+                        throw new Error(e);
+                    }
+                });
+                slowServer.start();
+                try (RemotePlayerClient client = new RemotePlayerClient("localhost", server.getLocalPort(), false)) {
+                    client.setTimeout(200, fixedPlayer(FALLBACK_CARD));
+                    assertEquals(FALLBACK_CARD, client.cardToPlay(STATE, HAND));
+                    client.setTimeout(0, null);
+                    assertEquals(CARD, client.cardToPlay(STATE, HAND));
+                }
+                slowServer.join();
+            }
+        });
+    }
+
+    @Test
+    void coalescingClientsPlayTheSameGames() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 4, RemotePlayerClientTest::firstCardPlayer)) {
+                server.start();
+                for (long rngSeed = 0; rngSeed < 3; rngSeed++) {
+                    Map<PlayerId, Player> remotePlayers = new EnumMap<>(PlayerId.class);
+                    Map<PlayerId, Player> localPlayers = new EnumMap<>(PlayerId.class);
+                    List<RemotePlayerClient> clients = new ArrayList<>();
+                    for (PlayerId playerId : PlayerId.ALL) {
+                        RemotePlayerClient client = new RemotePlayerClient("localhost", server.port(), playerId.ordinal() % 2 == 0);
+                        client.setCoalescing(true);
+                        clients.add(client);
+                        remotePlayers.put(playerId, client);
+                        localPlayers.put(playerId, firstCardPlayer(playerId));
+                    }
+                    assertEquals(play(localPlayers, rngSeed), play(remotePlayers, rngSeed));
+                    for (RemotePlayerClient client : clients) {
+                        client.close();
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void coalescingClientFlushesBeforeRequestsAndAfterTheGame() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (ServerSocket server = new ServerSocket(0);
+                 RemotePlayerClient client = new RemotePlayerClient("localhost", server.getLocalPort(), false);
+                 Socket s = server.accept()) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), US_ASCII));
+                OutputStream out = s.getOutputStream();
+                s.setSoTimeout(200);
+                client.setCoalescing(true);
+
+                client.updateHand(HAND);
+                assertThrows(SocketTimeoutException.class, () -> in.read());
+                // the requests are answered by this thread, so they are made by another one
+                Object[] replies = new Object[2];
+                Thread requests = new Thread(() -> {
+                    replies[0] = client.chooseTrump(HAND, false);
+                    client.setTrump(Color.HEART);
+                    replies[1] = client.cardToPlay(STATE, HAND);
+                });
+                requests.start();
+                s.setSoTimeout(0);
+                assertTrue(in.readLine().startsWith("HAND"));
+                assertTrue(in.readLine().startsWith("CHTR"));
+                write(out, Integer.toHexString(Color.HEART.ordinal()) + "\n");
+                assertTrue(in.readLine().startsWith("TRMP"));
+                assertTrue(in.readLine().startsWith("CARD"));
+                write(out, Integer.toHexString(CARD.packed()) + "\n");
+                requests.join();
+                assertEquals(Color.HEART, replies[0]);
+                assertEquals(CARD, replies[1]);
+
+                client.updateScore(Score.INITIAL);
+                s.setSoTimeout(200);
+                assertThrows(SocketTimeoutException.class, () -> in.read());
+                client.setWinningTeam(TeamId.TEAM_1);
+                s.setSoTimeout(0);
+                assertTrue(in.readLine().startsWith("SCOR"));
+                assertTrue(in.readLine().startsWith("WINR"));
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package ch.epfl.javass.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RemotePlayerServerTest {
+    // gives its bytes in one read, and fails if read again, as a socket on which nothing more is sent
+    private static InputStream onlyAvailable(byte[] bytes) {
+        return new InputStream() {
+            private boolean read = false;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                assertFalse(read, "read beyond the available bytes");
+                read = true;
+                int n = Math.min(len, bytes.length);
+                System.arraycopy(bytes, 0, b, off, n);
+                return n;
+            }
+        };
+    }
+
+    @Test
+    void plainTextIsNegotiatedAsText() throws IOException {
+        byte[] text = "PLRS 0 QWxpbmU=,QmFzdGllbg==,Q29sZXR0ZQ==,Wm/DqQ==\nTRMP 2\n".getBytes(US_ASCII);
+        MessageCodec codec = RemotePlayerServer.negotiate(new ByteArrayInputStream(text), new ByteArrayOutputStream());
+        assertTrue(codec instanceof TextCodec);
+        Message m = new Message();
+        assertTrue(codec.read(m));
+        assertEquals(JassCommand.PLRS, m.command);
+        assertEquals("Zoé", m.names[3]);
+        assertTrue(codec.read(m));
+        assertEquals(JassCommand.TRMP, m.command);
+        assertEquals(2, m.ordinal);
+        assertFalse(codec.read(m));
+    }
+
+    @Test
+    void firstLineShorterThanTheMagicIsNegotiatedWithoutWaiting() throws IOException {
+        byte[] text = "1\n".getBytes(US_ASCII);
+        assertTrue(text.length < BinaryCodec.MAGIC.length);
+        BufferedInputStream in = new BufferedInputStream(onlyAvailable(text));
+        assertFalse(RemotePlayerServer.skipMagic(in, BinaryCodec.MAGIC));
+        assertEquals('1', in.read());
+        assertEquals('\n', in.read());
+
+        MessageCodec codec = RemotePlayerServer.negotiate(onlyAvailable(text), new ByteArrayOutputStream());
+        assertTrue(codec instanceof TextCodec);
+        assertEquals(1, codec.readReply());
+    }
+
+    @Test
+    void magicBytesAreNegotiatedAsBinary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(BinaryCodec.MAGIC);
+        Message sent = new Message();
+        sent.command = JassCommand.WINR;
+        sent.ordinal = 1;
+        BinaryCodec.writeMessage(new DataOutputStream(bytes), sent);
+        MessageCodec codec = RemotePlayerServer.negotiate(new ByteArrayInputStream(bytes.toByteArray()), new ByteArrayOutputStream());
+        assertTrue(codec instanceof BinaryCodec);
+        Message m = new Message();
+        assertTrue(codec.read(m));
+        assertEquals(JassCommand.WINR, m.command);
+        assertEquals(1, m.ordinal);
+        assertFalse(codec.read(m));
+    }
+
+    @Test
+    void emptyInputIsNegotiatedAsText() throws IOException {
+        MessageCodec codec = RemotePlayerServer.negotiate(new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream());
+        assertTrue(codec instanceof TextCodec);
+        assertFalse(codec.read(new Message()));
+    }
+}
@@ -0,0 +1,215 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RemoteSeatServerTest {
+    private static final Player FIRST_CARD_PLAYER = new Player() {
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            return state.trick().playableCards(hand).get(0);
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            return Color.SPADE;
+        }
+    };
+
+    private static Map<PlayerId, String> names() {
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            names.put(playerId, playerId.name());
+        }
+        return names;
+    }
+
+    private static Set<PlayerId> seatedIds(RemoteSeatServer server) {
+        Set<PlayerId> ids = new HashSet<>();
+        for (RemoteSeatServer.Seat seat : server.seats().values()) {
+            ids.add(seat.ownId());
+        }
+        return ids;
+    }
+
+    @Test
+    void waitingConnectionIsServedOnceASeatIsFreed() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<PlayerId> created = Collections.synchronizedList(new ArrayList<>());
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 2, playerId -> {
+                created.add(playerId);
+                return FIRST_CARD_PLAYER;
+            })) {
+                server.start();
+                RemotePlayerClient[] clients = new RemotePlayerClient[3];
+                for (int i = 0; i < clients.length; i++) {
+                    clients[i] = new RemotePlayerClient("localhost", server.port(), false);
+                    clients[i].setPlayers(PlayerId.ALL.get(i), names());
+                    // the connections are served in order, the third one waiting
+                    while (i < 2 && created.size() < i + 1) {
+                        Thread.sleep(1);
+                    }
+                }
+                Thread.sleep(100);
+                assertEquals(2, server.seats().size());
+                assertEquals(Arrays.asList(PlayerId.PLAYER_1, PlayerId.PLAYER_2), created);
+                assertEquals(new HashSet<>(Arrays.asList(PlayerId.PLAYER_1, PlayerId.PLAYER_2)), seatedIds(server));
+                for (RemoteSeatServer.Seat seat : server.seats().values()) {
+                    assertNotNull(seat.remoteAddress());
+                }
+
+                RemoteSeatServer.Seat first = null;
+                for (RemoteSeatServer.Seat seat : server.seats().values()) {
+                    if (seat.ownId() == PlayerId.PLAYER_1) {
+                        first = seat;
+                    }
+                }
+                first.close();
+                while (created.size() < 3) {
+                    Thread.sleep(1);
+                }
+                while (!seatedIds(server).equals(new HashSet<>(Arrays.asList(PlayerId.PLAYER_2, PlayerId.PLAYER_3)))) {
+                    Thread.sleep(1);
+                }
+                assertFalse(server.seats().containsKey(first.id()));
+
+                // the seat taken from the waiting connection plays
+                Card card = clients[2].cardToPlay(TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_3), CardSet.ALL_CARDS);
+                assertNotNull(card);
+                for (int i = 1; i < clients.length; i++) {
+                    clients[i].close();
+                }
+                while (!server.seats().isEmpty()) {
+                    Thread.sleep(1);
+                }
+            }
+        });
+    }
+
+    private static RemoteSeatServer.Seat seatOf(RemoteSeatServer server, PlayerId playerId) {
+        for (RemoteSeatServer.Seat seat : server.seats().values()) {
+            if (seat.ownId() == playerId) {
+                return seat;
+            }
+        }
+        return null;
+    }
+
+    private static void waitForCreated(List<PlayerId> created, int count) throws InterruptedException {
+        while (created.size() < count) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void connectionsPastThePendingBoundAreClosed() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<PlayerId> created = Collections.synchronizedList(new ArrayList<>());
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 1, 1, playerId -> {
+                created.add(playerId);
+                return FIRST_CARD_PLAYER;
+            })) {
+                server.start();
+                RemotePlayerClient seated = new RemotePlayerClient("localhost", server.port(), false);
+                seated.setPlayers(PlayerId.PLAYER_1, names());
+                waitForCreated(created, 1);
+                RemotePlayerClient waiting = new RemotePlayerClient("localhost", server.port(), false);
+                waiting.setPlayers(PlayerId.PLAYER_2, names());
+                Thread.sleep(100);
+
+                RemotePlayerClient rejected = new RemotePlayerClient("localhost", server.port(), false);
+                assertThrows(UncheckedIOException.class, () -> rejected.cardToPlay(
+                        TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_3), CardSet.ALL_CARDS));
+
+                seatOf(server, PlayerId.PLAYER_1).close();
+                waitForCreated(created, 2);
+                assertEquals(Arrays.asList(PlayerId.PLAYER_1, PlayerId.PLAYER_2), created);
+                assertNotNull(waiting.cardToPlay(TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_2), CardSet.ALL_CARDS));
+                seated.close();
+                waiting.close();
+                rejected.close();
+            }
+        });
+    }
+
+    @Test
+    void sessionsPastThePendingBoundAreEnded() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<PlayerId> created = Collections.synchronizedList(new ArrayList<>());
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 1, 1, playerId -> {
+                created.add(playerId);
+                return FIRST_CARD_PLAYER;
+            }); MultiplexedConnection connection = new MultiplexedConnection("localhost", server.port())) {
+                server.start();
+                RemotePlayerClient seated = new RemotePlayerClient(connection);
+                seated.setPlayers(PlayerId.PLAYER_1, names());
+                waitForCreated(created, 1);
+                RemotePlayerClient waiting = new RemotePlayerClient(connection);
+                waiting.setPlayers(PlayerId.PLAYER_2, names());
+                Thread.sleep(100);
+
+                RemotePlayerClient rejected = new RemotePlayerClient(connection);
+                rejected.setPlayers(PlayerId.PLAYER_3, names());
+                assertThrows(UncheckedIOException.class, () -> rejected.cardToPlay(
+                        TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_3), CardSet.ALL_CARDS));
+
+                seatOf(server, PlayerId.PLAYER_1).close();
+                waitForCreated(created, 2);
+                assertEquals(Arrays.asList(PlayerId.PLAYER_1, PlayerId.PLAYER_2), created);
+                assertNotNull(waiting.cardToPlay(TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_2), CardSet.ALL_CARDS));
+                waiting.close();
+            }
+        });
+    }
+
+    @Test
+    void sessionsOfAClosedConnectionTakeNoSeat() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<PlayerId> created = Collections.synchronizedList(new ArrayList<>());
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 1, 2, playerId -> {
+                created.add(playerId);
+                return FIRST_CARD_PLAYER;
+            })) {
+                server.start();
+                RemotePlayerClient seated = new RemotePlayerClient("localhost", server.port(), false);
+                seated.setPlayers(PlayerId.PLAYER_1, names());
+                waitForCreated(created, 1);
+
+                // the session waits for the seat, and its connection is closed meanwhile
+                MultiplexedConnection connection = new MultiplexedConnection("localhost", server.port());
+                new RemotePlayerClient(connection).setPlayers(PlayerId.PLAYER_2, names());
+                Thread.sleep(100);
+                connection.close();
+                Thread.sleep(100);
+
+                seatOf(server, PlayerId.PLAYER_1).close();
+                RemotePlayerClient next = new RemotePlayerClient("localhost", server.port(), false);
+                next.setPlayers(PlayerId.PLAYER_3, names());
+                waitForCreated(created, 2);
+                assertEquals(Arrays.asList(PlayerId.PLAYER_1, PlayerId.PLAYER_3), created);
+                assertNotNull(next.cardToPlay(TurnState.initial(Color.HEART, Score.INITIAL, PlayerId.PLAYER_3), CardSet.ALL_CARDS));
+                seated.close();
+                next.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package ch.epfl.javass.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.SplittableRandom;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextLineTest {
+    private static TextLine parse(String s) throws IOException {
+        TextLine line = new TextLine();
+        assertTrue(line.readFrom(new ByteArrayInputStream(s.getBytes(US_ASCII))));
+        return line;
+    }
+
+    @Test
+    void fieldsAreWrittenAsWithStringSerializer() throws IOException {
+        SplittableRandom rng = new SplittableRandom(0);
+        TextLine line = new TextLine();
+        for (int i = 0; i < 10_000; i++) {
+            long l = rng.nextLong() >>> rng.nextInt(64);
+            int n = rng.nextInt() >>> rng.nextInt(32);
+            boolean b = rng.nextBoolean();
+            line.clear();
+            line.appendCommand(JassCommand.CARD);
+            line.appendSeparator(' ');
+            line.appendLong(l);
+            line.appendSeparator(',');
+            line.appendInt(n);
+            line.appendSeparator(' ');
+            line.appendBoolean(b);
+            line.appendSeparator(' ');
+            line.appendString("Zoé");
+            String expected = StringSerializer.join(" ", "CARD",
+                    StringSerializer.join(",", StringSerializer.serializeLong(l), StringSerializer.serializeInt(n)),
+                    StringSerializer.serializeBoolean(b), StringSerializer.serializeString("Zoé"));
+            assertEquals(expected, line.toString());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            line.writeTo(out);
+            TextLine parsed = parse(out.toString(US_ASCII));
+            assertEquals(JassCommand.CARD, parsed.parseCommand());
+            assertEquals(l, parsed.parseLong());
+            assertEquals(n, parsed.parseInt());
+            assertEquals(b, parsed.parseBoolean());
+            assertEquals("Zoé", parsed.parseString());
+            assertFalse(parsed.hasMore());
+        }
+    }
+
+    @Test
+    void linesAreReadOneAtATime() throws IOException {
+        TextLine line = new TextLine();
+        ByteArrayInputStream in = new ByteArrayInputStream("TRCK 1\r\nSCOR ff\n".getBytes(US_ASCII));
+        assertTrue(line.readFrom(in));
+        assertEquals(JassCommand.TRCK, line.parseCommand());
+        assertEquals(1, line.parseInt());
+        assertTrue(line.readFrom(in));
+        assertEquals(JassCommand.SCOR, line.parseCommand());
+        assertEquals(255, line.parseLong());
+        assertFalse(line.readFrom(in));
+    }
+
+    @Test
+    void lineInterruptedByATimeoutIsCompletedByTheNextRead() throws IOException {
+        // gives "CARD 2", then times out once, then gives "8\n"
+        InputStream in = new InputStream() {
+            private final byte[] bytes = "CARD 28\n".getBytes(US_ASCII);
+            private int position = 0;
+            private boolean timedOut = false;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                if (position == 6 && !timedOut) {
+                    timedOut = true;
+                    throw new SocketTimeoutException();
+                }
+                int n = position < 6 ? 6 - position : bytes.length - position;
+                System.arraycopy(bytes, position, b, off, n);
+                position += n;
+                return n;
+            }
+        };
+        TextLine line = new TextLine();
+        assertThrows(SocketTimeoutException.class, () -> line.readFrom(in));
+        assertTrue(line.readFrom(in));
+        assertEquals(JassCommand.CARD, line.parseCommand());
+        assertEquals(0x28, line.parseInt());
+        assertFalse(line.readFrom(in));
+    }
+
+    @Test
+    void invalidFieldsAreRejected() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> parse("NOPE 0").parseCommand());
+        assertThrows(IllegalArgumentException.class, () -> parse("1g").parseInt());
+        assertThrows(IllegalArgumentException.class, () -> parse("100000000").parseInt());
+        assertThrows(IllegalArgumentException.class, () -> parse(",1").parseLong());
+        assertTrue(parse("TRUE").parseBoolean());
+        assertFalse(parse("yes").parseBoolean());
+    }
+}
@@ -0,0 +1,303 @@
+package ch.epfl.javass.net;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.PackedCard;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.Trick;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackedStateTest {
+    private static Player firstCardPlayer(PlayerId ownId) {
+        return new Player() {
+            @Override
+            public Card cardToPlay(TurnState state, CardSet hand) {
+                return state.trick().playableCards(hand).get(0);
+            }
+
+            @Override
+            public Color chooseTrump(CardSet hand, boolean canPass) {
+                return Color.ALL.get(ownId.ordinal());
+            }
+        };
+    }
+
+    // tracks the state from the notifications, as a client would, and counts the requests it matches
+    private static final class TrackingPlayer implements Player {
+        private final Player player;
+        private final TrackedState tracked = new TrackedState();
+        private final Message message = new Message();
+        private int requests = 0;
+        private int matches = 0;
+
+        TrackingPlayer(Player player) {
+            this.player = player;
+        }
+
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            message.command = JassCommand.CARD;
+            message.score = state.packedScore();
+            message.unplayedCards = state.packedUnplayedCards();
+            message.trick = state.packedTrick();
+            message.hand = hand.packed();
+            requests++;
+            if (tracked.matches(message)) {
+                matches++;
+            }
+            tracked.update(message);
+            return player.cardToPlay(state, hand);
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            return player.chooseTrump(hand, canPass);
+        }
+
+        @Override
+        public void updateHand(CardSet newHand) {
+            message.command = JassCommand.HAND;
+            message.hand = newHand.packed();
+            tracked.update(message);
+        }
+
+        @Override
+        public void setTrump(Color trump) {
+            message.command = JassCommand.TRMP;
+            message.ordinal = trump.ordinal();
+            tracked.update(message);
+        }
+
+        @Override
+        public void updateTrick(Trick newTrick) {
+            message.command = JassCommand.TRCK;
+            message.trick = newTrick.packed();
+            tracked.update(message);
+        }
+
+        @Override
+        public void updateScore(Score score) {
+            message.command = JassCommand.SCOR;
+            message.score = score.packed();
+            tracked.update(message);
+        }
+    }
+
+    // counts the CDLT requests a server reads and rejects, and can shift the sequence number of the first one
+    private static final class CountingCodec implements MessageCodec {
+        private final MessageCodec codec;
+        private boolean desynchronize;
+        private volatile int deltas = 0;
+        private volatile int rejected = 0;
+
+        CountingCodec(MessageCodec codec, boolean desynchronize) {
+            this.codec = codec;
+            this.desynchronize = desynchronize;
+        }
+
+        @Override
+        public void write(Message message) throws IOException {
+            codec.write(message);
+        }
+
+        @Override
+        public boolean read(Message message) throws IOException {
+            if (!codec.read(message)) {
+                return false;
+            }
+            if (message.command == JassCommand.CDLT) {
+                deltas++;
+                if (desynchronize) {
+                    desynchronize = false;
+                    message.sequence++;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void writeReply(int value) throws IOException {
+            if (value == PackedCard.INVALID) {
+                rejected++;
+            }
+            codec.writeReply(value);
+        }
+
+        @Override
+        public int readReply() throws IOException {
+            return codec.readReply();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            codec.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            codec.close();
+        }
+    }
+
+    // serves one connection of a server socket in a new thread, through a counting codec
+    private static CountingCodec[] serve(ServerSocket server, Player player, boolean desynchronize) {
+        CountingCodec[] codec = new CountingCodec[1];
+        Thread thread = new Thread(() -> {
+            try (Socket s = server.accept();
+                 CountingCodec c = new CountingCodec(RemotePlayerServer.negotiate(s.getInputStream(), s.getOutputStream()), desynchronize)) {
+                codec[0] = c;
+                RemotePlayerServer.serve(c, player);
+            } catch (IOException e) {
+                throw new Error(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return codec;
+    }
+
+    // plays games against servers counting the CDLT requests, and gives the numbers read and rejected
+    private static int[] playWithDeltas(boolean desynchronize) throws Exception {
+        int[] counts = new int[2];
+        for (long rngSeed = 0; rngSeed < 3; rngSeed++) {
+            Map<PlayerId, Player> remotePlayers = new EnumMap<>(PlayerId.class);
+            Map<PlayerId, Player> localPlayers = new EnumMap<>(PlayerId.class);
+            List<RemotePlayerClient> clients = new ArrayList<>();
+            List<ServerSocket> servers = new ArrayList<>();
+            List<CountingCodec[]> codecs = new ArrayList<>();
+            for (PlayerId playerId : PlayerId.ALL) {
+                ServerSocket server = new ServerSocket(0);
+                servers.add(server);
+                codecs.add(serve(server, firstCardPlayer(playerId), desynchronize));
+                RemotePlayerClient client = new RemotePlayerClient("localhost", server.getLocalPort(), playerId.ordinal() % 2 == 0);
+                client.setDeltaCards(true);
+                clients.add(client);
+                remotePlayers.put(playerId, client);
+                localPlayers.put(playerId, firstCardPlayer(playerId));
+            }
+            assertEquals(play(localPlayers, rngSeed), play(remotePlayers, rngSeed));
+            for (RemotePlayerClient client : clients) {
+                client.close();
+            }
+            for (ServerSocket server : servers) {
+                server.close();
+            }
+            for (CountingCodec[] codec : codecs) {
+                counts[0] += codec[0].deltas;
+                counts[1] += codec[0].rejected;
+            }
+        }
+        return counts;
+    }
+
+    private static TeamId play(Map<PlayerId, Player> players, long rngSeed) {
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            names.put(playerId, playerId.name());
+        }
+        JassGame game = new JassGame(rngSeed, players, names);
+        while (!game.isGameOver()) {
+            game.advanceToEndOfNextTrick();
+        }
+        return game.winningTeam();
+    }
+
+    @Test
+    void notificationsGiveTheStateOfEveryRequest() {
+        for (long rngSeed = 0; rngSeed < 10; rngSeed++) {
+            Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+            List<TrackingPlayer> trackingPlayers = new ArrayList<>();
+            for (PlayerId playerId : PlayerId.ALL) {
+                TrackingPlayer player = new TrackingPlayer(firstCardPlayer(playerId));
+                trackingPlayers.add(player);
+                players.put(playerId, player);
+            }
+            play(players, rngSeed);
+            for (TrackingPlayer player : trackingPlayers) {
+                assertTrue(player.requests > 0);
+                assertEquals(player.requests, player.matches);
+            }
+        }
+    }
+
+    @Test
+    void unknownStateIsNotExpanded() {
+        TrackedState tracked = new TrackedState();
+        Message m = new Message();
+        m.command = JassCommand.CDLT;
+        m.sequence = 0;
+        assertFalse(tracked.expand(m));
+        assertEquals(JassCommand.CDLT, m.command);
+
+        m.command = JassCommand.TRMP;
+        m.ordinal = 0;
+        tracked.update(m);
+        m.command = JassCommand.CDLT;
+        m.sequence = 1;
+        assertFalse(tracked.expand(m));
+        m.sequence = 0;
+        assertTrue(tracked.expand(m));
+        assertEquals(JassCommand.CARD, m.command);
+    }
+
+    @Test
+    void deltaRequestsGiveTheSameGames() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (RemoteSeatServer server = new RemoteSeatServer(0, 4, TrackedStateTest::firstCardPlayer)) {
+                server.start();
+                for (long rngSeed = 0; rngSeed < 3; rngSeed++) {
+                    Map<PlayerId, Player> remotePlayers = new EnumMap<>(PlayerId.class);
+                    Map<PlayerId, Player> localPlayers = new EnumMap<>(PlayerId.class);
+                    List<RemotePlayerClient> clients = new ArrayList<>();
+                    for (PlayerId playerId : PlayerId.ALL) {
+                        RemotePlayerClient client = new RemotePlayerClient("localhost", server.port(), playerId.ordinal() % 2 == 0);
+                        client.setDeltaCards(true);
+                        clients.add(client);
+                        remotePlayers.put(playerId, client);
+                        localPlayers.put(playerId, firstCardPlayer(playerId));
+                    }
+                    assertEquals(play(localPlayers, rngSeed), play(remotePlayers, rngSeed));
+                    for (RemotePlayerClient client : clients) {
+                        client.close();
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void deltaRequestsAreExpandedByTheServer() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            int[] counts = playWithDeltas(false);
+            assertTrue(counts[0] > 0);
+            assertEquals(0, counts[1]);
+        });
+    }
+
+    @Test
+    void desynchronizedDeltaRequestsAreRejectedAndSentInFull() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            int[] counts = playWithDeltas(true);
+            assertTrue(counts[0] > 0);
+            // one rejected request per game and player
+            assertEquals(3 * PlayerId.COUNT, counts[1]);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.GameListener;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.Score;
+import ch.epfl.javass.jass.TeamId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRecordTest {
+    private static final int GAMES = 3;
+
+    // forwards every event to the recorder, keeping a copy to compare with the record
+    private static final class LoggingListener implements GameListener {
+        private final GameRecorder recorder;
+        List<Color> trumps = new ArrayList<>();
+        List<Boolean> passes = new ArrayList<>();
+        List<Integer> cards = new ArrayList<>();
+        long packedScore;
+
+        LoggingListener(GameRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void gameStarted(long rngSeed) {
+            recorder.gameStarted(rngSeed);
+        }
+
+        @Override
+        public void trumpChosen(PlayerId chooser, Color trump, boolean passed) {
+            trumps.add(trump);
+            passes.add(passed);
+            recorder.trumpChosen(chooser, trump, passed);
+        }
+
+        @Override
+        public void cardPlayed(PlayerId player, Card card) {
+            cards.add(card.packed());
+            recorder.cardPlayed(player, card);
+        }
+
+        @Override
+        public void gameOver(Score score, TeamId winningTeam) {
+            packedScore = score.packed();
+            recorder.gameOver(score, winningTeam);
+        }
+    }
+
+    @Test
+    void recordsAreReadBackIdentically() throws Exception {
+        Path path = Files.createTempFile("games", ".bin");
+        try {
+            List<LoggingListener> listeners = new ArrayList<>();
+            try (GameRecordWriter writer = new GameRecordWriter(path)) {
+                for (int g = 0; g < GAMES; ++g) {
+                    Map<PlayerId, Player> ps = new EnumMap<>(PlayerId.class);
+                    Map<PlayerId, String> ns = new EnumMap<>(PlayerId.class);
+                    for (PlayerId pId: PlayerId.ALL) {
+                        ps.put(pId, new MctsPlayer(pId, g, 20));
+                        ns.put(pId, pId.name());
+                    }
+                    LoggingListener l = new LoggingListener(writer.newRecorder());
+                    listeners.add(l);
+                    JassGame game = new JassGame(g, ps, ns, l);
+                    while (!game.isGameOver())
+                        game.advanceToEndOfNextTrick();
+                }
+            }
+
+            try (GameRecordReader reader = new GameRecordReader(path)) {
+                for (int g = 0; g < GAMES; ++g) {
+                    LoggingListener l = listeners.get(g);
+                    assertTrue(reader.next());
+                    assertEquals(g, reader.rngSeed());
+                    assertEquals(l.trumps.size(), reader.turns());
+                    for (int t = 0; t < reader.turns(); ++t) {
+                        assertEquals(l.trumps.get(t), reader.trump(t));
+                        assertEquals(l.passes.get(t), reader.passed(t));
+                    }
+                    assertEquals(l.cards.size(), reader.cardCount());
+                    for (int i = 0; i < reader.cardCount(); ++i)
+                        assertEquals((int) l.cards.get(i), reader.packedCard(i));
+                    assertEquals(l.packedScore, reader.packedScore());
+                }
+                assertFalse(reader.next());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void readerFailsBeforeFirstRecord() throws Exception {
+        Path path = Files.createTempFile("games", ".bin");
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertThrows(IllegalStateException.class, () -> reader.rngSeed());
+            assertFalse(reader.next());
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
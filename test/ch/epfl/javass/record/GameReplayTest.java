@@ -0,0 +1,80 @@
+package ch.epfl.javass.record;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.JassGame;
+import ch.epfl.javass.jass.MctsPlayer;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameReplayTest {
+    // MctsPlayer remembering the situation of each of its cards
+    private static final class LoggingPlayer extends MctsPlayer {
+        private final PlayerId ownId;
+        private final List<Decision> log;
+
+        LoggingPlayer(PlayerId ownId, long rngSeed, List<Decision> log) {
+            super(ownId, rngSeed, 20);
+            this.ownId = ownId;
+            this.log = log;
+        }
+
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            Card c = super.cardToPlay(state, hand);
+            log.add(new Decision(log.size(), ownId, state, hand, c));
+            return c;
+        }
+    }
+
+    @Test
+    void replayReconstructsAllDecisions() throws Exception {
+        Path path = Files.createTempFile("games", ".bin");
+        try {
+            List<Decision> log = new ArrayList<>();
+            try (GameRecordWriter writer = new GameRecordWriter(path)) {
+                Map<PlayerId, Player> ps = new EnumMap<>(PlayerId.class);
+                Map<PlayerId, String> ns = new EnumMap<>(PlayerId.class);
+                for (PlayerId pId: PlayerId.ALL) {
+                    ps.put(pId, new LoggingPlayer(pId, pId.ordinal(), log));
+                    ns.put(pId, pId.name());
+                }
+                JassGame game = new JassGame(2019, ps, ns, writer.newRecorder());
+                while (!game.isGameOver())
+                    game.advanceToEndOfNextTrick();
+            }
+
+            RecordedGame recorded;
+            try (GameRecordReader reader = new GameRecordReader(path)) {
+                assertTrue(reader.next());
+                recorded = RecordedGame.copyOf(reader);
+            }
+            List<Decision> replayed = GameReplay.decisions(recorded);
+            assertEquals(log.size(), replayed.size());
+            for (int i = 0; i < log.size(); ++i) {
+                Decision expected = log.get(i);
+                Decision actual = replayed.get(i);
+                assertEquals(i, actual.index());
+                assertEquals(expected.player(), actual.player());
+                assertEquals(expected.hand(), actual.hand());
+                assertEquals(expected.card(), actual.card());
+                assertEquals(expected.state().packedScore(), actual.state().packedScore());
+                assertEquals(expected.state().packedUnplayedCards(), actual.state().packedUnplayedCards());
+                assertEquals(expected.state().packedTrick(), actual.state().packedTrick());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ch.epfl.javass.server;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+    private static Map<PlayerId, Player> players(Player player) {
+        Map<PlayerId, Player> players = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            players.put(playerId, player);
+        }
+        return players;
+    }
+
+    private static Map<PlayerId, String> names() {
+        Map<PlayerId, String> names = new EnumMap<>(PlayerId.class);
+        for (PlayerId playerId : PlayerId.ALL) {
+            names.put(playerId, playerId.name());
+        }
+        return names;
+    }
+
+    private static final Player FIRST_CARD_PLAYER = new Player() {
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            return state.trick().playableCards(hand).get(0);
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            return Color.SPADE;
+        }
+    };
+
+    @Test
+    void tablesArePlayedToTheEnd() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            GameServer server = new GameServer(2, 4);
+            Table[] tables = new Table[10];
+            for (int i = 0; i < tables.length; i++) {
+                tables[i] = server.open(i, players(FIRST_CARD_PLAYER), names());
+            }
+            for (Table table : tables) {
+                assertNotNull(table.result().join());
+                assertEquals(Table.State.FINISHED, table.state());
+                assertTrue(table.metrics().tricks() >= 9);
+                assertEquals(table.metrics().tricks() * PlayerId.COUNT, table.metrics().cardsPlayed());
+            }
+            server.shutdown();
+            assertEquals(10, server.finishedTables());
+            assertTrue(server.tables().isEmpty());
+        });
+    }
+
+    @Test
+    void metricsOfEveryTableAreExported() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            SnapshotExporter exporter = new SnapshotExporter();
+            GameServer server = new GameServer(2, 4, exporter);
+            Table[] tables = new Table[6];
+            for (int i = 0; i < tables.length; i++) {
+                tables[i] = server.open(i, players(FIRST_CARD_PLAYER), names());
+            }
+            long tricks = 0;
+            long turns = 0;
+            for (Table table : tables) {
+                table.result().join();
+                MetricsSnapshot snapshot = table.metrics().snapshot();
+                assertEquals(1, snapshot.games().count());
+                assertEquals(table.metrics().tricks(), snapshot.tricks().count());
+                assertEquals(table.metrics().turns(), snapshot.turns().count());
+                assertTrue(snapshot.tricks().max() <= snapshot.games().max());
+                String line = LogLineExporter.line(table, snapshot);
+                assertTrue(line.startsWith("table=" + table.id() + " state=FINISHED game_ms="), line);
+                assertTrue(line.contains(" card_ms.PLAYER_4="), line);
+                tricks += table.metrics().tricks();
+                turns += table.metrics().turns();
+            }
+            server.shutdown();
+
+            assertEquals(tables.length, exporter.tables());
+            MetricsSnapshot total = exporter.total();
+            assertEquals(tables.length, total.games().count());
+            assertEquals(tricks, total.tricks().count());
+            long cards = 0;
+            long trumps = 0;
+            for (PlayerId playerId : PlayerId.ALL) {
+                cards += total.cardDecisions(playerId).count();
+                trumps += total.trumpDecisions(playerId).count();
+            }
+            assertEquals(tricks * PlayerId.COUNT, cards);
+            // the player never passes
+            assertEquals(turns, trumps);
+        });
+    }
+
+    @Test
+    void saturatedServerRejectsTablesAndCancelledTablesStop() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            CountDownLatch release = new CountDownLatch(1);
+            Player blockingPlayer = new Player() {
+                @Override
+                public Card cardToPlay(TurnState state, CardSet hand) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return state.trick().playableCards(hand).get(0);
+                }
+
+                @Override
+                public Color chooseTrump(CardSet hand, boolean canPass) {
+                    return Color.HEART;
+                }
+            };
+            GameServer server = new GameServer(1, 2);
+            Table running = server.tryOpen(0, players(blockingPlayer), names());
+            Table waiting = server.tryOpen(1, players(blockingPlayer), names());
+            assertNotNull(running);
+            assertNotNull(waiting);
+            assertNull(server.tryOpen(2, players(blockingPlayer), names()));
+            assertEquals(0, server.freeTables());
+
+            running.cancel();
+            waiting.cancel();
+            release.countDown();
+            assertThrows(CancellationException.class, () -> running.result().join());
+            assertThrows(CancellationException.class, () -> waiting.result().join());
+            server.shutdown();
+            assertEquals(Table.State.CANCELLED, running.state());
+            assertEquals(Table.State.CANCELLED, waiting.state());
+            assertEquals(2, server.freeTables());
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package ch.epfl.javass.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    @Test
+    void emptyHistogramGivesZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.min());
+        assertEquals(0, histogram.max());
+        assertEquals(0.0, histogram.mean());
+        assertEquals(0, histogram.valueAtPercentile(99));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 32; i++) {
+            histogram.record(i);
+        }
+        assertEquals(32, histogram.count());
+        assertEquals(0, histogram.valueAtPercentile(0));
+        assertEquals(15, histogram.valueAtPercentile(50));
+        assertEquals(31, histogram.valueAtPercentile(100));
+        assertEquals(15.5, histogram.mean());
+    }
+
+    @Test
+    void percentilesHaveABoundedRelativeError() {
+        SplittableRandom rng = new SplittableRandom(2019);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            // from a microsecond to about a minute
+            values[i] = (long) Math.pow(10, 3 + rng.nextDouble() * 8);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] { 1, 10, 50, 90, 99, 99.9, 100 }) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long value = histogram.valueAtPercentile(percentile);
+            assertTrue(value >= exact && value <= exact * 1.04, percentile + ": " + value + " / " + exact);
+        }
+        assertEquals(values[0], histogram.min());
+        assertEquals(values[values.length - 1], histogram.max());
+        assertEquals(Long.MAX_VALUE, recorded(Long.MAX_VALUE).valueAtPercentile(50));
+    }
+
+    @Test
+    void addedHistogramsGiveTheSameAsOne() {
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram odd = new LatencyHistogram();
+        LatencyHistogram even = new LatencyHistogram();
+        for (long value = 1; value < 1_000_000_000L; value = value * 3 + 1) {
+            all.record(value);
+            (value % 2 == 0 ? even : odd).record(value);
+        }
+        LatencyHistogram sum = odd.copy();
+        sum.add(even);
+        assertEquals(all.count(), sum.count());
+        assertEquals(all.mean(), sum.mean());
+        assertEquals(all.min(), sum.min());
+        assertEquals(all.max(), sum.max());
+        for (int percentile = 0; percentile <= 100; percentile += 5) {
+            assertEquals(all.valueAtPercentile(percentile), sum.valueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    void invalidValuesAndPercentilesAreRejected() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(100.5));
+    }
+
+    private static LatencyHistogram recorded(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        return histogram;
+    }
+}
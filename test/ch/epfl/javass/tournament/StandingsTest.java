@@ -0,0 +1,64 @@
+package ch.epfl.javass.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StandingsTest {
+    private static List<PlayerConfig> configs(int n) {
+        PlayerConfig[] configs = new PlayerConfig[n];
+        for (int i = 0; i < n; ++i)
+            configs[i] = new PlayerConfig("c" + i, 10, 40);
+        return Arrays.asList(configs);
+    }
+
+    @Test
+    void constructorFailsWithWrongMatrixSize() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new Standings(configs(2), new int[3][3]);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new Standings(configs(2), new int[][] { { 0, 1 }, { 1 } });
+        });
+    }
+
+    @Test
+    void ratingsAverageToBaseRating() {
+        Standings s = new Standings(configs(3), new int[][] {
+            { 0, 12, 30 },
+            { 8, 0, 25 },
+            { 2, 5, 0 } });
+        double sum = 0;
+        for (int i = 0; i < 3; ++i)
+            sum += s.rating(i);
+        assertEquals(3 * 1500, sum, 1e-6);
+        assertTrue(s.rating(0) > s.rating(1));
+        assertTrue(s.rating(1) > s.rating(2));
+    }
+
+    @Test
+    void ratingDifferenceMatchesEloFormulaForTwoConfigs() {
+        Standings s = new Standings(configs(2), new int[][] { { 0, 299 }, { 99, 0 } });
+        // with the half virtual win each way, config 0 scores 299.5 out of 399
+        double expected = 400 * Math.log10(299.5 / 99.5);
+        assertEquals(expected, s.rating(0) - s.rating(1), 1e-3);
+    }
+
+    @Test
+    void equalResultsGiveEqualRatings() {
+        Standings s = new Standings(configs(2), new int[][] { { 0, 50 }, { 50, 0 } });
+        assertEquals(1500, s.rating(0), 1e-6);
+        assertEquals(1500, s.rating(1), 1e-6);
+        assertEquals(s.margin(0), s.margin(1), 1e-9);
+    }
+
+    @Test
+    void marginShrinksWithMoreGames() {
+        Standings few = new Standings(configs(2), new int[][] { { 0, 5 }, { 5, 0 } });
+        Standings many = new Standings(configs(2), new int[][] { { 0, 500 }, { 500, 0 } });
+        assertTrue(many.margin(0) < few.margin(0));
+    }
+}
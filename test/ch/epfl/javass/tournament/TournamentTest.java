@@ -0,0 +1,174 @@
+package ch.epfl.javass.tournament;
+
+import ch.epfl.javass.jass.Card;
+import ch.epfl.javass.jass.Card.Color;
+import ch.epfl.javass.jass.CardSet;
+import ch.epfl.javass.jass.Player;
+import ch.epfl.javass.jass.PlayerId;
+import ch.epfl.javass.jass.TeamId;
+import ch.epfl.javass.jass.TurnState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+    private static final int DEALS = 2;
+
+    // the configurations c0 and c2 play the same way, c1 another one
+    private static final List<PlayerConfig> CONFIGS = Arrays.asList(
+            new PlayerConfig("c0", 10, 40),
+            new PlayerConfig("c1", 10, 40),
+            new PlayerConfig("c2", 10, 40));
+
+    // a game seen by its first player: the configurations of the teams, the deal and the winning team
+    private static final class Game {
+        final String team1;
+        final String team2;
+        final CardSet deal;
+        final TeamId winningTeam;
+
+        Game(String team1, String team2, CardSet deal, TeamId winningTeam) {
+            this.team1 = team1;
+            this.team2 = team2;
+            this.deal = deal;
+            this.winningTeam = winningTeam;
+        }
+
+        String winner() {
+            return winningTeam == TeamId.TEAM_1 ? team1 : team2;
+        }
+
+        String loser() {
+            return winningTeam == TeamId.TEAM_1 ? team2 : team1;
+        }
+    }
+
+    private static final class StubPlayer implements Player {
+        private final boolean playsLastCard;
+        private final List<Game> games;
+        private PlayerId ownId;
+        private Map<PlayerId, String> names;
+        private CardSet deal;
+
+        StubPlayer(boolean playsLastCard, List<Game> games) {
+            this.playsLastCard = playsLastCard;
+            this.games = games;
+        }
+
+        @Override
+        public Card cardToPlay(TurnState state, CardSet hand) {
+            CardSet playable = state.trick().playableCards(hand);
+            return playable.get(playsLastCard ? playable.size() - 1 : 0);
+        }
+
+        @Override
+        public Color chooseTrump(CardSet hand, boolean canPass) {
+            return hand.get(0).color();
+        }
+
+        @Override
+        public void setPlayers(PlayerId ownId, Map<PlayerId, String> playerNames) {
+            this.ownId = ownId;
+            this.names = playerNames;
+        }
+
+        @Override
+        public void updateHand(CardSet newHand) {
+            if (deal == null) {
+                deal = newHand;
+            }
+        }
+
+        @Override
+        public void setWinningTeam(TeamId winningTeam) {
+            if (ownId == PlayerId.PLAYER_1) {
+                games.add(new Game(names.get(PlayerId.PLAYER_1), names.get(PlayerId.PLAYER_2), deal, winningTeam));
+            }
+        }
+    }
+
+    private static Standings run(List<Game> games) throws InterruptedException {
+        Tournament tournament = new Tournament(CONFIGS, DEALS, 2019, (config, ownId, rngSeed) ->
+                new StubPlayer(config.name().equals("c1"), games));
+        // a single thread plays the games in order, the two games of a duplicate deal in a row
+        return tournament.run(1);
+    }
+
+    @Test
+    void duplicateDealsAreReplayedWithTheSeatsSwapped() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<Game> games = Collections.synchronizedList(new ArrayList<>());
+            run(games);
+            assertEquals(3 * DEALS * 2, games.size());
+            for (int k = 0; k < games.size(); k += 2) {
+                Game first = games.get(k);
+                Game second = games.get(k + 1);
+                assertEquals(first.team1, second.team2);
+                assertEquals(first.team2, second.team1);
+                assertEquals(first.deal, second.deal);
+            }
+            // the deals differ from one duplicate to the next
+            assertNotEquals(games.get(0).deal, games.get(2).deal);
+        });
+    }
+
+    @Test
+    void everyPairPlaysTheSameNumberOfDeals() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<Game> games = Collections.synchronizedList(new ArrayList<>());
+            run(games);
+            int[][] asTeam1 = new int[CONFIGS.size()][CONFIGS.size()];
+            for (Game game : games) {
+                asTeam1[Integer.parseInt(game.team1.substring(1))][Integer.parseInt(game.team2.substring(1))]++;
+            }
+            for (int i = 0; i < CONFIGS.size(); i++) {
+                for (int j = 0; j < CONFIGS.size(); j++) {
+                    assertEquals(i == j ? 0 : DEALS, asTeam1[i][j]);
+                }
+            }
+        });
+    }
+
+    @Test
+    void winsAreAggregatedByPairOfConfigurations() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<Game> games = Collections.synchronizedList(new ArrayList<>());
+            Standings standings = run(games);
+            int[][] wins = new int[CONFIGS.size()][CONFIGS.size()];
+            for (Game game : games) {
+                wins[Integer.parseInt(game.winner().substring(1))][Integer.parseInt(game.loser().substring(1))]++;
+            }
+            for (int i = 0; i < CONFIGS.size(); i++) {
+                for (int j = 0; j < CONFIGS.size(); j++) {
+                    assertEquals(wins[i][j], standings.wins(i, j));
+                    if (i != j) {
+                        assertEquals(2 * DEALS, standings.wins(i, j) + standings.wins(j, i));
+                    }
+                }
+            }
+            // players of the same strategy win a duplicate deal each, the same seats winning both games
+            assertEquals(DEALS, standings.wins(0, 2));
+            assertEquals(DEALS, standings.wins(2, 0));
+        });
+    }
+
+    @Test
+    void sameSeedGivesTheSameStandings() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            Standings first = run(Collections.synchronizedList(new ArrayList<>()));
+            Standings second = run(Collections.synchronizedList(new ArrayList<>()));
+            for (int i = 0; i < CONFIGS.size(); i++) {
+                for (int j = 0; j < CONFIGS.size(); j++) {
+                    assertEquals(first.wins(i, j), second.wins(i, j));
+                }
+            }
+        });
+    }
+}